@@ -0,0 +1,151 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pull Load - Einfacher Lastgenerator für POST /slot/pull/{id}
+ *
+ * Ohne Abhängigkeiten, direkt startbar (Java 17+):
+ *   java scripts/PullLoad.java [baseUrl] [concurrency] [seconds] [players] [warmupSeconds]
+ *
+ * Hält "concurrency" Requests gleichzeitig offen (asynchroner HttpClient),
+ * misst die Latenz jedes Pulls und gibt Durchsatz und Perzentile aus.
+ * Spieler ohne Coins (HTTP 402) werden nebenbei aufgeladen (nicht gemessen).
+ * Gedrosselte Requests (429) werden separat gezählt, nicht als Fehler.
+ */
+public class PullLoad {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    /** Maximal gespeicherte Latenzen (reicht für ~10 Mio. Requests) */
+    private static final int MAX_SAMPLES = 10_000_000;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int players = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        int warmup = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        long[] ids = createPlayers(client, baseUrl, players);
+        System.out.printf("%d Spieler, %d gleichzeitige Requests, %ds Warmup, %ds Messung%n",
+                players, concurrency, warmup, seconds);
+
+        run(client, baseUrl, ids, concurrency, warmup, null);
+        long[] latencies = new long[MAX_SAMPLES];
+        Result result = run(client, baseUrl, ids, concurrency, seconds, latencies);
+        result.print(latencies, seconds);
+    }
+
+    private static long[] createPlayers(HttpClient client, String baseUrl, int count) throws Exception {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/player"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"load-" + i + "\",\"coins\":1000}"))
+                    .build();
+            String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+            Matcher matcher = ID.matcher(body);
+            if (!matcher.find()) {
+                throw new IllegalStateException("Spieler konnte nicht erstellt werden: " + body);
+            }
+            ids[i] = Long.parseLong(matcher.group(1));
+        }
+        return ids;
+    }
+
+    /**
+     * Feuert Pulls, bis die Zeit abgelaufen ist - nie mehr als "concurrency" gleichzeitig
+     *
+     * @param latencies Ziel für die Latenzen in Nanosekunden (null = Warmup, nicht messen)
+     */
+    private static Result run(HttpClient client, String baseUrl, long[] ids, int concurrency,
+                              int seconds, long[] latencies) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        Result result = new Result();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        int next = 0;
+
+        while (System.nanoTime() < deadline) {
+            inFlight.acquire();
+            long playerId = ids[next++ % ids.length];
+            HttpRequest pull = HttpRequest.newBuilder(URI.create(baseUrl + "/slot/pull/" + playerId))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            long start = System.nanoTime();
+            client.sendAsync(pull, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long nanos = System.nanoTime() - start;
+                inFlight.release();
+                if (error != null) {
+                    result.errors.incrementAndGet();
+                    return;
+                }
+                if (response.statusCode() == 429) { // Gedrosselt - kein Fehler des Servers
+                    result.rateLimited.incrementAndGet();
+                    return;
+                }
+                if (response.statusCode() == 402) { // Not enough coins - aufladen, nicht messen
+                    result.recharges.incrementAndGet();
+                    client.sendAsync(HttpRequest.newBuilder(URI.create(baseUrl + "/player/recharge/" + playerId))
+                            .PUT(HttpRequest.BodyPublishers.noBody())
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                    return;
+                }
+                if (response.statusCode() != 200) {
+                    result.errors.incrementAndGet();
+                    return;
+                }
+                int index = result.count.getAndIncrement();
+                if (latencies != null && index < latencies.length) {
+                    latencies[index] = nanos;
+                }
+            });
+        }
+        inFlight.acquire(concurrency); // Auf die letzten Antworten warten
+        return result;
+    }
+
+    private static final class Result {
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong rateLimited = new AtomicLong();
+        final AtomicLong recharges = new AtomicLong();
+
+        void print(long[] latencies, int seconds) {
+            int n = Math.min(count.get(), latencies.length);
+            long[] sorted = Arrays.copyOf(latencies, n);
+            Arrays.sort(sorted);
+            System.out.printf("Pulls: %d (%.0f/s), Fehler: %d, Gedrosselt (429): %d, Aufladungen: %d%n",
+                    n, (double) n / seconds, errors.get(), rateLimited.get(), recharges.get());
+            System.out.printf("Latenz ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                    percentile(sorted, 99.9), n == 0 ? 0 : sorted[n - 1] / 1e6);
+            // Eine Zeile JSON für Skripte
+            System.out.printf("{\"pulls\":%d,\"throughput\":%.1f,\"errors\":%d,\"rateLimited\":%d,"
+                            + "\"p50\":%.3f,\"p99\":%.3f,\"p999\":%.3f}%n",
+                    n, (double) n / seconds, errors.get(), rateLimited.get(),
+                    percentile(sorted, 50), percentile(sorted, 99), percentile(sorted, 99.9));
+        }
+
+        static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup Benchmark - Zeit vom Prozessstart bis zum ersten erfolgreichen Pull
+ *
+ * Ohne Abhängigkeiten, direkt startbar (Java 17+):
+ *   java scripts/StartupBenchmark.java <name> <runs> <port> -- <Startbefehl des Backends ...>
+ *
+ * Startet das Backend "runs" mal mit dem angegebenen Befehl und feuert ab dem
+ * Start alle 10 ms POST /slot/pull/{id}, bis ein Spin zurückkommt. Gemessen wird
+ * die Zeit vom Start des Prozesses bis zu dieser Antwort - also inklusive JVM-Start,
+ * Spring-Kontext, Hibernate, Tomcat und dem ersten (kalten) Pull.
+ *
+ * Vor den Messungen läuft ein Aufwärmstart (nicht gemessen): er legt den Spieler
+ * "startup-benchmark" an und füllt den Datei-Cache des Betriebssystems.
+ * Mit runs=0 gibt es nur diesen Start - so trainiert startup-benchmark.sh das AppCDS-Archiv.
+ *
+ * Der Server wird jeweils mit SIGTERM beendet (geordnetes Herunterfahren).
+ * Logs liegen in target/startup/<name>-<run>.log.
+ */
+public class StartupBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    /** Länger darf ein Start nicht dauern */
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(180);
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator != 3 || args.length == 4) {
+            System.err.println("Aufruf: java scripts/StartupBenchmark.java <name> <runs> <port> -- <befehl ...>");
+            System.exit(2);
+        }
+        String name = args[0];
+        int runs = Integer.parseInt(args[1]);
+        String baseUrl = "http://localhost:" + args[2];
+        List<String> command = Arrays.asList(args).subList(separator + 1, args.length);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        Path logs = Path.of("target", "startup");
+        Files.createDirectories(logs);
+
+        // Aufwärmen und Spieler anlegen
+        long playerId;
+        Process warmup = start(command, logs.resolve(name + "-warmup.log"));
+        try {
+            playerId = createPlayer(client, baseUrl, System.nanoTime());
+            firstPull(client, baseUrl, playerId, System.nanoTime());
+        } finally {
+            stop(warmup);
+        }
+
+        List<Long> firstPull = new ArrayList<>();
+        List<Long> started = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            Path log = logs.resolve(name + "-" + run + ".log");
+            long begin = System.nanoTime();
+            Process server = start(command, log);
+            try {
+                firstPull.add(TimeUnit.NANOSECONDS.toMillis(firstPull(client, baseUrl, playerId, begin) - begin));
+            } finally {
+                stop(server);
+            }
+            Matcher matcher = STARTED.matcher(Files.readString(log));
+            if (matcher.find()) {
+                started.add(Math.round(Double.parseDouble(matcher.group(1)) * 1000));
+            }
+            System.out.printf("%s #%d: erster Pull nach %d ms%n", name, run, firstPull.get(firstPull.size() - 1));
+        }
+        if (runs == 0) {
+            return;
+        }
+
+        long[] pulls = sorted(firstPull);
+        long[] contexts = sorted(started);
+        System.out.printf("%s: erster Pull min=%d median=%d max=%d ms (Spring 'Started in' median=%d ms)%n",
+                name, pulls[0], median(pulls), pulls[pulls.length - 1], median(contexts));
+        // Eine Zeile JSON für Skripte
+        System.out.printf("{\"variant\":\"%s\",\"runs\":%d,\"firstPullMs\":{\"min\":%d,\"median\":%d,\"max\":%d},\"startedMs\":%d}%n",
+                name, runs, pulls[0], median(pulls), pulls[pulls.length - 1], median(contexts));
+    }
+
+    private static Process start(List<String> command, Path log) throws IOException {
+        File file = log.toFile();
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(file)
+                .start();
+    }
+
+    private static void stop(Process server) throws InterruptedException {
+        server.destroy(); // SIGTERM: Shutdown Hooks laufen, AppCDS schreibt das Archiv
+        if (!server.waitFor(60, TimeUnit.SECONDS)) {
+            server.destroyForcibly().waitFor();
+        }
+    }
+
+    private static long createPlayer(HttpClient client, String baseUrl, long begin) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/player"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"startup-benchmark\",\"coins\":1000000}"))
+                .build();
+        String body = poll(client, request, begin, response -> response.statusCode() == 200);
+        Matcher matcher = ID.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Spieler konnte nicht erstellt werden: " + body);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * @return Zeitpunkt (System.nanoTime) der ersten erfolgreichen Antwort
+     */
+    private static long firstPull(HttpClient client, String baseUrl, long playerId, long begin) throws Exception {
+        HttpRequest pull = HttpRequest.newBuilder(URI.create(baseUrl + "/slot/pull/" + playerId))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        poll(client, pull, begin, response -> response.statusCode() == 200 && response.body().contains("\"slots\""));
+        return System.nanoTime();
+    }
+
+    private static String poll(HttpClient client, HttpRequest request, long begin,
+                               Predicate<HttpResponse<String>> success) throws Exception {
+        while (System.nanoTime() - begin < TIMEOUT_NANOS) {
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (success.test(response)) {
+                    return response.body();
+                }
+            } catch (IOException e) {
+                // Server lauscht noch nicht
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Keine erfolgreiche Antwort nach " + TimeUnit.NANOSECONDS.toSeconds(TIMEOUT_NANOS) + " s");
+    }
+
+    private static long[] sorted(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private static long median(long[] sorted) {
+        return sorted.length == 0 ? 0 : sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,49 @@
+#!/usr/bin/env sh
+# ===============================================
+# Platform Threads vs. Virtual Threads - Lastvergleich
+# ===============================================
+# Voraussetzungen: JDK 21 und die lokale MySQL-Datenbank aus application.properties
+#
+# Aufruf (aus dem Ordner backend):
+#   sh scripts/compare-threading.sh
+#   CONCURRENCY=1000 DURATION=60 sh scripts/compare-threading.sh
+#
+# Startet das Backend nacheinander in beiden Modi, erzeugt mit PullLoad jeweils
+# dieselbe Last und legt die Ergebnisse in target/load-platform.txt und
+# target/load-virtual.txt ab.
+
+set -eu
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${CONCURRENCY:-400}
+DURATION=${DURATION:-30}
+WARMUP=${WARMUP:-10}
+PLAYERS=${PLAYERS:-200}
+PORT=${PORT:-8080}
+
+sh mvnw -q -B -Pjava21 -DskipTests package
+JAR=target/backend-0.0.1-SNAPSHOT.jar
+
+run() {
+    mode=$1
+    shift
+    echo "===== $mode ====="
+    # Ohne Drosselung - sonst misst der Vergleich den Rate Limiter (429) statt der Threads
+    java -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false --slot.ratelimit.enabled=false "$@" \
+        > "target/server-$mode.log" 2>&1 &
+    pid=$!
+    # Warten, bis der Server antwortet
+    until curl -s -o /dev/null "http://localhost:$PORT/player?limit=1"; do
+        sleep 1
+    done
+    java scripts/PullLoad.java "http://localhost:$PORT" "$CONCURRENCY" "$DURATION" "$PLAYERS" "$WARMUP" \
+        | tee "target/load-$mode.txt"
+    kill "$pid"
+    wait "$pid" || true
+}
+
+run platform
+run virtual --spring.profiles.active=virtual
+
+echo "===== Vergleich ====="
+grep -H '^{' target/load-platform.txt target/load-virtual.txt
@@ -0,0 +1,51 @@
+#!/usr/bin/env sh
+# ===============================================
+# Startzeit - Standard-Build vs. Profil "fast" (AOT) vs. "fast" + AppCDS
+# ===============================================
+# Voraussetzungen: JDK 17+ und die lokale MySQL-Datenbank aus application.properties
+# (Schema vorhanden - das Profil "fast" prüft nur, ddl-auto=validate)
+#
+# Aufruf (aus dem Ordner backend):
+#   sh scripts/startup-benchmark.sh
+#   RUNS=10 sh scripts/startup-benchmark.sh
+#
+# Misst für jede Variante die Zeit vom Prozessstart bis zum ersten erfolgreichen
+# POST /slot/pull (StartupBenchmark.java) und legt die Ergebnisse in
+# target/startup/result.txt ab (je Variante eine Zeile JSON).
+
+set -eu
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+OUT=target/startup
+JAR=backend-0.0.1-SNAPSHOT.jar
+
+mkdir -p "$OUT"
+
+# 1. Standard-Build (Referenz)
+sh mvnw -q -B -DskipTests package
+cp "target/$JAR" "$OUT/baseline.jar"
+
+# 2. Build mit Spring AOT, entpackt: AppCDS braucht normale JARs statt eines Fat-JARs
+sh mvnw -q -B -Pfast-startup -DskipTests package
+rm -rf "$OUT/fast"
+java -Djarmode=tools -jar "target/$JAR" extract --destination "$OUT/fast"
+
+FAST="-Dspring.aot.enabled=true -jar $OUT/fast/$JAR --spring.profiles.active=fast --server.port=$PORT"
+
+# 3. AppCDS-Archiv trainieren: ein Start bis zum ersten Pull, das Archiv entsteht beim Beenden
+rm -f "$OUT/app.jsa"
+java scripts/StartupBenchmark.java cds-training 0 "$PORT" -- \
+    java -XX:ArchiveClassesAtExit="$OUT/app.jsa" $FAST
+
+: > "$OUT/result.txt"
+java scripts/StartupBenchmark.java baseline "$RUNS" "$PORT" -- \
+    java -jar "$OUT/baseline.jar" --server.port="$PORT" | tee -a "$OUT/result.txt"
+java scripts/StartupBenchmark.java fast "$RUNS" "$PORT" -- \
+    java $FAST | tee -a "$OUT/result.txt"
+java scripts/StartupBenchmark.java fast-cds "$RUNS" "$PORT" -- \
+    java -XX:SharedArchiveFile="$OUT/app.jsa" $FAST | tee -a "$OUT/result.txt"
+
+echo "===== Vergleich ====="
+grep '^{' "$OUT/result.txt"
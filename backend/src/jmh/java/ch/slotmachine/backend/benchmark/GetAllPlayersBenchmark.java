@@ -0,0 +1,74 @@
+package ch.slotmachine.backend.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import ch.slotmachine.backend.controller.PlayerController;
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.service.PlayerExportService;
+
+/**
+ * Spielerliste bei wachsender Spielerzahl: findAll() gegen Keyset-Seiten und NDJSON-Export
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GetAllPlayersBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    private int players;
+
+    private ConfigurableApplicationContext context;
+    private PlayerController controller;
+    private PlayerExportService exporter;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        controller = context.getBean(PlayerController.class);
+        exporter = context.getBean(PlayerExportService.class);
+        BenchmarkContext.seedPlayers(context, players);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Player> getAllPlayers() {
+        return controller.getAllPlayers();
+    }
+
+    /** Eine Seite mitten in der Tabelle - sollte unabhängig von der Spielerzahl sein */
+    @Benchmark
+    public Map<String, Object> keysetPage() {
+        return controller.getPlayerPage(100, "id", String.valueOf(players / 2));
+    }
+
+    /** Ganze Tabelle als NDJSON, ohne Netzwerk */
+    @Benchmark
+    public long exportNdjson() throws IOException {
+        return exporter.exportNdjson(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,66 @@
+package ch.slotmachine.backend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.slotmachine.backend.event.BalanceChangedEvent;
+import ch.slotmachine.backend.service.LeaderboardService;
+
+/**
+ * Top-100-Abfrage der Rangliste, während parallel Spins die Kontostände ändern
+ * 
+ * Gruppe "leaderboard": 1 Thread fragt die Top 100 ab, 3 Threads buchen Spins.
+ * SampleTime liefert die Latenz-Perzentile der Abfrage.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LeaderboardBenchmark {
+
+    @Param({ "1000000" })
+    private int players;
+
+    private LeaderboardService leaderboard;
+
+    @Setup
+    public void setUp() {
+        leaderboard = new LeaderboardService(null); // Ohne Datenbank - direkt befüllt
+        for (int id = 1; id <= players; id++) {
+            leaderboard.put(id, "Player " + id, id % 1001);
+        }
+    }
+
+    @Benchmark
+    @Group("leaderboard")
+    @GroupThreads(1)
+    public List<LeaderboardService.Entry> top100() {
+        return leaderboard.top(100);
+    }
+
+    /** Ein Spin: zufälliger Spieler, neuer Kontostand */
+    @Benchmark
+    @Group("leaderboard")
+    @GroupThreads(3)
+    public void spin() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        leaderboard.onBalanceChanged(new BalanceChangedEvent(1 + random.nextInt(players), random.nextInt(1500)));
+    }
+}
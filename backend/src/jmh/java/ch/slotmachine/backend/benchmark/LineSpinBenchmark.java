@@ -0,0 +1,82 @@
+package ch.slotmachine.backend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.slotmachine.backend.game.LineConfig;
+import ch.slotmachine.backend.game.SpinEngine;
+import ch.slotmachine.backend.game.StripedSlotRandom;
+
+/**
+ * Mehrlinien-Modus (5x3, 20 Linien): Spins pro Sekunde auf EINEM Kern
+ *
+ * Ein Thread, Ergebnis in ops/s = Spins pro Sekunde und Kern. Zum Vergleich
+ * die naive Auswertung mit Schleifen über die Emojis jeder Linie - so hätte
+ * man es mit der String-Logik des klassischen Modus gebaut.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class LineSpinBenchmark {
+
+    private final SpinEngine engine = new SpinEngine(new StripedSlotRandom());
+
+    private final int[][] paylines = engine.lines().paylines();
+    private final int[][] payouts = engine.lines().payouts();
+    private final List<String> symbols = List.of(engine.lines().symbols());
+
+    /** Nur die 15 Zellen ziehen */
+    @Benchmark
+    public long spin() {
+        return engine.spin(engine.lines());
+    }
+
+    /** Ziehen und alle Linien per Bitmasken auswerten - der komplette Spielkern */
+    @Benchmark
+    public int spinAndPayout() {
+        LineConfig lines = engine.lines();
+        return lines.payout(engine.spin(lines));
+    }
+
+    /** Zusätzlich Spielfeld und Gewinnlinien für die JSON-Antwort erzeugen */
+    @Benchmark
+    public Object spinAndConvert() {
+        LineConfig lines = engine.lines();
+        long grid = engine.spin(lines);
+        return lines.payout(grid) > 0 ? lines.wins(grid) : lines.toRows(grid);
+    }
+
+    /** Referenz: Emojis erzeugen und jede Linie Reel für Reel mit equals() abgehen */
+    @Benchmark
+    public int spinAndNaivePayout() {
+        LineConfig lines = engine.lines();
+        List<List<String>> rows = lines.toRows(engine.spin(lines));
+        int total = 0;
+        for (int[] line : paylines) {
+            String first = rows.get(line[0]).get(0);
+            int count = 1;
+            while (count < LineConfig.REELS && rows.get(line[count]).get(count).equals(first)) {
+                count++;
+            }
+            if (count >= LineConfig.MIN_RUN) {
+                total += payouts[count - LineConfig.MIN_RUN][symbols.indexOf(first)];
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,68 @@
+package ch.slotmachine.backend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Laden und Speichern der Player-Entity gegen eine eingebettete H2-Datenbank
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerRepositoryBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private PlayerRepository repository;
+    private Long playerId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        repository = context.getBean(PlayerRepository.class);
+        BenchmarkContext.seedPlayers(context, 10_000);
+        playerId = repository.save(new Player("Benchmark", 1_000_000)).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /** findById - Entity laden */
+    @Benchmark
+    public Player load() {
+        return repository.findById(playerId).orElseThrow();
+    }
+
+    /** findById + save - das frühere Read-Modify-Write des Pull-Pfads */
+    @Benchmark
+    public Player loadAndSave() {
+        Player player = repository.findById(playerId).orElseThrow();
+        player.setCoins(player.getCoins() - 10 + 10);
+        return repository.save(player);
+    }
+
+    /** Atomares UPDATE des aktuellen Pull-Pfads */
+    @Benchmark
+    public int settleSpin() {
+        return repository.settleSpin(playerId, 10, 10);
+    }
+}
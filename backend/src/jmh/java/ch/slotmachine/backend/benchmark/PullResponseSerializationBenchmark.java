@@ -0,0 +1,78 @@
+package ch.slotmachine.backend.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.slotmachine.backend.game.ReelConfig;
+import ch.slotmachine.backend.game.SpinEngine;
+import ch.slotmachine.backend.model.PullResponse;
+
+/**
+ * Serialisierung der Pull-Antwort: alte HashMap gegen Record, JSON gegen CBOR
+ *
+ * Die Grösse der Antworten in Bytes wird beim Start einmal ausgegeben.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PullResponseSerializationBenchmark {
+
+    /** Gleiche Konfiguration wie die ObjectMapper von Spring Boot (JSON und CBOR) */
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+
+    private final ReelConfig reels = ReelConfig.classic();
+
+    private final int spin = SpinEngine.encode(2, 2, 2);
+
+    @Setup
+    public void printSizes() throws JsonProcessingException {
+        System.out.printf("%nBytes per response: map/json=%d record/json=%d record/cbor=%d%n",
+                mapJson().length, recordJson().length, recordCbor().length);
+    }
+
+    /** Vorher: HashMap wie im alten SlotController.pullSlot */
+    @Benchmark
+    public byte[] mapJson() throws JsonProcessingException {
+        Map<String, Object> result = new HashMap<>();
+        result.put("slots", reels.toSymbols(spin));
+        result.put("win", true);
+        result.put("winAmount", reels.payout(spin));
+        result.put("coins", 1490);
+        return json.writeValueAsBytes(result);
+    }
+
+    @Benchmark
+    public byte[] recordJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(response());
+    }
+
+    @Benchmark
+    public byte[] recordCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(response());
+    }
+
+    private PullResponse response() {
+        int winAmount = reels.payout(spin);
+        return new PullResponse.Spin(reels.toSymbols(spin), winAmount > 0, winAmount, 1490);
+    }
+}
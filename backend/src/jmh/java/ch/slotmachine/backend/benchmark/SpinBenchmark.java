@@ -0,0 +1,64 @@
+package ch.slotmachine.backend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.slotmachine.backend.game.ReelConfig;
+import ch.slotmachine.backend.game.SpinEngine;
+import ch.slotmachine.backend.game.StripedSlotRandom;
+
+/**
+ * Symbolgeneration und Gewinnberechnung aus dem Pull-Pfad
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpinBenchmark {
+
+    private final SpinEngine engine = new SpinEngine(new StripedSlotRandom());
+
+    /** Ungleiche Gewichte: die Alias Table braucht hier die zweite Zufallszahl */
+    private final ReelConfig weighted = new ReelConfig(
+            ReelConfig.classic().symbols(),
+            ReelConfig.classic().paytable(),
+            new int[][] {{5, 3, 1, 2, 2, 7}, {5, 3, 1, 2, 2, 7}, {5, 3, 1, 2, 2, 7}});
+
+    /** Nur die Symbole ziehen */
+    @Benchmark
+    public int spin() {
+        return engine.spin(engine.config());
+    }
+
+    /** Ziehen und Gewinn berechnen - der komplette Spielkern */
+    @Benchmark
+    public int spinAndPayout() {
+        ReelConfig reels = engine.config();
+        return reels.payout(engine.spin(reels));
+    }
+
+    /** Wie spinAndPayout, aber mit gewichteten Reels */
+    @Benchmark
+    public int weightedSpinAndPayout() {
+        return weighted.payout(engine.spin(weighted));
+    }
+
+    /** Zusätzlich die Emoji-Liste für die JSON-Antwort erzeugen */
+    @Benchmark
+    public List<String> spinAndConvert() {
+        ReelConfig reels = engine.config();
+        return reels.toSymbols(engine.spin(reels));
+    }
+}
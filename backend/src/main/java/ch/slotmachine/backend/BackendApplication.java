@@ -40,10 +40,20 @@ public class BackendApplication {
 		System.out.println("📡 Server läuft auf: http://localhost:8080");
 		System.out.println("🎮 API Endpunkte:");
 		System.out.println("   GET    /player           - Alle Spieler");
+		System.out.println("   GET    /player?limit=N   - Spieler seitenweise (sort=id|coins)");
+		System.out.println("   GET    /player/export    - Alle Spieler als NDJSON-Stream");
+		System.out.println("   GET    /player/leaderboard?top=N - Rangliste nach Coins");
+		System.out.println("   GET    /player/stream    - Live-Updates (Server-Sent Events)");
 		System.out.println("   POST   /player           - Neuen Spieler erstellen");
+		System.out.println("   POST   /player/import    - Viele Spieler aus CSV/NDJSON");
 		System.out.println("   DELETE /player/{id}      - Spieler löschen");
 		System.out.println("   PUT    /player/recharge/{id} - Coins aufladen");
+		System.out.println("   PUT    /player/recharge?below=N - Alle unter N aufladen");
+		System.out.println("   GET    /player/{id}/history - Spielverlauf (seitenweise)");
 		System.out.println("   POST   /slot/pull/{id}   - Slot Machine spielen");
+		System.out.println("   POST   /slot/pull/{id}/batch?count=N - N Spins auf einmal");
+		System.out.println("   POST   /slot/pull/{id}/lines - Mehrlinien-Modus (5x3, 20 Linien)");
+		System.out.println("   GET    /slot/jackpot - Progressiver Jackpot");
 	}
 	
 	/*
@@ -0,0 +1,38 @@
+package ch.slotmachine.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import ch.slotmachine.backend.game.SecureSlotRandom;
+import ch.slotmachine.backend.game.SeededSlotRandom;
+import ch.slotmachine.backend.game.SlotRandom;
+import ch.slotmachine.backend.game.StripedSlotRandom;
+
+/**
+ * Random Configuration - Wählt den Zufallsgenerator der Slot Machine
+ * 
+ * Gesteuert über application.properties:
+ * - slot.rng.mode=fast     → StripedSlotRandom (Standard)
+ * - slot.rng.mode=secure   → SecureSlotRandom
+ * - slot.rng.mode=seeded   → SeededSlotRandom mit slot.rng.seed
+ */
+@Configuration
+public class RandomConfig {
+
+    /**
+     * @param mode Gewünschter Modus (fast, secure oder seeded)
+     * @param seed Seed für den Modus "seeded"
+     * @return Der Zufallsgenerator für alle Spins
+     */
+    @Bean
+    public SlotRandom slotRandom(@Value("${slot.rng.mode:fast}") String mode,
+                                 @Value("${slot.rng.seed:42}") long seed) {
+        return switch (mode) {
+            case "fast" -> new StripedSlotRandom();
+            case "secure" -> new SecureSlotRandom();
+            case "seeded" -> new SeededSlotRandom(seed);
+            default -> throw new IllegalArgumentException("Unknown slot.rng.mode: " + mode);
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package ch.slotmachine.backend.config;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import ch.slotmachine.backend.exception.TooManyRequestsException;
+import ch.slotmachine.backend.service.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rate Limit Configuration - Token Buckets vor dem SlotController
+ *
+ * Ein HandlerInterceptor prüft jeden Request an /slot/pull/** beim RateLimiter,
+ * bevor der Controller aufgerufen wird. Ist kein Token da, wirft er
+ * TooManyRequestsException - der GlobalExceptionHandler schreibt die
+ * vorberechnete 429-Antwort (application/problem+json, Retry-After), ohne
+ * Controller, Cache, Ledger oder Datenbank.
+ */
+@Configuration
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RateLimiter limiter;
+
+    public RateLimitConfig(RateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor()).addPathPatterns("/slot/pull/**");
+    }
+
+    /**
+     * Prüft das Token des Spielers aus der URL (/slot/pull/{playerId}...)
+     */
+    private class RateLimitInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                 @NonNull Object handler) {
+            if (CorsUtils.isPreFlightRequest(request)) {
+                return true; // OPTIONS des Browsers ist kein Pull
+            }
+            Long playerId = playerId(request);
+            if (playerId == null || limiter.tryAcquire(playerId) == RateLimiter.Decision.ALLOWED) {
+                return true; // Ohne gültige ID entscheidet der Controller (400)
+            }
+            throw TooManyRequestsException.INSTANCE; // Gleiche Antwort wie alle Fachfehler (RFC 7807)
+        }
+
+        @SuppressWarnings("unchecked")
+        private Long playerId(HttpServletRequest request) {
+            Map<String, String> variables =
+                    (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            String value = variables == null ? null : variables.get("playerId");
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /*
+     * ===== RATE LIMITING ERKLÄRUNG FÜR DOZENTEN =====
+     *
+     * 1. WARUM EIN INTERCEPTOR?
+     *    - Läuft nach dem Routing (Pfadvariable playerId ist bekannt),
+     *      aber vor dem Controller und vor jedem Datenbankzugriff
+     *    - Der Controller bleibt unverändert
+     *
+     * 2. WARUM 429 STATT WARTEN?
+     *    - Ein Bot soll den Server nicht beschäftigen - Warten hielte Threads fest
+     *    - Retry-After sagt dem Client, wann er es wieder versuchen darf
+     *    - Ausnahmen aus preHandle() laufen wie Controller-Fehler durch den
+     *      GlobalExceptionHandler - der Body ist derselbe wie bei 402 oder 404
+     *
+     * 3. CORS:
+     *    - Spring setzt die CORS-Header vor unseren Interceptor, der Browser
+     *      kann die 429-Antwort also lesen
+     *    - Preflight-Requests (OPTIONS) kosten kein Token
+     */
+}
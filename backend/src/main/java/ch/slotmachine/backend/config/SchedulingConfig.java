@@ -0,0 +1,15 @@
+package ch.slotmachine.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration - Aktiviert @Scheduled Methoden
+ * 
+ * Wird für Hintergrundaufgaben benötigt, z.B. das periodische Schreiben
+ * der Kontostände im Write-Behind-Modus (slot.balance.mode=write-behind).
+ */
+@Configuration
+@EnableScheduling // Spring führt alle @Scheduled Methoden in einem Hintergrund-Thread aus
+public class SchedulingConfig {
+}
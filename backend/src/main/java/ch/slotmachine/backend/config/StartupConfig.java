@@ -0,0 +1,56 @@
+package ch.slotmachine.backend.config;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Startup Configuration - Lazy Initialization im Profil "fast"
+ *
+ * Mit spring.main.lazy-initialization=true erzeugt Spring eine Bean erst beim
+ * ersten Gebrauch. Für drei Arten von Beans wäre das falsch:
+ * - @Scheduled: geplant wird eine Methode erst, wenn ihre Bean existiert - der
+ *   Write-Behind-Flush, der Journal-Snapshot oder die Eviction im RateLimiter
+ *   liefen dann nie
+ * - @PostConstruct: die Startarbeit (Rangliste aufbauen, Jackpot laden) liefe
+ *   erst im ersten Request, der die Bean braucht - mitten im Pull
+ * - @EventListener: Spring erzeugt die Bean beim ersten Event, und das kommt
+ *   aus dem Pull, während die Buchung (Zeilensperre) noch offen ist. Beim
+ *   LeaderboardService hiesse das: voller Tabellen-Scan unter der Sperre
+ * Dieser Filter nimmt solche Beans von der Lazy Initialization aus. Lazy
+ * bleiben Controller, Repositories und die Infrastruktur von Spring.
+ */
+@Configuration
+@Profile("fast")
+public class StartupConfig {
+
+    /** Methoden-Annotationen, deren Bean beim Start bereitstehen muss */
+    private static final List<Class<? extends Annotation>> EAGER_ANNOTATIONS =
+            List.of(Scheduled.class, PostConstruct.class, EventListener.class);
+
+    @Bean
+    public static LazyInitializationExcludeFilter startupWorkIsEager() {
+        return (beanName, beanDefinition, beanType) -> hasStartupWork(beanType);
+    }
+
+    static boolean hasStartupWork(Class<?> type) {
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(type,
+                method -> found.set(true),
+                (Method method) -> !found.get() && EAGER_ANNOTATIONS.stream()
+                        .anyMatch(annotation -> AnnotatedElementUtils.hasAnnotation(method, annotation)));
+        return found.get();
+    }
+}
@@ -0,0 +1,169 @@
+package ch.slotmachine.backend.controller;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.annotation.PreDestroy;
+
+import ch.slotmachine.backend.game.LineConfig;
+import ch.slotmachine.backend.game.ReelConfig;
+import ch.slotmachine.backend.game.RtpSimulator;
+import ch.slotmachine.backend.game.SpinEngine;
+import ch.slotmachine.backend.service.PlayerCache;
+import ch.slotmachine.backend.service.PlayerUpdateBroadcaster;
+import ch.slotmachine.backend.service.ReelConfigService;
+
+/**
+ * Admin Controller - Werkzeuge für Betreiber
+ * 
+ * Diese Endpunkte sind nicht für das Frontend gedacht, sondern
+ * für die Kontrolle der Spielparameter.
+ */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    /** Obergrenze pro Request, damit ein Aufruf den Server höchstens Sekunden belegt */
+    private static final long MAX_SPINS = 200_000_000L;
+
+    private final RtpSimulator simulator = new RtpSimulator(SpinEngine.STAKE);
+
+    /**
+     * Eigener Pool mit höchstens der Hälfte der Kerne - die Simulation läuft nicht
+     * auf dem gemeinsamen ForkJoinPool und lässt den Pulls immer Kerne übrig
+     */
+    private final ForkJoinPool simulationPool =
+            new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    /** Immer nur eine Simulation gleichzeitig */
+    private final Semaphore simulationSlot = new Semaphore(1);
+
+    private final SpinEngine engine;
+    private final ReelConfigService reelConfigService;
+    private final PlayerCache playerCache;
+    private final PlayerUpdateBroadcaster broadcaster;
+
+    public AdminController(SpinEngine engine,
+                           ReelConfigService reelConfigService,
+                           PlayerCache playerCache,
+                           PlayerUpdateBroadcaster broadcaster) {
+        this.engine = engine;
+        this.reelConfigService = reelConfigService;
+        this.playerCache = playerCache;
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * GET /admin/rtp?spins=N - RTP der aktuellen Reels und Gewinntabelle simulieren
+     * 
+     * Der Endpunkt ist nicht geschützt - daher höchstens MAX_SPINS Spins, ein
+     * eigener Pool mit der Hälfte der Kerne und keine zweite Simulation, solange
+     * eine läuft (die Anfrage wird dann sofort abgelehnt).
+     * 
+     * @param spins Anzahl Spins (Standard 10 Mio., höchstens 200 Mio.)
+     * @param seed Optionaler Seed für reproduzierbare Ergebnisse
+     * @return RTP, Trefferquote, Varianz, Konfidenzintervall und Laufzeit
+     * @throws IllegalStateException wenn bereits eine Simulation läuft
+     */
+    @GetMapping("/rtp")
+    public RtpSimulator.RtpReport simulateRtp(@RequestParam(defaultValue = "10000000") long spins,
+                                              @RequestParam(required = false) Long seed) {
+        if (spins < 1 || spins > MAX_SPINS) {
+            throw new IllegalArgumentException("Spins must be between 1 and " + MAX_SPINS);
+        }
+        if (!simulationSlot.tryAcquire()) {
+            throw new IllegalStateException("A simulation is already running");
+        }
+        try {
+            ReelConfig config = engine.config();
+            long start = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+            // Der Parallel Stream im Simulator verteilt sich auf den Pool, in dem er gestartet wird
+            return simulationPool.submit(() -> simulator.simulate(config, spins, start)).join();
+        } finally {
+            simulationSlot.release();
+        }
+    }
+
+    /**
+     * Beim Herunterfahren: Simulations-Pool beenden
+     */
+    @PreDestroy
+    public void shutdown() {
+        simulationPool.shutdownNow();
+    }
+
+    /**
+     * GET /admin/reels - Aktuelle Reels, Gewichte und Gewinntabelle
+     * 
+     * @return Symbole, Gewinne, Gewichte pro Reel und theoretischer RTP
+     */
+    @GetMapping("/reels")
+    public Map<String, Object> getReels() {
+        return describe(engine.config());
+    }
+
+    /**
+     * GET /admin/lines - Aktuelle Konfiguration des Mehrlinien-Modus
+     * 
+     * @return Symbole, Gewinne für 3/4/5 gleiche, Gewinnlinien, Gewichte, Einsatz und theoretischer RTP
+     */
+    @GetMapping("/lines")
+    public Map<String, Object> getLines() {
+        LineConfig lines = engine.lines();
+        return Map.of(
+            "symbols", lines.symbols(),
+            "payouts", lines.payouts(),
+            "paylines", lines.paylines(),
+            "weights", lines.weights(),
+            "stake", lines.stake(),
+            "theoreticalRtp", lines.theoreticalRtp()
+        );
+    }
+
+    /**
+     * POST /admin/reels/reload - Reel-Konfiguration sofort neu laden
+     * 
+     * @return Die neue Konfiguration (bei Fehlern 400, die alte bleibt aktiv)
+     */
+    @PostMapping("/reels/reload")
+    public Map<String, Object> reloadReels() {
+        return describe(reelConfigService.reload());
+    }
+
+    /**
+     * GET /admin/cache - Statistik des Player-Caches
+     * 
+     * @return Treffer, Fehlzugriffe, Verdrängungen, Trefferquote und Grösse
+     */
+    @GetMapping("/cache")
+    public Map<String, Object> getCacheStats() {
+        return playerCache.stats();
+    }
+
+    /**
+     * GET /admin/stream - Statistik des Event-Streams (/player/stream)
+     * 
+     * @return Anzahl verbundener Clients und übergelaufener Queues
+     */
+    @GetMapping("/stream")
+    public Map<String, Object> getStreamStats() {
+        return broadcaster.stats();
+    }
+
+    private static Map<String, Object> describe(ReelConfig config) {
+        return Map.of(
+            "symbols", config.symbols(),
+            "payouts", config.paytable(),
+            "weights", config.weights(),
+            "theoreticalRtp", config.theoreticalRtp(SpinEngine.STAKE)
+        );
+    }
+}
@@ -1,19 +1,46 @@
 package ch.slotmachine.backend.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import ch.slotmachine.backend.event.PlayerCreatedEvent;
+import ch.slotmachine.backend.event.PlayerDeletedEvent;
+import ch.slotmachine.backend.event.PlayersBulkChangedEvent;
+import ch.slotmachine.backend.exception.PlayerNotFoundException;
+import ch.slotmachine.backend.exception.ServiceUnavailableException;
 import ch.slotmachine.backend.model.Player;
-import ch.slotmachine.backend.repository.PlayerRepository;
+import ch.slotmachine.backend.model.PlayerSnapshot;
+import ch.slotmachine.backend.model.SpinRecord;
+import ch.slotmachine.backend.repository.SpinRecordRepository;
+import ch.slotmachine.backend.service.BalanceLedger;
+import ch.slotmachine.backend.service.IdempotencyStore;
+import ch.slotmachine.backend.service.LeaderboardService;
+import ch.slotmachine.backend.service.PlayerExportService;
+import ch.slotmachine.backend.service.PlayerImportService;
+import ch.slotmachine.backend.service.PlayerStore;
+import ch.slotmachine.backend.service.PlayerUpdateBroadcaster;
 
 /**
  * Player Controller - REST API für Player Management
@@ -31,16 +58,55 @@ import ch.slotmachine.backend.repository.PlayerRepository;
 @RequestMapping("/player") // Basis-URL für alle Endpunkte: /player
 public class PlayerController {
 
+    /** Maximale Anzahl Spieler pro Seite */
+    private static final int MAX_PAGE_LIMIT = 1000;
+
+    /** Maximale Anzahl Plätze in der Rangliste */
+    private static final int MAX_LEADERBOARD_TOP = 1000;
+
+    /** Maximale Anzahl Spins pro Verlaufs-Seite */
+    private static final int MAX_HISTORY_LIMIT = 500;
+
+    /** Lebensdauer einer Stream-Verbindung - danach verbindet sich EventSource selbst neu */
+    private static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    /** Wartezeit des Browsers vor dem Neuverbinden nach einem Verbindungsabbruch */
+    private static final long STREAM_RETRY_MS = 3000;
+
     // ===== DEPENDENCY INJECTION =====
     
-    private final PlayerRepository repository;
+    private final PlayerStore store;
+    private final BalanceLedger ledger;
+    private final SpinRecordRepository spinRecords;
+    private final PlayerExportService exporter;
+    private final PlayerImportService importer;
+    private final LeaderboardService leaderboard;
+    private final PlayerUpdateBroadcaster broadcaster;
+    private final IdempotencyStore idempotency;
+    private final ApplicationEventPublisher events;
 
     /**
      * Konstruktor-basierte Dependency Injection (Best Practice)
-     * Spring injiziert automatisch das PlayerRepository
+     * Spring injiziert automatisch den Store, die Repositories, Services und den Event Publisher
      */
-    public PlayerController(PlayerRepository repository) {
-        this.repository = repository;
+    public PlayerController(PlayerStore store,
+                            BalanceLedger ledger,
+                            SpinRecordRepository spinRecords,
+                            PlayerExportService exporter,
+                            PlayerImportService importer,
+                            LeaderboardService leaderboard,
+                            PlayerUpdateBroadcaster broadcaster,
+                            IdempotencyStore idempotency,
+                            ApplicationEventPublisher events) {
+        this.store = store;
+        this.ledger = ledger;
+        this.spinRecords = spinRecords;
+        this.exporter = exporter;
+        this.importer = importer;
+        this.leaderboard = leaderboard;
+        this.broadcaster = broadcaster;
+        this.idempotency = idempotency;
+        this.events = events;
     }
 
     // ===== REST ENDPUNKTE =====
@@ -50,12 +116,94 @@ public class PlayerController {
      * 
      * Frontend-Aufruf: fetch('http://localhost:8080/player')
      * 
+     * Achtung: lädt die ganze Tabelle in den Speicher. Für viele Spieler
+     * besser die Pagination (?limit=N) oder den Export (/player/export) nutzen.
+     * 
      * @return Liste aller Spieler als JSON
      */
     @GetMapping // HTTP GET Request
     public List<Player> getAllPlayers() {
-        // JpaRepository Methode - lädt alle Player aus der Datenbank
-        return repository.findAll();
+        // Lädt alle Player aus dem PlayerStore (Datenbank oder Journal)
+        return store.findAll();
+    }
+
+    /**
+     * GET /player?limit=N&sort=id|coins&cursor=C - Spieler seitenweise abrufen
+     * 
+     * Frontend-Aufruf:
+     * fetch('http://localhost:8080/player?limit=100&sort=coins')
+     * Nächste Seite: fetch('http://localhost:8080/player?limit=100&sort=coins&cursor=' + nextCursor)
+     * 
+     * Keyset-Pagination: der Cursor beschreibt den letzten Spieler der vorherigen
+     * Seite ("id" bzw. "coins:id"). Die Datenbank springt über den Index direkt
+     * dorthin, statt wie bei OFFSET alle vorherigen Zeilen zu lesen (im
+     * Journal-Modus sucht der JournalPlayerStore im Speicher).
+     * 
+     * Sortierung:
+     * - id: aufsteigend nach ID (Standard)
+     * - coins: absteigend nach Coins, bei Gleichstand aufsteigend nach ID
+     * 
+     * @param limit Anzahl Spieler pro Seite (1 bis MAX_PAGE_LIMIT)
+     * @param sort Sortierung (id oder coins)
+     * @param cursor nextCursor der vorherigen Seite (leer = erste Seite)
+     * @return Map mit players und nextCursor (null auf der letzten Seite)
+     */
+    @GetMapping(params = "limit") // Nur wenn ?limit= angegeben ist - sonst getAllPlayers()
+    public Map<String, Object> getPlayerPage(@RequestParam int limit,
+                                             @RequestParam(defaultValue = "id") String sort,
+                                             @RequestParam(required = false) String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+
+        List<Player> players;
+        try {
+            players = switch (sort) {
+                case "id" -> store.pageById(cursor == null ? 0L : Long.parseLong(cursor), limit);
+                case "coins" -> {
+                    if (cursor == null) {
+                        yield store.pageByCoins(null, 0L, limit);
+                    }
+                    String[] parts = cursor.split(":");
+                    if (parts.length != 2) {
+                        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+                    }
+                    yield store.pageByCoins(Integer.parseInt(parts[0]), Long.parseLong(parts[1]), limit);
+                }
+                default -> throw new IllegalArgumentException("Sort must be 'id' or 'coins'");
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+
+        String nextCursor = null;
+        if (players.size() == limit) { // Volle Seite - es kann weitere Spieler geben
+            Player last = players.get(players.size() - 1);
+            nextCursor = sort.equals("id") ? String.valueOf(last.getId()) : last.getCoins() + ":" + last.getId();
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("players", players);
+        result.put("nextCursor", nextCursor);
+        return result;
+    }
+
+    /**
+     * GET /player/export - Alle Spieler als NDJSON (ein JSON-Objekt pro Zeile)
+     * 
+     * Aufruf: curl http://localhost:8080/player/export > players.ndjson
+     * 
+     * Die Spieler werden direkt aus dem Datenbank-Cursor (bzw. dem Speicher) in die Response
+     * geschrieben - der Speicherbedarf ist unabhängig von der Tabellengrösse.
+     * 
+     * @return Streaming-Response, wird nach dem Controller asynchron geschrieben
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPlayers() {
+        StreamingResponseBody body = exporter::exportNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     /**
@@ -76,10 +224,44 @@ public class PlayerController {
         // Validation hinzufügen
         validatePlayer(player);
         // @RequestBody konvertiert JSON automatisch zu Player-Objekt
-        // save() speichert in Datenbank und gibt Player mit ID zurück
-        return repository.save(player);
+        // create() speichert (Datenbank oder Journal) und gibt Player mit ID zurück
+        Player saved = store.create(player.getName(), player.getCoins());
+        events.publishEvent(new PlayerCreatedEvent(saved.getId(), saved.getName(), saved.getCoins()));
+        return saved;
     }
     
+    /**
+     * POST /player/import - Viele Spieler auf einmal anlegen (CSV)
+     * 
+     * Aufruf: curl -X POST -H 'Content-Type: text/csv' --data-binary @players.csv http://localhost:8080/player/import
+     * 
+     * Eine Zeile "name,coins" pro Spieler (Kopfzeile optional). Jede Zeile wird
+     * mit denselben Regeln wie POST /player geprüft; ungültige Zeilen werden
+     * übersprungen und gemeldet. Der Request wird gestreamt und in Batches
+     * geschrieben - auch zehntausende Zeilen brauchen kaum Speicher.
+     * 
+     * @param body Request Body (wird Zeile für Zeile gelesen)
+     * @return imported, failed und errors (line, error) der ersten fehlerhaften Zeilen
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public PlayerImportService.Result importPlayersCsv(InputStream body) throws IOException {
+        return importer.importCsv(new InputStreamReader(body, StandardCharsets.UTF_8), this::validatePlayer);
+    }
+
+    /**
+     * POST /player/import - Viele Spieler auf einmal anlegen (NDJSON)
+     * 
+     * Ein JSON-Objekt {"name":"Anna","coins":1000} pro Zeile - z.B. die Ausgabe
+     * von GET /player/export. Sonst wie der CSV-Import.
+     * 
+     * @param body Request Body (wird Zeile für Zeile gelesen)
+     * @return imported, failed und errors (line, error) der ersten fehlerhaften Zeilen
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public PlayerImportService.Result importPlayersNdjson(InputStream body) throws IOException {
+        return importer.importNdjson(new InputStreamReader(body, StandardCharsets.UTF_8), this::validatePlayer);
+    }
+
     /**
      * DELETE /player/{id} - Spieler löschen
      * 
@@ -91,8 +273,10 @@ public class PlayerController {
     @DeleteMapping("/{id}") // {id} ist Pfad-Variable
     public void deletePlayer(@PathVariable Long id) {
         // @PathVariable extrahiert {id} aus der URL
-        // deleteById() löscht Player mit gegebener ID aus Datenbank
-        repository.deleteById(id);
+        // delete() löscht Player mit gegebener ID (Datenbank oder Journal)
+        store.delete(id);
+        ledger.remove(id); // Zwischengespeicherten Kontostand vergessen
+        events.publishEvent(new PlayerDeletedEvent(id)); // Aus Rangliste und Cache entfernen
     }
     
     /**
@@ -102,25 +286,179 @@ public class PlayerController {
      * fetch('http://localhost:8080/player/recharge/1', {method: 'PUT'})
      * 
      * @param id Die ID des Spielers dessen Coins aufgeladen werden
-     * @return Der aktualisierte Spieler mit neuen Coins
-     * @throws RuntimeException wenn Spieler nicht gefunden wird
+     * @return Der aktualisierte Spieler mit neuen Coins (gleiches JSON wie Player)
+     * @throws PlayerNotFoundException wenn Spieler nicht gefunden wird (HTTP 404)
      */
     @PutMapping("/recharge/{id}") // HTTP PUT Request für Updates
-    public Player rechargePlayer(@PathVariable Long id) {
-        // Optional<Player> für sicheren Umgang mit null-Werten
-        Optional<Player> optionalPlayer = repository.findById(id);
-        
-        if (optionalPlayer.isPresent()) {
-            // Spieler gefunden - Coins auf 1000 setzen
-            Player player = optionalPlayer.get();
-            player.setCoins(1000); // Coins aufladen
-            return repository.save(player); // In Datenbank aktualisieren
+    public PlayerSnapshot rechargePlayer(@PathVariable Long id) {
+        // Spieler aus dem Store (für Name und ID in der Antwort) - meist ohne Datenbankzugriff
+        PlayerSnapshot player = store.find(id)
+                .orElseThrow(() -> PlayerNotFoundException.INSTANCE);
+
+        // Coins über den BalanceLedger auf 1000 setzen (Datenbank, Write-Behind oder Journal)
+        if (ledger.recharge(id, 1000) == BalanceLedger.NOT_FOUND) {
+            throw PlayerNotFoundException.INSTANCE; // Inzwischen gelöscht
         }
-        
-        // Spieler nicht gefunden - Fehler werfen
-        throw new RuntimeException("Player not found");
+        return player.withCoins(1000);
+    }
+
+    /**
+     * PUT /player/recharge/{id} mit Header Idempotency-Key - Aufladen, das der Client wiederholen darf
+     * 
+     * Eine Wiederholung mit demselben Schlüssel liefert die erste Antwort,
+     * ohne nochmals aufzuladen (sonst wären zwischendurch gespielte Coins
+     * wieder auf 1000 gesetzt). Siehe IdempotencyStore.
+     * 
+     * @param id Die ID des Spielers dessen Coins aufgeladen werden
+     * @param key Vom Client gewählter Schlüssel, gleich bei jeder Wiederholung
+     * @return Antwort der ersten Ausführung
+     */
+    @PutMapping(value = "/recharge/{id}", headers = IdempotencyStore.HEADER)
+    public PlayerSnapshot rechargePlayerIdempotent(@PathVariable Long id,
+                                                   @RequestHeader(IdempotencyStore.HEADER) String key) {
+        return idempotency.execute("recharge:" + id, key, () -> rechargePlayer(id));
     }
     
+    /**
+     * PUT /player/recharge?below=N - Alle Spieler mit weniger als N Coins auf 1000 aufladen
+     * 
+     * Aufruf: curl -X PUT 'http://localhost:8080/player/recharge?below=100'
+     * 
+     * Ein einziges UPDATE über alle betroffenen Spieler (bzw. ein Durchgang
+     * im Speicher) statt eines Ladens und Speicherns pro Spieler. Cache,
+     * Rangliste und Live-Clients laden danach neu.
+     * 
+     * @param below Grenze (1 bis 1000) - Spieler mit coins < below werden aufgeladen
+     * @return Map mit recharged (Anzahl aufgeladener Spieler)
+     */
+    @PutMapping(value = "/recharge", params = "below")
+    public Map<String, Object> rechargePlayersBelow(@RequestParam int below) {
+        if (below < 1 || below > 1000) {
+            throw new IllegalArgumentException("Below must be between 1 and 1000");
+        }
+        int recharged = ledger.rechargeBelow(below, 1000);
+        if (recharged > 0) {
+            events.publishEvent(new PlayersBulkChangedEvent(recharged));
+        }
+        return Map.of("recharged", recharged);
+    }
+
+    /**
+     * GET /player/leaderboard?top=N - Rangliste nach Coins
+     * 
+     * Frontend-Aufruf: fetch('http://localhost:8080/player/leaderboard?top=10')
+     * 
+     * Die Rangliste liegt sortiert im Speicher (LeaderboardService) und wird
+     * bei jedem Spin, jeder Aufladung und jedem neuen/gelöschten Spieler
+     * nachgeführt - die Abfrage braucht keine Datenbank.
+     * 
+     * @param top Anzahl Plätze (1 bis MAX_LEADERBOARD_TOP)
+     * @return Die besten Spieler (id, name, coins), bester zuerst
+     */
+    @GetMapping("/leaderboard")
+    public List<LeaderboardService.Entry> getLeaderboard(@RequestParam(defaultValue = "10") int top) {
+        if (top < 1 || top > MAX_LEADERBOARD_TOP) {
+            throw new IllegalArgumentException("Top must be between 1 and " + MAX_LEADERBOARD_TOP);
+        }
+        return leaderboard.top(top);
+    }
+
+    /**
+     * GET /player/stream - Änderungen an Spielern live abonnieren (Server-Sent Events)
+     * 
+     * Frontend-Aufruf:
+     * const source = new EventSource('http://localhost:8080/player/stream');
+     * source.addEventListener('balance', e => ... JSON.parse(e.data) ...);
+     * 
+     * Events (data ist JSON):
+     * - balance: {"playerId":1,"coins":990} nach Spin, Batch und Aufladen
+     * - created: {"playerId":2,"name":"Anna","coins":1000}
+     * - deleted: {"playerId":2}
+     * - resync: der Client war zu langsam und hat Events verpasst - Liste neu laden
+     * 
+     * Gesendet wird von den Sender-Threads des PlayerUpdateBroadcaster, nie
+     * vom Thread des Spins. Jede Verbindung hat eine begrenzte Queue.
+     * 
+     * @return Der offene Event-Stream
+     * @throws ServiceUnavailableException wenn slot.stream.max-subscribers erreicht ist (HTTP 503)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUpdates() {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        // Zuerst anmelden: ist das Limit erreicht, geht die 503 raus, bevor ein Byte des Streams geschrieben ist
+        PlayerUpdateBroadcaster.Subscription subscription = broadcaster.subscribe(new PlayerUpdateBroadcaster.Sink() {
+            @Override
+            public void send(PlayerUpdateBroadcaster.Update update) throws IOException {
+                if (update.name() == null) {
+                    emitter.send(SseEmitter.event().comment(update.data()));
+                } else {
+                    // data ist bereits JSON - als Text senden, damit es nicht nochmals serialisiert wird
+                    emitter.send(SseEmitter.event().name(update.name()).data(update.data(), MediaType.TEXT_PLAIN));
+                }
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        // Client weg, Timeout oder Fehler: abmelden
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        try {
+            // Sofort etwas senden: erst damit gehen die Header raus und EventSource meldet "open".
+            // retry = Wartezeit des Browsers vor dem automatischen Neuverbinden
+            emitter.send(SseEmitter.event().comment("connected").reconnectTime(STREAM_RETRY_MS));
+        } catch (IOException e) {
+            subscription.close();
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * GET /player/{id}/history?before=X&limit=N - Spielverlauf seitenweise abrufen
+     * 
+     * Frontend-Aufruf:
+     * fetch('http://localhost:8080/player/1/history?limit=50')
+     * Nächste Seite: fetch('http://localhost:8080/player/1/history?limit=50&before=' + nextBefore)
+     * 
+     * Keyset-Pagination statt OFFSET: der Cursor "before" ist die ID des
+     * letzten Spins der vorherigen Seite. Jede Seite ist ein kurzer Scan auf
+     * dem Index (player_id, id) - auch Seite 10'000 ist so schnell wie Seite 1.
+     * 
+     * Hinweis: Spins erscheinen mit bis zu einem Flush-Intervall Verzögerung.
+     * 
+     * @param id Die ID des Spielers
+     * @param before Nur Spins mit kleinerer ID (leer = neueste Spins)
+     * @param limit Anzahl Spins pro Seite (1 bis MAX_HISTORY_LIMIT)
+     * @return Map mit spins (neueste zuerst) und nextBefore (null auf der letzten Seite)
+     * @throws PlayerNotFoundException wenn Spieler nicht gefunden wird (HTTP 404)
+     */
+    @GetMapping("/{id}/history")
+    public Map<String, Object> getHistory(@PathVariable Long id,
+                                          @RequestParam(required = false) Long before,
+                                          @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_HISTORY_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_HISTORY_LIMIT);
+        }
+
+        List<SpinRecord> spins = spinRecords.findByPlayerIdAndIdLessThanOrderByIdDesc(
+                id, before != null ? before : Long.MAX_VALUE, Limit.of(limit));
+
+        // Nur bei leerer Seite nachsehen, ob es den Spieler überhaupt gibt
+        if (spins.isEmpty() && !store.exists(id)) {
+            throw PlayerNotFoundException.INSTANCE;
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("spins", spins);
+        // Volle Seite: es gibt evtl. ältere Spins, Cursor für die nächste Seite mitgeben
+        result.put("nextBefore", spins.size() == limit ? spins.get(spins.size() - 1).getId() : null);
+        return result;
+    }
+
     /**
      * Player-Validierung
      */
@@ -141,9 +479,16 @@ public class PlayerController {
      * 
      * 1. REST-Konventionen:
      *    - GET /player → Alle Spieler
+     *    - GET /player?limit=N → Spieler seitenweise (Keyset-Pagination)
+     *    - GET /player/export → Alle Spieler als NDJSON-Stream
+     *    - GET /player/leaderboard → Rangliste nach Coins (aus dem Speicher)
+     *    - GET /player/stream → Änderungen live (Server-Sent Events)
      *    - POST /player → Neuen Spieler erstellen
+     *    - POST /player/import → Viele Spieler aus CSV/NDJSON (gestreamt, in Batches)
      *    - DELETE /player/{id} → Spieler löschen
      *    - PUT /player/recharge/{id} → Spieler aktualisieren
+     *    - PUT /player/recharge?below=N → Massen-Aufladung (ein UPDATE)
+     *    - GET /player/{id}/history → Spielverlauf (Keyset-Pagination)
      * 
      * 2. Spring Boot Features:
      *    - Automatische JSON Serialisierung/Deserialisierung
@@ -151,8 +496,9 @@ public class PlayerController {
      *    - Exception Handling (kann erweitert werden)
      * 
      * 3. Datenbankoperationen:
-     *    - Alle DB-Zugriffe über JpaRepository
+     *    - Spieler über den PlayerStore (Datenbank mit JpaRepository oder Journal)
+     *    - Kontostände über den BalanceLedger
+     *    - Spielverlauf immer über das SpinRecordRepository
      *    - Transaktionen automatisch verwaltet
-     *    - SQL wird automatisch generiert
      */
 }
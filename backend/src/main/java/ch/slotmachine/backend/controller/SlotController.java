@@ -1,26 +1,40 @@
 package ch.slotmachine.backend.controller;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Random;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import ch.slotmachine.backend.model.Player;
-import ch.slotmachine.backend.repository.PlayerRepository;
+import ch.slotmachine.backend.exception.InsufficientCoinsException;
+import ch.slotmachine.backend.exception.PlayerNotFoundException;
+import ch.slotmachine.backend.game.LineConfig;
+import ch.slotmachine.backend.game.ReelConfig;
+import ch.slotmachine.backend.game.SpinEngine;
+import ch.slotmachine.backend.model.PullResponse;
+import ch.slotmachine.backend.service.BalanceLedger;
+import ch.slotmachine.backend.service.IdempotencyStore;
+import ch.slotmachine.backend.service.JackpotPool;
+import ch.slotmachine.backend.service.SlotMetrics;
+import ch.slotmachine.backend.service.SpinHistoryRecorder;
 
 /**
  * Slot Controller - Herzstück der Slot Machine Logik
  * 
- * Diese Klasse implementiert die gesamte Spiellogik der Slot Machine:
- * - Zufällige Symbolgeneration
- * - Gewinnberechnung
- * - Coin-Management
+ * Diese Klasse steuert den Spielablauf der Slot Machine:
+ * - Zufällige Symbolgeneration und Gewinnberechnung (über SpinEngine)
+ * - Coin-Management (über BalanceLedger)
+ * - Progressiver Jackpot (über JackpotPool)
+ * - Spielverlauf (über SpinHistoryRecorder, asynchron)
+ * - Messwerte (über SlotMetrics, siehe /actuator/prometheus)
  * - Transaktions-Sicherheit
  * 
  * Jeder "Pull" kostet 10 Coins und kann verschiedene Gewinne bringen.
@@ -31,21 +45,36 @@ public class SlotController {
 
     // ===== GAME CONFIGURATION =====
     
-    private final PlayerRepository repository; // Zugriff auf Spieler-Datenbank
-    private final Random random = new Random(); // Zufallsgenerator für faire Spiele
-    
-    /**
-     * Alle verfügbaren Slot-Symbole
-     * Diese Symbole erscheinen zufällig in den 3 Reels
-     */
-    private final String[] symbols = {"🍒", "🍋", "💎", "🔔", "⭐", "🍉"};
+    /** Einsatz pro Spiel in Coins */
+    private static final int STAKE = SpinEngine.STAKE;
+
+    /** Maximale Anzahl Spins pro Batch-Request */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final BalanceLedger ledger; // Verrechnung von Einsatz und Gewinn
+    private final SpinEngine engine; // Symbole und Gewinntabelle (allokationsfrei)
+    private final SpinHistoryRecorder history; // Spielverlauf (wartet nie auf die Datenbank)
+    private final SlotMetrics metrics; // Timer und Zähler für Prometheus
+    private final IdempotencyStore idempotency; // Ergebnisse für wiederholte Requests (Idempotency-Key)
+    private final JackpotPool jackpots; // Progressiver Jackpot (LongAdder, kein Lock)
 
     /**
      * Konstruktor mit Dependency Injection
-     * @param repository PlayerRepository wird von Spring injiziert
+     * @param ledger BalanceLedger wird von Spring injiziert (Datenbank oder Write-Behind)
+     * @param engine SpinEngine wird von Spring injiziert
+     * @param history SpinHistoryRecorder wird von Spring injiziert
+     * @param metrics SlotMetrics wird von Spring injiziert
+     * @param idempotency IdempotencyStore wird von Spring injiziert
+     * @param jackpots JackpotPool wird von Spring injiziert
      */
-    public SlotController(PlayerRepository repository) {
-        this.repository = repository;
+    public SlotController(BalanceLedger ledger, SpinEngine engine, SpinHistoryRecorder history, SlotMetrics metrics,
+                          IdempotencyStore idempotency, JackpotPool jackpots) {
+        this.ledger = ledger;
+        this.engine = engine;
+        this.history = history;
+        this.metrics = metrics;
+        this.idempotency = idempotency;
+        this.jackpots = jackpots;
     }
 
     // ===== HAUPTSPIEL-LOGIK =====
@@ -59,130 +88,358 @@ public class SlotController {
      * fetch('http://localhost:8080/slot/pull/1', {method: 'POST'})
      * 
      * Spielablauf:
-     * 1. Spieler validieren (existiert er? hat er genug Coins?)
-     * 2. 10 Coins abziehen (Spieleinsatz)
-     * 3. 3 zufällige Symbole generieren
-     * 4. Gewinn berechnen (alle 3 gleich = Jackpot!)
-     * 5. Gewinn zu Coins hinzufügen
-     * 6. Ergebnis an Frontend senden
+     * 1. 3 zufällige Symbole generieren
+     * 2. Gewinn berechnen (alle 3 gleich = Gewinn, 3x Auslöser-Symbol = zusätzlich der Jackpot)
+     * 3. Einsatz abziehen und Gewinn gutschreiben - in EINEM bedingten UPDATE
+     *    (schlägt fehl, wenn der Spieler fehlt oder weniger als 10 Coins hat)
+     * 4. Anteil des Einsatzes in den Jackpot, Spin im Verlauf vormerken (asynchron)
+     * 5. Ergebnis an Frontend senden
+     * 
+     * Die Dauer jeder Phase wird per System.nanoTime() gemessen und in
+     * SlotMetrics erfasst (slot.pull, slot.pull.phase).
      * 
      * @param playerId ID des Spielers (aus URL extrahiert)
-     * @return Map mit Spielergebnis (slots, win, winAmount, coins)
+     * @return Spielergebnis (slots, win, winAmount, coins)
+     * @throws PlayerNotFoundException wenn der Spieler fehlt (HTTP 404)
+     * @throws InsufficientCoinsException wenn er weniger als 10 Coins hat (HTTP 402)
      */
     @PostMapping("/pull/{playerId}")
-    public Map<String, Object> pullSlot(@PathVariable Long playerId) {
+    public PullResponse pullSlot(@PathVariable Long playerId) {
+        long start = System.nanoTime();
+
+        // ===== 1. SYMBOLE GENERIEREN =====
         
-        // ===== 1. SPIELER VALIDIERUNG =====
+        ReelConfig reels = engine.config(); // Snapshot - ein Reload mitten im Spin ändert nichts
+        int spin = engine.spin(reels);      // Drei zufällige Symbole, kodiert in einem int
+
+        // ===== 2. GEWINNBERECHNUNG =====
         
-        Optional<Player> optionalPlayer = repository.findById(playerId);
+        int jackpot = jackpots.award(reels, spin); // Fast immer 0 - bei 3x Auslöser-Symbol reserviert
+        int winAmount = reels.payout(spin) + jackpot; // Alle 3 gleich = Gewinn laut Gewinntabelle
+        long rolled = System.nanoTime();
+
+        // ===== 3. EINSATZ UND GEWINN ATOMAR VERRECHNEN =====
         
-        // Spieler existiert nicht
-        if (optionalPlayer.isEmpty()) {
-            return Map.of("error", "Player not found");
+        // coins = coins - 10 + winAmount, nur wenn coins >= 10
+        int coins = ledger.settle(playerId, STAKE, winAmount);
+        long settled = System.nanoTime();
+
+        // Spieler existiert nicht oder hat nicht genug Coins für den Einsatz
+        if (coins < 0) {
+            jackpots.release(jackpot); // Reservierter Jackpot zurück in den Pool
+        }
+        if (coins == BalanceLedger.NOT_FOUND) {
+            metrics.recordPull(SlotMetrics.Mode.CLASSIC, SlotMetrics.Outcome.NOT_FOUND, rolled - start, settled - rolled, 0, settled - start);
+            throw PlayerNotFoundException.INSTANCE;
+        }
+        if (coins == BalanceLedger.INSUFFICIENT_COINS) {
+            metrics.recordPull(SlotMetrics.Mode.CLASSIC, SlotMetrics.Outcome.INSUFFICIENT_COINS, rolled - start, settled - rolled, 0, settled - start);
+            throw InsufficientCoinsException.INSTANCE;
         }
 
-        Player player = optionalPlayer.get();
+        // ===== 4. JACKPOT UND VERLAUF =====
+        
+        jackpots.contribute(STAKE); // LongAdder - jeder Thread zählt in seine eigene Zelle
+        jackpots.confirm(jackpot);
+        List<String> slots = reels.toSymbols(spin);
+        history.record(playerId, slots, STAKE, winAmount, coins); // Nur Queue - kein SQL im Request
+        long recorded = System.nanoTime();
+        metrics.recordSpin(SlotMetrics.Mode.CLASSIC, STAKE, winAmount, slots.get(0));
+        metrics.recordPull(SlotMetrics.Mode.CLASSIC, SlotMetrics.Outcome.OK, rolled - start, settled - rolled, recorded - settled, recorded - start);
+
+        // ===== 5. ANTWORT ERSTELLEN =====
+        
+        // Unveränderliches Record - Spring wählt das Format über den Accept-Header (JSON oder CBOR)
+        return new PullResponse.Spin(slots, winAmount > 0, winAmount, coins, jackpot);
+    }
 
-        // Nicht genug Coins für Einsatz (10 Coins pro Spiel)
-        if (player.getCoins() < 10) {
-            return Map.of("error", "Not enough coins");
+    /**
+     * POST /slot/pull/{playerId} mit Header Idempotency-Key - Pull, den der Client wiederholen darf
+     * 
+     * Aufruf (z.B. App mit automatischer Wiederholung bei Timeout):
+     * fetch('http://localhost:8080/slot/pull/1', {method: 'POST', headers: {'Idempotency-Key': crypto.randomUUID()}})
+     * 
+     * Derselbe Schlüssel für denselben Spieler liefert immer dasselbe Ergebnis -
+     * gespielt und abgebucht wird nur beim ersten Mal (siehe IdempotencyStore).
+     * Requests ohne den Header landen in pullSlot() und kosten nichts zusätzlich.
+     * 
+     * @param playerId ID des Spielers (aus URL extrahiert)
+     * @param key Vom Client gewählter Schlüssel, gleich bei jeder Wiederholung
+     * @return Ergebnis der ersten Ausführung
+     */
+    @PostMapping(value = "/pull/{playerId}", headers = IdempotencyStore.HEADER)
+    public PullResponse pullSlotIdempotent(@PathVariable Long playerId,
+                                           @RequestHeader(IdempotencyStore.HEADER) String key) {
+        return idempotency.execute("pull:" + playerId, key, () -> pullSlot(playerId));
+    }
+
+    /**
+     * POST /slot/pull/{playerId}/batch?count=N - Mehrere Spins in einem Request
+     * 
+     * Für Vielspieler: N Spins werden im Speicher gespielt, der Kontostand wird
+     * aber nur EINMAL in die Datenbank geschrieben. Die Symbole und Gewinne
+     * entstehen mit derselben Logik wie bei einem einzelnen Pull.
+     * 
+     * Frontend-Aufruf:
+     * fetch('http://localhost:8080/slot/pull/1/batch?count=50', {method: 'POST'})
+     * 
+     * Spielablauf:
+     * 1. Aktuellen Kontostand lesen
+     * 2. Spins spielen, bis N erreicht ist oder die Coins unter den Einsatz fallen
+     * 3. Summe aller Einsätze und Gewinne in EINEM bedingten UPDATE verrechnen
+     *    (Bedingung: der Kontostand deckt jeden einzelnen Spin)
+     * 4. Jeden Spin einzeln im Verlauf vormerken
+     * 
+     * @param playerId ID des Spielers (aus URL extrahiert)
+     * @param count Anzahl gewünschter Spins (1 bis MAX_BATCH_SIZE)
+     * @return Alle Spins (slots, winAmount), count, totalWin und coins
+     * @throws PlayerNotFoundException wenn der Spieler fehlt (HTTP 404)
+     * @throws InsufficientCoinsException wenn die Coins nicht für einen Spin reichen (HTTP 402)
+     */
+    @PostMapping("/pull/{playerId}/batch")
+    public PullResponse pullSlotBatch(@PathVariable Long playerId,
+                                             @RequestParam(defaultValue = "10") int count) {
+
+        if (count < 1 || count > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Count must be between 1 and " + MAX_BATCH_SIZE);
         }
 
-        // ===== 2. EINSATZ ABZIEHEN =====
+        // ===== 1. KONTOSTAND LESEN =====
         
-        player.setCoins(player.getCoins() - 10); // 10 Coins Einsatz
+        int balance = ledger.balance(playerId);
 
-        // ===== 3. SYMBOLE GENERIEREN =====
+        if (balance == BalanceLedger.NOT_FOUND) {
+            throw PlayerNotFoundException.INSTANCE;
+        }
+        if (balance < STAKE) {
+            throw InsufficientCoinsException.INSTANCE;
+        }
+
+        // ===== 2. SPINS IM SPEICHER SPIELEN =====
         
-        // Drei zufällige Symbole für die 3 Reels
-        String symbol1 = getRandomSymbol();
-        String symbol2 = getRandomSymbol();
-        String symbol3 = getRandomSymbol();
+        int totalWin = 0;
+        int required = STAKE; // Nötiger Start-Kontostand, damit jeder Spin gedeckt ist
+        ReelConfig reels = engine.config(); // Alle Spins des Batches mit derselben Konfiguration
+        List<PullResponse.BatchSpin> spins = new ArrayList<>(count);
+        List<List<String>> symbols = new ArrayList<>(count); // Für den Verlauf
+        int[] wins = new int[count];
+        int[] jackpotWins = new int[count]; // Reservierte Jackpots (fast immer 0)
+
+        while (spins.size() < count && balance >= STAKE) {
+            int spin = engine.spin(reels);
+            int jackpot;
+            try {
+                jackpot = jackpots.award(reels, spin);
+            } catch (RuntimeException e) {
+                for (int i = 0; i < spins.size(); i++) {
+                    jackpots.release(jackpotWins[i]); // Bisherige Reservierungen zurück, nichts wird verbucht
+                }
+                throw e;
+            }
+            int winAmount = reels.payout(spin) + jackpot;
 
-        List<String> slots = List.of(symbol1, symbol2, symbol3);
+            // Vor Spin i braucht es: STAKE + alle bisherigen Einsätze - alle bisherigen Gewinne
+            required = Math.max(required, (spins.size() + 1) * STAKE - totalWin);
+            balance = balance - STAKE + winAmount;
+            totalWin += winAmount;
+            List<String> slots = reels.toSymbols(spin);
+            symbols.add(slots);
+            wins[spins.size()] = winAmount;
+            jackpotWins[spins.size()] = jackpot;
+            spins.add(new PullResponse.BatchSpin(slots, winAmount, jackpot));
+        }
 
-        // ===== 4. GEWINNBERECHNUNG =====
+        // ===== 3. EINMAL VERRECHNEN =====
         
-        int winAmount = 0;
-
-        // Gewinnlogik: Alle 3 Symbole müssen gleich sein für Jackpot
-        if (slots.get(0).equals(slots.get(1)) && slots.get(1).equals(slots.get(2))) {
-            
-            // JACKPOT! - Gewinn abhängig vom Symbol
-            String winningSymbol = slots.get(0);
-            
-            // Verschiedene Symbole haben verschiedene Gewinnwerte
-            switch (winningSymbol) {
-                case "💎" -> winAmount = 500;  // Diamant - höchster Gewinn (50x Einsatz)
-                case "⭐" -> winAmount = 200;  // Stern - hoher Gewinn (20x Einsatz)
-                case "🔔" -> winAmount = 150;  // Glocke - mittlerer Gewinn (15x Einsatz)
-                case "🍒" -> winAmount = 100;  // Kirsche - niedriger Gewinn (10x Einsatz)
-                case "🍋" -> winAmount = 80;   // Zitrone - niedriger Gewinn (8x Einsatz)
-                case "🍉" -> winAmount = 60;   // Wassermelone - niedrigster Gewinn (6x Einsatz)
-                default -> winAmount = 50;     // Fallback für unbekannte Symbole
+        // Gewinne zwischendurch können weitere Spins finanzieren - verlangt wird daher
+        // nicht die Summe der Einsätze, sondern der nötige Start-Kontostand "required".
+        // Als "Einsatz" wird required abgezogen und der Rest als "Gewinn" zurückgebucht:
+        // coins - required + (required - totalStake + totalWin) = coins - totalStake + totalWin
+        // Hat ein paralleler Request inzwischen Coins verbraucht, wird nichts verrechnet.
+        int totalStake = spins.size() * STAKE;
+        int coins = ledger.settle(playerId, required, required - totalStake + totalWin);
+        for (int i = 0; i < spins.size(); i++) {
+            if (coins < 0) {
+                jackpots.release(jackpotWins[i]); // Jede Reservierung einzeln zurück
+            } else {
+                jackpots.confirm(jackpotWins[i]);
             }
         }
-        // Wenn nicht alle 3 gleich sind: winAmount bleibt 0 (kein Gewinn)
+        if (coins == BalanceLedger.NOT_FOUND) {
+            throw PlayerNotFoundException.INSTANCE;
+        }
+        if (coins == BalanceLedger.INSUFFICIENT_COINS) {
+            throw InsufficientCoinsException.INSTANCE;
+        }
 
-        // ===== 5. GEWINN AUSZAHLEN =====
+        // ===== 4. JACKPOT UND VERLAUF =====
         
-        player.setCoins(player.getCoins() + winAmount); // Gewinn zu Coins hinzufügen
-        repository.save(player); // Geänderten Spieler in Datenbank speichern
+        jackpots.contribute(totalStake);
 
-        // ===== 6. ANTWORT ERSTELLEN =====
-        
-        // Response Map für Frontend (wird automatisch zu JSON konvertiert)
-        Map<String, Object> result = new HashMap<>();
-        result.put("slots", slots);           // Die 3 Symbole für Frontend-Anzeige
-        result.put("win", winAmount > 0);     // Boolean: Gewonnen ja/nein
-        result.put("winAmount", winAmount);   // Gewinnbetrag (0 wenn kein Gewinn)
-        result.put("coins", player.getCoins()); // Aktuelle Coins nach dem Spiel
-
-        return result; // Spring konvertiert automatisch zu JSON
+        // Kontostand nach jedem Spin, rückwärts vom verbuchten Endstand gerechnet
+        int before = coins + totalStake - totalWin;
+        for (int i = 0; i < spins.size(); i++) {
+            before = before - STAKE + wins[i];
+            history.record(playerId, symbols.get(i), STAKE, wins[i], before);
+            metrics.recordSpin(SlotMetrics.Mode.CLASSIC, STAKE, wins[i], symbols.get(i).get(0));
+        }
+
+        return new PullResponse.Batch(spins, spins.size(), totalWin, coins);
+    }
+
+    /**
+     * POST /slot/pull/{playerId}/batch?count=N mit Header Idempotency-Key
+     * 
+     * Wie pullSlotIdempotent(): eine Wiederholung spielt den Batch nicht nochmals.
+     * count gehört zum Schlüssel - dieselbe Wiederholung mit anderem count gilt als
+     * neuer Request.
+     * 
+     * @param playerId ID des Spielers (aus URL extrahiert)
+     * @param count Anzahl gewünschter Spins (1 bis MAX_BATCH_SIZE)
+     * @param key Vom Client gewählter Schlüssel, gleich bei jeder Wiederholung
+     * @return Ergebnis der ersten Ausführung
+     */
+    @PostMapping(value = "/pull/{playerId}/batch", headers = IdempotencyStore.HEADER)
+    public PullResponse pullSlotBatchIdempotent(@PathVariable Long playerId,
+                                                @RequestParam(defaultValue = "10") int count,
+                                                @RequestHeader(IdempotencyStore.HEADER) String key) {
+        return idempotency.execute("batch:" + playerId + ":" + count, key, () -> pullSlotBatch(playerId, count));
     }
 
-    // ===== HILFSMETHODEN =====
+    // ===== JACKPOT =====
 
     /**
-     * Generiert ein zufälliges Symbol aus dem symbols-Array
+     * GET /slot/jackpot - Aktueller Stand des progressiven Jackpots
      * 
-     * Diese Methode sorgt für Fairness - jedes Symbol hat die gleiche
-     * Wahrscheinlichkeit zu erscheinen (1/6 = ca. 16.67%)
+     * Frontend-Aufruf (z.B. jede Sekunde):
+     * fetch('http://localhost:8080/slot/jackpot')
      * 
-     * @return Ein zufälliges Emoji-Symbol
+     * Billig genug zum Pollen: eine Summe über die LongAdder-Zellen, keine
+     * Datenbank, kein Lock. Cache-Control erlaubt Browsern und Proxies, die
+     * Antwort eine Sekunde lang wiederzuverwenden. Nicht gedrosselt
+     * (die Drosselung gilt nur für /slot/pull/**).
+     * 
+     * @return amount (Coins), wins, lastWinAt, trigger
      */
-    private String getRandomSymbol() {
-        // random.nextInt(6) gibt Zahlen 0-5 zurück
-        // Diese werden als Index für das symbols-Array verwendet
-        return symbols[random.nextInt(symbols.length)];
+    @GetMapping("/jackpot")
+    public ResponseEntity<JackpotPool.Status> getJackpot() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(1)))
+                .body(jackpots.status());
     }
-    
+
+    // ===== MEHRLINIEN-MODUS (5 REELS x 3 REIHEN) =====
+
+    /**
+     * POST /slot/pull/{playerId}/lines - Pull im Mehrlinien-Modus
+     * 
+     * Frontend-Aufruf:
+     * fetch('http://localhost:8080/slot/pull/1/lines', {method: 'POST'})
+     * 
+     * Spielablauf wie pullSlot(), aber:
+     * - 5 Reels mit je 3 sichtbaren Symbolen (15 Zellen)
+     * - Gewinn auf jeder Gewinnlinie mit 3, 4 oder 5 gleichen Symbolen von links
+     * - Einsatz = Anzahl Linien x 1 Coin (Standard: 20 Linien = 20 Coins)
+     * 
+     * Ziehen und Auswerten aller Linien laufen auf einem einzigen long mit
+     * Bitmasken (siehe LineConfig) - erst die Antwort erzeugt Strings.
+     * 
+     * @param playerId ID des Spielers (aus URL extrahiert)
+     * @return Spielfeld (rows), Gewinnlinien (lines), stake, win, winAmount, coins
+     * @throws PlayerNotFoundException wenn der Spieler fehlt (HTTP 404)
+     * @throws InsufficientCoinsException wenn die Coins nicht für alle Linien reichen (HTTP 402)
+     */
+    @PostMapping("/pull/{playerId}/lines")
+    public PullResponse pullLines(@PathVariable Long playerId) {
+        long start = System.nanoTime();
+        LineConfig lines = engine.lines(); // Snapshot - ein Reload mitten im Spin ändert nichts
+        long grid = engine.spin(lines);
+        int stake = lines.stake();
+        int winAmount = lines.payout(grid);
+        long rolled = System.nanoTime();
+
+        int coins = ledger.settle(playerId, stake, winAmount);
+        long settled = System.nanoTime();
+        if (coins == BalanceLedger.NOT_FOUND) {
+            metrics.recordPull(SlotMetrics.Mode.LINES, SlotMetrics.Outcome.NOT_FOUND,
+                    rolled - start, settled - rolled, 0, settled - start);
+            throw PlayerNotFoundException.INSTANCE;
+        }
+        if (coins == BalanceLedger.INSUFFICIENT_COINS) {
+            metrics.recordPull(SlotMetrics.Mode.LINES, SlotMetrics.Outcome.INSUFFICIENT_COINS,
+                    rolled - start, settled - rolled, 0, settled - start);
+            throw InsufficientCoinsException.INSTANCE;
+        }
+
+        List<List<String>> rows = lines.toRows(grid);
+        List<LineConfig.LineWin> wins = winAmount > 0 ? lines.wins(grid) : List.of();
+        List<String> cells = new ArrayList<>(LineConfig.REELS * LineConfig.ROWS); // Verlauf: Reihe für Reihe
+        rows.forEach(cells::addAll);
+        history.record(playerId, cells, stake, winAmount, coins);
+        long recorded = System.nanoTime();
+        metrics.recordSpin(SlotMetrics.Mode.LINES, stake, winAmount, wins.isEmpty() ? cells.get(0) : wins.get(0).symbol());
+        metrics.recordPull(SlotMetrics.Mode.LINES, SlotMetrics.Outcome.OK,
+                rolled - start, settled - rolled, recorded - settled, recorded - start);
+
+        return new PullResponse.Lines(rows, wins, stake, winAmount > 0, winAmount, coins);
+    }
+
+    /**
+     * POST /slot/pull/{playerId}/lines mit Header Idempotency-Key
+     * 
+     * Wie pullSlotIdempotent(), eigener Schlüsselraum für den Mehrlinien-Modus.
+     * 
+     * @param playerId ID des Spielers (aus URL extrahiert)
+     * @param key Vom Client gewählter Schlüssel, gleich bei jeder Wiederholung
+     * @return Ergebnis der ersten Ausführung
+     */
+    @PostMapping(value = "/pull/{playerId}/lines", headers = IdempotencyStore.HEADER)
+    public PullResponse pullLinesIdempotent(@PathVariable Long playerId,
+                                            @RequestHeader(IdempotencyStore.HEADER) String key) {
+        return idempotency.execute("lines:" + playerId, key, () -> pullLines(playerId));
+    }
+
     /*
      * ===== GAME DESIGN ERKLÄRUNG FÜR DOZENTEN =====
      * 
      * 1. FAIRNESS:
-     *    - Echter Zufallsgenerator (java.util.Random)
-     *    - Jedes Symbol hat gleiche Wahrscheinlichkeit
+     *    - Austauschbarer Zufallsgenerator (SlotRandom, slot.rng.mode)
+     *    - Standard: eigene Zufallsstreams pro Stripe, kein geteilter Seed
+     *    - Standard: jedes Symbol hat gleiche Wahrscheinlichkeit
+     *    - Gewichte pro Reel und Gewinntabelle konfigurierbar (slot.reels.*)
+     *    - Spiellogik in SpinEngine/ReelConfig: Symbole als Byte-Indizes,
+     *      Gewinntabelle als int[], gewichtetes Ziehen per Alias Table in O(1)
      *    - Server-side Validierung (kein Client-Cheating möglich)
      * 
      * 2. GEWINNCHANCEN:
-     *    - Jackpot-Chance: ca. 1/6³ = 1/216 ≈ 0.46%
+     *    - Jackpot-Chance (klassisch, gleiche Gewichte): ca. 1/6³ = 1/216 ≈ 0.46%
      *    - Verschiedene Symbole = verschiedene Auszahlungen
      *    - House Edge: Durchschnittlicher Gewinn < Einsatz (Casino-Prinzip)
+     *    - RTP klassisch exakt 1090 / 2160 ≈ 50.46% (prüfbar mit RtpSimulator / GET /admin/rtp)
      * 
      * 3. DATENBANK-SICHERHEIT:
-     *    - Alle Transaktionen werden sofort gespeichert
-     *    - Coins können nicht manipuliert werden
+     *    - Einsatz + Gewinn werden über den BalanceLedger atomar verrechnet
+     *    - Datenbank-Modus: ein einziges UPDATE mit "WHERE coins >= 10"
+     *    - Write-Behind-Modus: CAS im Speicher, Batch-Flush in die Datenbank
+     *    - Kein Read-Modify-Write mehr, daher keine verlorenen Updates
      *    - Automatisches Rollback bei Fehlern (Spring Transaction)
      * 
      * 4. API DESIGN:
      *    - RESTful: POST für state-changing Operations
-     *    - JSON Response mit allen relevanten Daten
-     *    - Error Handling für Edge Cases
+     *    - Idempotency-Key: Wiederholungen eines Pulls werden nicht doppelt gespielt
+     *    - Antworten als Records (PullResponse), JSON oder CBOR je nach Accept-Header
+     *    - Fehler als HTTP-Status (404, 402) mit vorberechnetem RFC-7807-Body:
+     *      eine Ablehnung kostet kaum mehr als ein erfolgreicher Pull (siehe SlotException)
      * 
      * 5. BUSINESS LOGIK:
      *    - 10 Coins Einsatz pro Spiel
+     *    - Batch-Modus: bis zu 1000 Spins pro Request, ein einziger DB-Write
+     *    - Jeder Spin landet im Verlauf (spin_record), per Queue + JDBC-Batch
+     *    - Laufzeit, RTP und Gewinne als Messwerte unter /actuator/prometheus
      *    - Gewinn nur bei 3 gleichen Symbolen
+     *    - Progressiver Jackpot: 10% jedes Einsatzes, 3x 💎 gewinnt den Pool
+     *      (LongAdder für die Einzahlungen, CAS-Reservierung für genau einen Gewinner)
+     *    - Mehrlinien-Modus: 5x3 Felder, 20 Linien (slot.lines.*), Auswertung per Bitmasken
      *    - Verschiedene Symbole = verschiedene Multiplikatoren
      */
 }
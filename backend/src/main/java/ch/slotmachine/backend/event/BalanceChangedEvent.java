@@ -0,0 +1,12 @@
+package ch.slotmachine.backend.event;
+
+/**
+ * Event: Der Kontostand eines Spielers hat sich geändert (Spin, Batch, Aufladen)
+ * 
+ * Wird vom BalanceLedger nach jeder erfolgreichen Buchung veröffentlicht.
+ * 
+ * @param playerId ID des Spielers
+ * @param coins Neuer Kontostand
+ */
+public record BalanceChangedEvent(long playerId, int coins) {
+}
@@ -0,0 +1,11 @@
+package ch.slotmachine.backend.event;
+
+/**
+ * Event: Ein neuer Spieler wurde gespeichert
+ * 
+ * @param playerId ID des Spielers
+ * @param name Name des Spielers
+ * @param coins Start-Coins
+ */
+public record PlayerCreatedEvent(long playerId, String name, int coins) {
+}
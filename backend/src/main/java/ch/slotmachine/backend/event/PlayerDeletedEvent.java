@@ -0,0 +1,9 @@
+package ch.slotmachine.backend.event;
+
+/**
+ * Event: Ein Spieler wurde gelöscht
+ * 
+ * @param playerId ID des Spielers
+ */
+public record PlayerDeletedEvent(long playerId) {
+}
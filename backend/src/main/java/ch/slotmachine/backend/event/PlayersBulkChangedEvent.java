@@ -0,0 +1,12 @@
+package ch.slotmachine.backend.event;
+
+/**
+ * Event: Viele Spieler auf einmal geändert (Import, Massen-Aufladung)
+ *
+ * Statt eines Events pro Spieler - Listener laden ihren Stand neu
+ * (Cache leeren, Rangliste neu aufbauen, Clients resync).
+ *
+ * @param players Anzahl angelegter bzw. geänderter Spieler
+ */
+public record PlayersBulkChangedEvent(int players) {
+}
@@ -16,6 +16,17 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Handler für erwartete Fachfehler (Spieler fehlt 404, zu wenig Coins 402, gedrosselt 429, überlastet 503)
+     * 
+     * Die Antwort ist vorberechnet (RFC 7807, siehe SlotException) - kein
+     * Stack Trace, keine Map, kein Jackson. Die Bytes gehen unverändert raus.
+     */
+    @ExceptionHandler(SlotException.class)
+    public ResponseEntity<byte[]> handleSlotException(SlotException ex) {
+        return ex.response();
+    }
+
     /**
      * Handler für RuntimeException (z.B. Player not found)
      */
@@ -0,0 +1,20 @@
+package ch.slotmachine.backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Weniger Coins als der Einsatz (HTTP 402 Payment Required)
+ *
+ * Verwendung: throw InsufficientCoinsException.INSTANCE;
+ */
+public final class InsufficientCoinsException extends SlotException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Die einzige Instanz - ohne Stack Trace, Antwort vorberechnet */
+    public static final InsufficientCoinsException INSTANCE = new InsufficientCoinsException();
+
+    private InsufficientCoinsException() {
+        super(HttpStatus.PAYMENT_REQUIRED, "Not enough coins");
+    }
+}
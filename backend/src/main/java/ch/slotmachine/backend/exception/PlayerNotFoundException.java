@@ -0,0 +1,20 @@
+package ch.slotmachine.backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Spieler existiert nicht (HTTP 404)
+ *
+ * Verwendung: throw PlayerNotFoundException.INSTANCE;
+ */
+public final class PlayerNotFoundException extends SlotException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Die einzige Instanz - ohne Stack Trace, Antwort vorberechnet */
+    public static final PlayerNotFoundException INSTANCE = new PlayerNotFoundException();
+
+    private PlayerNotFoundException() {
+        super(HttpStatus.NOT_FOUND, "Player not found");
+    }
+}
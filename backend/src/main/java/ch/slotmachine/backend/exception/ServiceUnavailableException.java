@@ -0,0 +1,25 @@
+package ch.slotmachine.backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Vorübergehend nicht möglich, später erneut versuchen (HTTP 503 Service Unavailable)
+ *
+ * Verwendung: throw ServiceUnavailableException.JACKPOT_BUSY;
+ */
+public final class ServiceUnavailableException extends SlotException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Der Jackpot wurde trotz mehrerer Versuche ständig von anderen Instanzen geändert */
+    public static final ServiceUnavailableException JACKPOT_BUSY =
+            new ServiceUnavailableException("Jackpot busy, please try again");
+
+    /** Bereits slot.stream.max-subscribers Live-Verbindungen offen */
+    public static final ServiceUnavailableException STREAM_FULL =
+            new ServiceUnavailableException("Too many stream subscribers");
+
+    private ServiceUnavailableException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+}
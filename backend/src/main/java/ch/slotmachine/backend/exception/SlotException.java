@@ -0,0 +1,85 @@
+package ch.slotmachine.backend.exception;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Slot Exception - Basis der erwarteten Fachfehler (Spieler fehlt, zu wenig Coins, gedrosselt, überlastet)
+ *
+ * Diese Fehler sind kein Ausnahmefall, sondern Alltag: ein Client, der mit
+ * leerem Konto weiter zieht, löst sie hundertfach pro Sekunde aus. Eine
+ * normale Exception kostet dabei am meisten - den Stack Trace einsammeln,
+ * eine Map bauen, Jackson das JSON schreiben lassen. Daher:
+ * - Jede Unterklasse hat genau EINE Instanz (INSTANCE), erzeugt beim Laden der Klasse
+ * - Ohne Stack Trace und ohne Suppressed-Liste (writableStackTrace = false) -
+ *   throw kostet damit kaum mehr als ein return
+ * - Die Antwort (RFC 7807, application/problem+json) liegt fertig als
+ *   unveränderliche ResponseEntity mit den JSON-Bytes bereit - der
+ *   GlobalExceptionHandler gibt sie nur noch zurück
+ *
+ * Die Instanzen sind unveränderlich (Meldung fest, keine Ursache), daher dürfen
+ * beliebig viele Threads gleichzeitig dieselbe werfen.
+ */
+public abstract sealed class SlotException extends RuntimeException
+        permits PlayerNotFoundException, InsufficientCoinsException, TooManyRequestsException,
+                ServiceUnavailableException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+    private final transient ResponseEntity<byte[]> response;
+
+    /**
+     * @param status HTTP-Status der Antwort
+     * @param message Fehlermeldung (detail und error im JSON, ohne Anführungszeichen)
+     */
+    protected SlotException(HttpStatus status, String message) {
+        this(status, message, 0);
+    }
+
+    /**
+     * @param status HTTP-Status der Antwort
+     * @param message Fehlermeldung (detail und error im JSON, ohne Anführungszeichen)
+     * @param retryAfterSeconds Wert des Headers Retry-After (0 = kein Header)
+     */
+    protected SlotException(HttpStatus status, String message, long retryAfterSeconds) {
+        super(message, null, false, false); // Kein Stack Trace, keine Suppressed-Liste
+        this.status = status;
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON);
+        if (retryAfterSeconds > 0) {
+            builder.header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        }
+        this.response = builder.body(problem(status, message));
+    }
+
+    /**
+     * Problem-Details nach RFC 7807. "error" ist eine Erweiterung mit dem
+     * bisherigen Feld - bestehende Clients lesen die Meldung weiterhin dort.
+     */
+    private static byte[] problem(HttpStatus status, String message) {
+        return ("{\"type\":\"about:blank\""
+                + ",\"title\":\"" + status.getReasonPhrase() + "\""
+                + ",\"status\":" + status.value()
+                + ",\"detail\":\"" + message + "\""
+                + ",\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return HTTP-Status der Antwort
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Fertige Antwort (Header nur lesbar, Body wird unverändert geschrieben)
+     */
+    ResponseEntity<byte[]> response() {
+        return response;
+    }
+}
@@ -0,0 +1,20 @@
+package ch.slotmachine.backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Token Bucket leer (HTTP 429 Too Many Requests, Header Retry-After: 1)
+ *
+ * Verwendung: throw TooManyRequestsException.INSTANCE; (siehe RateLimitConfig)
+ */
+public final class TooManyRequestsException extends SlotException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Die einzige Instanz - ohne Stack Trace, Antwort vorberechnet */
+    public static final TooManyRequestsException INSTANCE = new TooManyRequestsException();
+
+    private TooManyRequestsException() {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Too many requests", 1);
+    }
+}
@@ -0,0 +1,106 @@
+package ch.slotmachine.backend.game;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Alias Table - Gewichtetes Ziehen in O(1) (Alias-Methode nach Vose)
+ *
+ * Aus n Gewichten werden einmalig n "Spalten" gebaut. Jede Spalte enthält
+ * ihr eigenes Symbol bis zu einer Schwelle und darüber ein Alias-Symbol.
+ * Ziehen heisst: Spalte gleichverteilt wählen, dann eine Zahl gegen die
+ * Schwelle vergleichen - unabhängig davon, wie viele Symbole es gibt.
+ *
+ * Alles ist ganzzahlig (Schwellen in Einheiten des Gesamtgewichts),
+ * die Wahrscheinlichkeiten sind daher exakt weight / totalWeight.
+ */
+public final class AliasTable {
+
+    private final int[] threshold;
+    private final int[] alias;
+    private final int totalWeight;
+
+    private AliasTable(int[] threshold, int[] alias, int totalWeight) {
+        this.threshold = threshold;
+        this.alias = alias;
+        this.totalWeight = totalWeight;
+    }
+
+    /**
+     * Baut die Tabelle aus ganzzahligen Gewichten
+     *
+     * @param weights Gewicht pro Symbol (>= 0, Summe > 0)
+     * @return Die fertige Tabelle
+     */
+    public static AliasTable of(int[] weights) {
+        int n = weights.length;
+        long total = 0;
+        for (int weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights must not be negative");
+            }
+            total += weight;
+        }
+        if (n == 0 || total == 0 || total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Total weight must be between 1 and " + Integer.MAX_VALUE);
+        }
+
+        // Gewichte mit n skalieren: eine volle Spalte entspricht dann genau "total"
+        long[] scaled = new long[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (long) weights[i] * n;
+            (scaled[i] < total ? small : large).push(i);
+        }
+
+        int[] threshold = new int[n];
+        int[] alias = new int[n];
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            threshold[less] = (int) scaled[less];
+            alias[less] = more;
+            // Das grosse Symbol füllt den Rest der kleinen Spalte auf
+            scaled[more] -= total - scaled[less];
+            (scaled[more] < total ? small : large).push(more);
+        }
+        // Übrige Spalten sind voll (bei ganzzahliger Rechnung exakt, ohne Rundungsreste)
+        while (!large.isEmpty()) {
+            int full = large.pop();
+            threshold[full] = (int) total;
+            alias[full] = full;
+        }
+        while (!small.isEmpty()) {
+            int full = small.pop();
+            threshold[full] = (int) total;
+            alias[full] = full;
+        }
+        return new AliasTable(threshold, alias, (int) total);
+    }
+
+    /**
+     * Zieht ein Symbol - O(1), ohne Allokation
+     *
+     * Volle Spalten brauchen keine zweite Zufallszahl. Bei gleichen Gewichten
+     * wird daher genau eine Zahl pro Reel gezogen, wie beim einfachen nextInt(n).
+     *
+     * @param random Zufallsquelle
+     * @return Index des gezogenen Symbols
+     */
+    public int sample(SlotRandom random) {
+        int column = random.nextInt(threshold.length);
+        int limit = threshold[column];
+        if (limit == totalWeight || random.nextInt(totalWeight) < limit) {
+            return column;
+        }
+        return alias[column];
+    }
+
+    /**
+     * @return Anzahl Symbole
+     */
+    public int size() {
+        return threshold.length;
+    }
+}
@@ -0,0 +1,454 @@
+package ch.slotmachine.backend.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Line Config - Unveränderliche Konfiguration des Mehrlinien-Modus (5 Reels x 3 Reihen)
+ *
+ * Enthält:
+ * - die Symbole (höchstens 16, Index = interne Kodierung)
+ * - die Gewinne für 3, 4 und 5 gleiche Symbole auf einer Gewinnlinie, pro Symbol
+ * - die Gewinnlinien (pro Reel eine Reihe)
+ * - pro Reel eine Alias Table mit den Symbol-Gewichten
+ *
+ * Kodierung des Spielfelds (ein einziges long, 4 Bit pro Zelle):
+ *
+ *   Zelle = Reel * 3 + Reihe      Reel 1  Reel 2  Reel 3  Reel 4  Reel 5
+ *   Bits  = 4 * Zelle .. +3       0       3       6       9       12       Reihe 0 (oben)
+ *                                 1       4       7       10      13       Reihe 1
+ *                                 2       5       8       11      14       Reihe 2
+ *
+ * Auswertung mit Bitmasken statt verschachtelter Schleifen:
+ * - Eine Gewinnlinie ist eine Maske mit einem Bit pro Reel (Bit 0 der Zelle)
+ * - cellsWith() macht aus dem Spielfeld die Maske aller Zellen mit Symbol s
+ *   (XOR mit s in jedem Nibble, danach ist ein Nibble genau dann 0, wenn es s enthält)
+ * - Treffer = Maske(s) AND Linie; die erste fehlende Zelle von links begrenzt
+ *   die Serie: bitCount(Linie AND (lowestOneBit(fehlend) - 1)) = Länge der Serie
+ * - Eine Serie beginnt immer auf Reel 1 - es gibt also nur 3 mögliche Symbole
+ *   (die Reihen von Reel 1). Die Linien sind danach gruppiert, pro Gruppe wird
+ *   die Symbol-Maske einmal berechnet.
+ *
+ * Pro Spin: 15 Züge aus den Alias Tables, 3 Symbol-Masken und pro Linie
+ * AND, XOR, lowestOneBit, bitCount und ein Tabellenzugriff - ohne Heap-Allokation.
+ */
+public final class LineConfig {
+
+    /** Anzahl Reels */
+    public static final int REELS = 5;
+
+    /** Sichtbare Reihen pro Reel */
+    public static final int ROWS = 3;
+
+    /** Einsatz pro Gewinnlinie in Coins - der Einsatz pro Spin ist Linien x LINE_BET */
+    public static final int LINE_BET = 1;
+
+    /** Höchstens 16 Symbole (4 Bit pro Zelle) */
+    public static final int MAX_SYMBOLS = 16;
+
+    /** Höchstens so viele Gewinnlinien */
+    public static final int MAX_PAYLINES = 100;
+
+    /** Kürzeste Serie mit Gewinn */
+    public static final int MIN_RUN = 3;
+
+    /** Bit 0 jedes der 15 Nibbles */
+    private static final long NIBBLES = 0x0111_1111_1111_1111L;
+
+    /** Die 20 üblichen Linien eines 5x3-Automaten (Reihe pro Reel, 0 = oben) */
+    private static final int[][] STANDARD_PAYLINES = {
+        {1, 1, 1, 1, 1}, {0, 0, 0, 0, 0}, {2, 2, 2, 2, 2}, {0, 1, 2, 1, 0}, {2, 1, 0, 1, 2},
+        {0, 0, 1, 2, 2}, {2, 2, 1, 0, 0}, {1, 0, 0, 0, 1}, {1, 2, 2, 2, 1}, {1, 0, 1, 2, 1},
+        {1, 2, 1, 0, 1}, {0, 1, 1, 1, 0}, {2, 1, 1, 1, 2}, {0, 1, 0, 1, 0}, {2, 1, 2, 1, 2},
+        {1, 1, 0, 1, 1}, {1, 1, 2, 1, 1}, {0, 0, 2, 0, 0}, {2, 2, 0, 2, 2}, {0, 2, 0, 2, 0}
+    };
+
+    private final String[] symbols;
+    private final int[][] payouts;   // [Serie 3/4/5 -> 0/1/2][Symbol]
+    private final int[][] paylines;  // [Linie][Reel] = Reihe
+    private final int[][] weights;   // [Reel][Symbol]
+    private final AliasTable[] reels;
+
+    /** Gewinn pro Linie, Index (Serienlänge << 4) | Symbol - Serien unter 3 zahlen 0 */
+    private final int[] pays;
+
+    /** Linien-Masken, gruppiert nach der Reihe auf Reel 1 */
+    private final long[][] linesByFirstRow;
+
+    /**
+     * @param symbols Symbole (1 bis 16)
+     * @param payouts Gewinn pro Linie für 3, 4 und 5 gleiche Symbole ([3][Symbol])
+     * @param paylines Gewinnlinien ([Linie][Reel] = Reihe 0-2, 1 bis 100 Linien)
+     * @param weights Gewichte pro Reel und Symbol ([5][Symbol])
+     * @throws IllegalArgumentException wenn die Angaben nicht zusammenpassen
+     */
+    public LineConfig(String[] symbols, int[][] payouts, int[][] paylines, int[][] weights) {
+        if (symbols.length == 0 || symbols.length > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_SYMBOLS + " symbols required");
+        }
+        if (payouts.length != REELS - MIN_RUN + 1) {
+            throw new IllegalArgumentException("Payouts required for 3, 4 and 5 of a kind");
+        }
+        if (paylines.length == 0 || paylines.length > MAX_PAYLINES) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_PAYLINES + " paylines required");
+        }
+        if (weights.length != REELS) {
+            throw new IllegalArgumentException("Weights required for exactly " + REELS + " reels");
+        }
+
+        this.symbols = symbols.clone();
+        this.pays = new int[(REELS + 1) << 4];
+        this.payouts = new int[payouts.length][];
+        for (int i = 0; i < payouts.length; i++) {
+            if (payouts[i].length != symbols.length) {
+                throw new IllegalArgumentException((i + MIN_RUN) + " of a kind needs one payout per symbol");
+            }
+            for (int symbol = 0; symbol < symbols.length; symbol++) {
+                if (payouts[i][symbol] < 0) {
+                    throw new IllegalArgumentException("Payouts must not be negative");
+                }
+                pays[(i + MIN_RUN) << 4 | symbol] = payouts[i][symbol];
+            }
+            this.payouts[i] = payouts[i].clone();
+        }
+
+        this.paylines = new int[paylines.length][];
+        List<List<Long>> grouped = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (int line = 0; line < paylines.length; line++) {
+            if (paylines[line].length != REELS) {
+                throw new IllegalArgumentException("Payline " + (line + 1) + " needs one row per reel");
+            }
+            for (int row : paylines[line]) {
+                if (row < 0 || row >= ROWS) {
+                    throw new IllegalArgumentException("Payline " + (line + 1) + " has rows outside 0-" + (ROWS - 1));
+                }
+            }
+            this.paylines[line] = paylines[line].clone();
+            grouped.get(paylines[line][0]).add(lineMask(paylines[line]));
+        }
+        this.linesByFirstRow = new long[ROWS][];
+        for (int row = 0; row < ROWS; row++) {
+            linesByFirstRow[row] = grouped.get(row).stream().mapToLong(Long::longValue).toArray();
+        }
+
+        this.weights = new int[REELS][];
+        this.reels = new AliasTable[REELS];
+        for (int reel = 0; reel < REELS; reel++) {
+            if (weights[reel].length != symbols.length) {
+                throw new IllegalArgumentException("Reel " + (reel + 1) + " needs one weight per symbol");
+            }
+            this.weights[reel] = weights[reel].clone();
+            this.reels[reel] = AliasTable.of(weights[reel]);
+        }
+    }
+
+    /**
+     * Die Standard-Konfiguration: die klassischen 6 Symbole, 20 Linien, gleiche Gewichte
+     *
+     * Gewinne pro Linie (3 / 4 / 5 gleiche): 🍒 15/30/100, 🍋 12/25/80, 💎 60/150/500,
+     * 🔔 20/50/150, ⭐ 30/60/200, 🍉 10/20/60 - 5 gleiche zahlen wie im klassischen Modus.
+     *
+     * @return Die Konfiguration (RTP exakt 7175 / 7776 ≈ 92.27%)
+     */
+    public static LineConfig standard() {
+        int[] uniform = {1, 1, 1, 1, 1, 1};
+        return new LineConfig(
+                ReelConfig.classic().symbols(),
+                new int[][] {
+                    {15, 12, 60, 20, 30, 10},
+                    {30, 25, 150, 50, 60, 20},
+                    {100, 80, 500, 150, 200, 60}},
+                STANDARD_PAYLINES,
+                new int[][] {uniform, uniform, uniform, uniform, uniform});
+    }
+
+    /**
+     * Liest die Konfiguration aus Properties (application.properties oder Reel-Datei)
+     *
+     * Schlüssel (fehlende Werte = Standard-Konfiguration):
+     * - slot.lines.symbols=🍒,🍋,💎,🔔,⭐,🍉
+     * - slot.lines.payouts.3=15,12,60,20,30,10 (ebenso .4 und .5)
+     * - slot.lines.paylines=1,1,1,1,1;0,0,0,0,0;... (Reihe pro Reel, Linien mit ; getrennt)
+     * - slot.lines.weights.reel1=1,1,1,1,1,1 (ebenso reel2 bis reel5)
+     *
+     * @param lookup Liefert den Wert zu einem Schlüssel oder null
+     * @return Die validierte Konfiguration
+     * @throws IllegalArgumentException bei ungültigen Werten
+     */
+    public static LineConfig fromProperties(UnaryOperator<String> lookup) {
+        LineConfig standard = standard();
+        String symbols = lookup.apply("slot.lines.symbols");
+        String[] symbolList = isBlank(symbols) ? standard.symbols : split(symbols, ",");
+
+        int[][] payouts = new int[REELS - MIN_RUN + 1][];
+        for (int run = MIN_RUN; run <= REELS; run++) {
+            String value = lookup.apply("slot.lines.payouts." + run);
+            payouts[run - MIN_RUN] = isBlank(value) ? standard.payouts[run - MIN_RUN] : parseInts(value);
+        }
+
+        String lines = lookup.apply("slot.lines.paylines");
+        int[][] paylines = isBlank(lines)
+                ? standard.paylines
+                : Arrays.stream(split(lines, ";")).map(LineConfig::parseInts).toArray(int[][]::new);
+
+        int[][] weights = new int[REELS][];
+        for (int reel = 0; reel < REELS; reel++) {
+            String value = lookup.apply("slot.lines.weights.reel" + (reel + 1));
+            if (isBlank(value)) {
+                weights[reel] = new int[symbolList.length];
+                Arrays.fill(weights[reel], 1); // Ohne Angabe: alle Symbole gleich wahrscheinlich
+            } else {
+                weights[reel] = parseInts(value);
+            }
+        }
+        return new LineConfig(symbolList, payouts, paylines, weights);
+    }
+
+    // ===== SPIELKERN (allokationsfrei) =====
+
+    /**
+     * Füllt alle 15 Zellen - jede Zelle einzeln aus der Alias Table ihres Reels
+     *
+     * @param random Zufallsquelle
+     * @return Das kodierte Spielfeld (4 Bit pro Zelle)
+     */
+    public long spin(SlotRandom random) {
+        long grid = 0;
+        for (int reel = 0; reel < REELS; reel++) {
+            AliasTable table = reels[reel];
+            for (int row = 0; row < ROWS; row++) {
+                grid |= (long) table.sample(random) << (4 * (reel * ROWS + row));
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Berechnet den Gewinn über alle Gewinnlinien
+     *
+     * @param grid Das kodierte Spielfeld
+     * @return Summe der Liniengewinne in Coins
+     */
+    public int payout(long grid) {
+        int total = 0;
+        for (int row = 0; row < ROWS; row++) {
+            long[] lines = linesByFirstRow[row];
+            if (lines.length == 0) {
+                continue;
+            }
+            int symbol = symbolAt(grid, 0, row);
+            long cells = cellsWith(grid, symbol);
+            for (long line : lines) {
+                total += pays[run(line, cells) << 4 | symbol];
+            }
+        }
+        return total * LINE_BET;
+    }
+
+    /**
+     * Bitmaske aller Zellen mit einem Symbol (Bit 4 * Zelle)
+     *
+     * @param grid Das kodierte Spielfeld
+     * @param symbol Symbol-Index
+     * @return Maske, vergleichbar mit den Linien-Masken
+     */
+    static long cellsWith(long grid, int symbol) {
+        long diff = grid ^ (symbol * NIBBLES); // Nibble = 0 genau dort, wo das Symbol steht
+        diff |= diff >>> 2;
+        diff |= diff >>> 1;                    // Bit 0 jedes Nibbles = OR seiner 4 Bits
+        return ~diff & NIBBLES;
+    }
+
+    /**
+     * Länge der Serie von links: Anzahl Linien-Zellen vor der ersten fehlenden
+     *
+     * Die Zellen sind nach Reels geordnet, das niedrigste fehlende Bit ist also
+     * der erste Reel ohne das Symbol. Fehlt keines, ist lowestOneBit(0) - 1 = -1
+     * und die Serie umfasst alle 5 Reels.
+     */
+    private static int run(long line, long cells) {
+        long missing = line & ~cells;
+        return Long.bitCount(line & (Long.lowestOneBit(missing) - 1));
+    }
+
+    // ===== AUSGABE (nur für die JSON-Antwort) =====
+
+    /**
+     * Übersetzt das Spielfeld in Emojis, Reihe für Reihe
+     *
+     * @param grid Das kodierte Spielfeld
+     * @return 3 Reihen mit je 5 Symbolen
+     */
+    public List<List<String>> toRows(long grid) {
+        List<List<String>> rows = new ArrayList<>(ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            String[] cells = new String[REELS];
+            for (int reel = 0; reel < REELS; reel++) {
+                cells[reel] = symbols[symbolAt(grid, reel, row)];
+            }
+            rows.add(List.of(cells));
+        }
+        return rows;
+    }
+
+    /**
+     * Alle Gewinnlinien dieses Spins
+     *
+     * @param grid Das kodierte Spielfeld
+     * @return Gewinnende Linien in Reihenfolge der Konfiguration (leer = kein Gewinn)
+     */
+    public List<LineWin> wins(long grid) {
+        List<LineWin> wins = new ArrayList<>();
+        for (int line = 0; line < paylines.length; line++) {
+            int symbol = symbolAt(grid, 0, paylines[line][0]);
+            int run = run(lineMask(paylines[line]), cellsWith(grid, symbol));
+            int amount = pays[run << 4 | symbol];
+            if (amount > 0) {
+                wins.add(new LineWin(line + 1, symbols[symbol], run, amount * LINE_BET));
+            }
+        }
+        return wins;
+    }
+
+    /**
+     * Gewinn auf einer Linie
+     *
+     * @param line Nummer der Linie (ab 1)
+     * @param symbol Das Symbol der Serie
+     * @param count Länge der Serie (3 bis 5)
+     * @param amount Gewinn in Coins
+     */
+    public record LineWin(int line, String symbol, int count, int amount) {
+    }
+
+    // ===== AUSWERTUNG =====
+
+    /**
+     * @return Einsatz pro Spin (Anzahl Linien x LINE_BET)
+     */
+    public int stake() {
+        return paylines.length * LINE_BET;
+    }
+
+    /**
+     * Exakter RTP
+     *
+     * Die Zellen sind unabhängig und jede Linie hat genau eine Zelle pro Reel -
+     * jede Linie hat daher denselben Erwartungswert:
+     * P(genau k gleiche) = q1 * ... * qk * (1 - q(k+1)), qr = Anteil des Symbols auf Reel r.
+     * RTP = Linien x Erwartungswert pro Linie / Einsatz.
+     *
+     * @return Theoretischer RTP als Anteil (z.B. 0.92 = 92%)
+     */
+    public double theoreticalRtp() {
+        double expectedLineWin = 0;
+        for (int symbol = 0; symbol < symbols.length; symbol++) {
+            double prefix = 1; // P(Reels 1..run zeigen alle das Symbol)
+            for (int run = 1; run <= REELS; run++) {
+                prefix *= share(run - 1, symbol);
+                double exactly = run < REELS ? prefix * (1 - share(run, symbol)) : prefix;
+                expectedLineWin += exactly * pays[run << 4 | symbol];
+            }
+        }
+        return expectedLineWin * paylines.length * LINE_BET / stake();
+    }
+
+    /**
+     * @return Anzahl Gewinnlinien
+     */
+    public int paylineCount() {
+        return paylines.length;
+    }
+
+    /**
+     * @return Kopie der Symbole
+     */
+    public String[] symbols() {
+        return symbols.clone();
+    }
+
+    /**
+     * @return Kopie der Gewinne ([3/4/5 gleiche][Symbol])
+     */
+    public int[][] payouts() {
+        return deepCopy(payouts);
+    }
+
+    /**
+     * @return Kopie der Gewinnlinien ([Linie][Reel] = Reihe)
+     */
+    public int[][] paylines() {
+        return deepCopy(paylines);
+    }
+
+    /**
+     * @return Kopie der Gewichte ([Reel][Symbol])
+     */
+    public int[][] weights() {
+        return deepCopy(weights);
+    }
+
+    /**
+     * @param grid Das kodierte Spielfeld
+     * @param reel Reel (0-4)
+     * @param row Reihe (0-2)
+     * @return Symbol-Index in dieser Zelle
+     */
+    public static int symbolAt(long grid, int reel, int row) {
+        return (int) (grid >>> (4 * (reel * ROWS + row))) & 0xF;
+    }
+
+    /**
+     * Kodiert ein Spielfeld (für Tests und Benchmarks)
+     *
+     * @param rows 3 Reihen mit je 5 Symbol-Indizes
+     * @return Das kodierte Spielfeld
+     */
+    public static long encode(int[][] rows) {
+        long grid = 0;
+        for (int row = 0; row < ROWS; row++) {
+            for (int reel = 0; reel < REELS; reel++) {
+                grid |= (long) (rows[row][reel] & 0xF) << (4 * (reel * ROWS + row));
+            }
+        }
+        return grid;
+    }
+
+    private static long lineMask(int[] rows) {
+        long mask = 0;
+        for (int reel = 0; reel < REELS; reel++) {
+            mask |= 1L << (4 * (reel * ROWS + rows[reel]));
+        }
+        return mask;
+    }
+
+    private double share(int reel, int symbol) {
+        return (double) weights[reel][symbol] / Arrays.stream(weights[reel]).sum();
+    }
+
+    private static int[][] deepCopy(int[][] source) {
+        int[][] copy = new int[source.length][];
+        for (int i = 0; i < source.length; i++) {
+            copy[i] = source[i].clone();
+        }
+        return copy;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String[] split(String value, String separator) {
+        return Arrays.stream(value.split(separator)).map(String::trim).toArray(String[]::new);
+    }
+
+    private static int[] parseInts(String value) {
+        try {
+            return Arrays.stream(split(value, ",")).mapToInt(Integer::parseInt).toArray();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number list: " + value);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package ch.slotmachine.backend.game;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Reel Config - Unveränderliche Konfiguration von Reels und Gewinntabelle
+ *
+ * Enthält:
+ * - die Symbole (Index = interne Kodierung)
+ * - die Gewinntabelle für 3 gleiche Symbole (int[], gleicher Index)
+ * - pro Reel eine Alias Table mit den Symbol-Gewichten
+ *
+ * Ein Spin arbeitet immer mit EINEM ReelConfig-Objekt. Wird die Konfiguration
+ * neu geladen, tauscht SpinEngine nur die Referenz aus - laufende Spins
+ * rechnen mit ihrem Snapshot zu Ende.
+ */
+public final class ReelConfig {
+
+    /** Multiplikator, der ein Symbol in alle 3 Reels kopiert (0x010101) */
+    private static final int TRIPLE = 1 | 1 << 8 | 1 << 16;
+
+    private final String[] symbols;
+    private final int[] paytable;
+    private final int[][] weights;
+    private final AliasTable[] reels;
+
+    /**
+     * @param symbols Symbole (1 bis 256)
+     * @param paytable Gewinn bei 3 gleichen Symbolen, pro Symbol
+     * @param weights Gewichte pro Reel und Symbol ([Reel][Symbol])
+     * @throws IllegalArgumentException wenn die Angaben nicht zusammenpassen
+     */
+    public ReelConfig(String[] symbols, int[] paytable, int[][] weights) {
+        if (symbols.length == 0 || symbols.length > 256) {
+            throw new IllegalArgumentException("Between 1 and 256 symbols required");
+        }
+        if (paytable.length != symbols.length) {
+            throw new IllegalArgumentException("Paytable needs one payout per symbol");
+        }
+        if (weights.length != SpinEngine.REELS) {
+            throw new IllegalArgumentException("Weights required for exactly " + SpinEngine.REELS + " reels");
+        }
+        for (int payout : paytable) {
+            if (payout < 0) {
+                throw new IllegalArgumentException("Payouts must not be negative");
+            }
+        }
+        this.symbols = symbols.clone();
+        this.paytable = paytable.clone();
+        this.weights = new int[SpinEngine.REELS][];
+        this.reels = new AliasTable[SpinEngine.REELS];
+        for (int reel = 0; reel < SpinEngine.REELS; reel++) {
+            if (weights[reel].length != symbols.length) {
+                throw new IllegalArgumentException("Reel " + (reel + 1) + " needs one weight per symbol");
+            }
+            this.weights[reel] = weights[reel].clone();
+            this.reels[reel] = AliasTable.of(weights[reel]);
+        }
+    }
+
+    /**
+     * Die klassische Konfiguration: 6 Symbole, alle gleich wahrscheinlich
+     *
+     * @return 🍒 100, 🍋 80, 💎 500, 🔔 150, ⭐ 200, 🍉 60
+     */
+    public static ReelConfig classic() {
+        int[] uniform = {1, 1, 1, 1, 1, 1};
+        return new ReelConfig(
+                new String[] {"🍒", "🍋", "💎", "🔔", "⭐", "🍉"},
+                new int[] {100, 80, 500, 150, 200, 60},
+                new int[][] {uniform, uniform, uniform});
+    }
+
+    /**
+     * Liest die Konfiguration aus Properties (application.properties oder Reel-Datei)
+     * 
+     * Schlüssel (fehlende Werte = klassische Konfiguration):
+     * - slot.reels.symbols=🍒,🍋,💎,🔔,⭐,🍉
+     * - slot.reels.payouts=100,80,500,150,200,60
+     * - slot.reels.weights.reel1=1,1,1,1,1,1 (ebenso reel2 und reel3)
+     *
+     * @param lookup Liefert den Wert zu einem Schlüssel oder null
+     * @return Die validierte Konfiguration
+     * @throws IllegalArgumentException bei ungültigen Werten
+     */
+    public static ReelConfig fromProperties(UnaryOperator<String> lookup) {
+        ReelConfig classic = classic();
+        String symbols = lookup.apply("slot.reels.symbols");
+        String payouts = lookup.apply("slot.reels.payouts");
+
+        String[] symbolList = isBlank(symbols) ? classic.symbols : split(symbols);
+        int[] paytable = isBlank(payouts) ? classic.paytable : parseInts(payouts);
+
+        int[][] weights = new int[SpinEngine.REELS][];
+        for (int reel = 0; reel < SpinEngine.REELS; reel++) {
+            String value = lookup.apply("slot.reels.weights.reel" + (reel + 1));
+            if (isBlank(value)) {
+                weights[reel] = new int[symbolList.length];
+                Arrays.fill(weights[reel], 1); // Ohne Angabe: alle Symbole gleich wahrscheinlich
+            } else {
+                weights[reel] = parseInts(value);
+            }
+        }
+        return new ReelConfig(symbolList, paytable, weights);
+    }
+
+    // ===== SPIELKERN (allokationsfrei) =====
+
+    /**
+     * Dreht alle 3 Reels - O(1) pro Reel dank Alias Table
+     *
+     * @param random Zufallsquelle
+     * @return Der kodierte Spin (ein Byte pro Reel)
+     */
+    public int spin(SlotRandom random) {
+        return SpinEngine.encode(reels[0].sample(random), reels[1].sample(random), reels[2].sample(random));
+    }
+
+    /**
+     * Berechnet den Gewinn eines Spins
+     *
+     * Alle 3 gleich heisst: der Spin ist das erste Symbol mal 0x010101.
+     *
+     * @param spin Der kodierte Spin
+     * @return Gewinnbetrag in Coins (0 wenn nicht alle 3 Symbole gleich sind)
+     */
+    public int payout(int spin) {
+        int first = spin & 0xFF;
+        return spin == first * TRIPLE ? paytable[first] : 0;
+    }
+
+    /**
+     * Symbol, falls alle 3 Reels dasselbe zeigen
+     *
+     * @param spin Der kodierte Spin
+     * @return Symbol-Index oder -1, wenn nicht alle 3 Symbole gleich sind
+     */
+    public int tripleSymbol(int spin) {
+        int first = spin & 0xFF;
+        return spin == first * TRIPLE ? first : -1;
+    }
+
+    /**
+     * Übersetzt einen Spin in Emojis - nur für die JSON-Antwort
+     *
+     * @param spin Der kodierte Spin
+     * @return Die 3 Symbole für die Frontend-Anzeige
+     */
+    public List<String> toSymbols(int spin) {
+        return List.of(symbols[symbolAt(spin, 0)], symbols[symbolAt(spin, 1)], symbols[symbolAt(spin, 2)]);
+    }
+
+    // ===== AUSWERTUNG =====
+
+    /**
+     * Exakter RTP: Summe über alle Symbole von P(3x Symbol) * Gewinn / Einsatz
+     *
+     * @param stake Einsatz pro Spin
+     * @return Theoretischer RTP als Anteil (z.B. 0.5 = 50%)
+     */
+    public double theoreticalRtp(int stake) {
+        double expectedWin = 0;
+        for (int symbol = 0; symbol < symbols.length; symbol++) {
+            double probability = 1;
+            for (int reel = 0; reel < SpinEngine.REELS; reel++) {
+                probability *= (double) weights[reel][symbol] / Arrays.stream(weights[reel]).sum();
+            }
+            expectedWin += probability * paytable[symbol];
+        }
+        return expectedWin / stake;
+    }
+
+    /**
+     * @return Anzahl Symbole
+     */
+    public int symbolCount() {
+        return symbols.length;
+    }
+
+    /**
+     * @param index Symbol-Index
+     * @return Das Symbol (Emoji)
+     */
+    public String symbol(int index) {
+        return symbols[index];
+    }
+
+    /**
+     * @return Kopie der Symbole
+     */
+    public String[] symbols() {
+        return symbols.clone();
+    }
+
+    /**
+     * @return Kopie der Gewinntabelle
+     */
+    public int[] paytable() {
+        return paytable.clone();
+    }
+
+    /**
+     * @return Kopie der Gewichte ([Reel][Symbol])
+     */
+    public int[][] weights() {
+        int[][] copy = new int[weights.length][];
+        for (int reel = 0; reel < weights.length; reel++) {
+            copy[reel] = weights[reel].clone();
+        }
+        return copy;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String[] split(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).toArray(String[]::new);
+    }
+
+    private static int[] parseInts(String value) {
+        try {
+            return Arrays.stream(split(value)).mapToInt(Integer::parseInt).toArray();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number list: " + value);
+        }
+    }
+
+    private static int symbolAt(int spin, int reel) {
+        return SpinEngine.symbol(spin, reel) & 0xFF;
+    }
+}
@@ -0,0 +1,158 @@
+package ch.slotmachine.backend.game;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * RTP Simulator - Monte-Carlo-Simulation der Gewinntabelle
+ *
+ * Spielt sehr viele Spins mit der echten Spiellogik (ReelConfig) und misst:
+ * - RTP (Return to Player): ausgezahlte Coins / eingesetzte Coins
+ * - Trefferquote: Anteil Spins mit Gewinn
+ * - Varianz und Standardabweichung des Gewinns pro Spin
+ * - 95%-Konfidenzintervall für den RTP
+ *
+ * Die Spins werden in Blöcke aufgeteilt, die per Parallel Stream auf dem
+ * ForkJoin-Pool laufen. Jeder Block hat einen eigenen, vorab per split()
+ * abgeleiteten Zufallsgenerator - es gibt keinen geteilten Zustand, daher
+ * skaliert die Simulation nahezu linear mit der Anzahl Kerne.
+ */
+public class RtpSimulator {
+
+    /** Spins pro Block (eine ForkJoin-Aufgabe) */
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    /** z-Wert für ein 95%-Konfidenzintervall */
+    private static final double Z_95 = 1.959964;
+
+    private final int stake;
+
+    /**
+     * @param stake Einsatz pro Spin in Coins
+     */
+    public RtpSimulator(int stake) {
+        this.stake = stake;
+    }
+
+    /**
+     * Simuliert die gewünschte Anzahl Spins auf allen Kernen
+     *
+     * @param config Reels und Gewinntabelle
+     * @param spins Anzahl Spins (positiv)
+     * @param seed Startwert - gleicher Seed ergibt das gleiche Ergebnis
+     * @return Die Auswertung
+     */
+    public RtpReport simulate(ReelConfig config, long spins, long seed) {
+        if (spins <= 0) {
+            throw new IllegalArgumentException("Spins must be positive");
+        }
+        int chunks = (int) ((spins + CHUNK_SIZE - 1) / CHUNK_SIZE);
+
+        // Generatoren vorab und in fester Reihenfolge ableiten (reproduzierbar)
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) {
+            generators[i] = root.split();
+        }
+
+        long start = System.nanoTime();
+        Tally total = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    long size = Math.min(CHUNK_SIZE, spins - (long) chunk * CHUNK_SIZE);
+                    return runChunk(config, generators[chunk], size);
+                })
+                .reduce(new Tally(), Tally::merge);
+        long nanos = System.nanoTime() - start;
+
+        return total.toReport(stake, config.theoreticalRtp(stake), nanos);
+    }
+
+    /**
+     * Spielt einen Block Spins auf einem einzigen Thread
+     */
+    private static Tally runChunk(ReelConfig config, SplittableRandom generator, long spins) {
+        SlotRandom random = generator::nextInt;
+        Tally tally = new Tally();
+        long totalWin = 0;
+        long sumOfSquares = 0;
+        long hits = 0;
+        for (long i = 0; i < spins; i++) {
+            int win = config.payout(config.spin(random));
+            totalWin += win;
+            sumOfSquares += (long) win * win;
+            if (win > 0) {
+                hits++;
+            }
+        }
+        tally.spins = spins;
+        tally.totalWin = totalWin;
+        tally.sumOfSquares = sumOfSquares;
+        tally.hits = hits;
+        return tally;
+    }
+
+    /**
+     * Zwischensumme eines oder mehrerer Blöcke
+     */
+    private static final class Tally {
+        long spins;
+        long totalWin;
+        long sumOfSquares;
+        long hits;
+
+        Tally merge(Tally other) {
+            Tally merged = new Tally();
+            merged.spins = spins + other.spins;
+            merged.totalWin = totalWin + other.totalWin;
+            merged.sumOfSquares = sumOfSquares + other.sumOfSquares;
+            merged.hits = hits + other.hits;
+            return merged;
+        }
+
+        RtpReport toReport(int stake, double theoreticalRtp, long nanos) {
+            double meanWin = (double) totalWin / spins;
+            double variance = (double) sumOfSquares / spins - meanWin * meanWin;
+            double rtp = meanWin / stake;
+            double standardError = Math.sqrt(variance / spins) / stake;
+            double seconds = nanos / 1e9;
+            return new RtpReport(
+                    spins,
+                    rtp,
+                    theoreticalRtp,
+                    (double) hits / spins,
+                    variance,
+                    Math.sqrt(variance),
+                    rtp - Z_95 * standardError,
+                    rtp + Z_95 * standardError,
+                    Math.round(seconds * 1000),
+                    spins / seconds);
+        }
+    }
+
+    /**
+     * Ergebnis einer Simulation
+     *
+     * @param spins Anzahl simulierter Spins
+     * @param rtp Ausgezahlte / eingesetzte Coins
+     * @param theoreticalRtp Exakter RTP laut Gewichten und Gewinntabelle
+     * @param hitFrequency Anteil Spins mit Gewinn
+     * @param variance Varianz des Gewinns pro Spin (Coins²)
+     * @param standardDeviation Standardabweichung des Gewinns pro Spin (Coins)
+     * @param rtpLower95 Untere Grenze des 95%-Konfidenzintervalls für den RTP
+     * @param rtpUpper95 Obere Grenze des 95%-Konfidenzintervalls für den RTP
+     * @param durationMillis Laufzeit der Simulation
+     * @param spinsPerSecond Durchsatz über alle Kerne
+     */
+    public record RtpReport(long spins,
+                            double rtp,
+                            double theoreticalRtp,
+                            double hitFrequency,
+                            double variance,
+                            double standardDeviation,
+                            double rtpLower95,
+                            double rtpUpper95,
+                            long durationMillis,
+                            double spinsPerSecond) {
+    }
+}
@@ -0,0 +1,55 @@
+package ch.slotmachine.backend.game;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Kommandozeile für den RTP Simulator (ohne Spring-Start)
+ * 
+ * Aufruf nach ./mvnw compile:
+ *   java -cp target/classes ch.slotmachine.backend.game.RtpSimulatorCli [spins] [seed] [reel-datei]
+ * 
+ * Ohne Reel-Datei wird die klassische Konfiguration simuliert.
+ * 
+ * Beispiel: 1 Milliarde Spins
+ *   java -cp target/classes ch.slotmachine.backend.game.RtpSimulatorCli 1000000000
+ */
+public final class RtpSimulatorCli {
+
+    private RtpSimulatorCli() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        long spins = args.length > 0 ? Long.parseLong(args[0].replace("_", "")) : 100_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : ThreadLocalRandom.current().nextLong();
+
+        ReelConfig config = ReelConfig.classic();
+        if (args.length > 2) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(Path.of(args[2]), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            config = ReelConfig.fromProperties(properties::getProperty);
+        }
+
+        RtpSimulator simulator = new RtpSimulator(SpinEngine.STAKE);
+        System.out.printf("Simuliere %,d Spins auf %d Kernen (Seed %d)...%n",
+                spins, Runtime.getRuntime().availableProcessors(), seed);
+
+        RtpSimulator.RtpReport report = simulator.simulate(config, spins, seed);
+
+        System.out.printf("RTP:              %.4f%%  (95%%-KI %.4f%% - %.4f%%)%n",
+                report.rtp() * 100, report.rtpLower95() * 100, report.rtpUpper95() * 100);
+        System.out.printf("RTP theoretisch:  %.4f%%%n", report.theoreticalRtp() * 100);
+        System.out.printf("Trefferquote:     %.4f%%%n", report.hitFrequency() * 100);
+        System.out.printf("Varianz:          %.2f Coins²  (Std.-Abw. %.2f Coins)%n",
+                report.variance(), report.standardDeviation());
+        System.out.printf("Laufzeit:         %,d ms  (%,.0f Spins/s)%n",
+                report.durationMillis(), report.spinsPerSecond());
+    }
+}
@@ -0,0 +1,72 @@
+package ch.slotmachine.backend.game;
+
+import java.security.SecureRandom;
+
+import ch.slotmachine.backend.game.Stripes.Stripe;
+
+/**
+ * Secure Slot Random - Kryptographisch sicherer Zufall (Modus "secure")
+ * 
+ * SecureRandom ist pro Aufruf teuer. Deshalb holt jede Stripe (siehe
+ * Stripes) die Zufallsbytes blockweise in einen eigenen Puffer und bedient
+ * nextInt() daraus. SecureRandom und Puffer entstehen nur einmal pro Stripe,
+ * nicht pro Thread - mit Virtual Threads wäre das pro Request. Die Zahlen
+ * werden ohne Modulo-Verzerrung auf [0, bound) abgebildet.
+ */
+public class SecureSlotRandom implements SlotRandom {
+
+    /** Anzahl int-Werte, die pro SecureRandom-Aufruf geholt werden */
+    private static final int BUFFER_INTS = 1024;
+
+    private final Stripes<Buffer> buffers = new Stripes<>(Buffer::new);
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        Stripe<Buffer> stripe = buffers.lock();
+        try {
+            return nextInt(stripe.state, bound);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    private static int nextInt(Buffer buffer, int bound) {
+        // Lemire: 32-Bit-Zufallswert * bound, die oberen 32 Bit sind das Ergebnis.
+        // Werte im verzerrten Randbereich werden verworfen und neu gezogen.
+        long product = (buffer.nextInt() & 0xFFFFFFFFL) * bound;
+        long low = product & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (1L << 32) % bound;
+            while (low < threshold) {
+                product = (buffer.nextInt() & 0xFFFFFFFFL) * bound;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    /**
+     * Puffer einer Stripe mit eigenem SecureRandom
+     */
+    private static final class Buffer {
+        private final SecureRandom secureRandom = new SecureRandom();
+        private final byte[] bytes = new byte[BUFFER_INTS * Integer.BYTES];
+        private int position = bytes.length;
+
+        int nextInt() {
+            if (position == bytes.length) {
+                secureRandom.nextBytes(bytes);
+                position = 0;
+            }
+            int value = (bytes[position] & 0xFF) << 24
+                    | (bytes[position + 1] & 0xFF) << 16
+                    | (bytes[position + 2] & 0xFF) << 8
+                    | (bytes[position + 3] & 0xFF);
+            position += Integer.BYTES;
+            return value;
+        }
+    }
+}
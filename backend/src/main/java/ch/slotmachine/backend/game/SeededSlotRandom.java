@@ -0,0 +1,24 @@
+package ch.slotmachine.backend.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeded Slot Random - Deterministische Zufallsfolge (Modus "seeded")
+ * 
+ * Gleicher Seed = gleiche Symbolfolge. Damit lassen sich Spielverläufe
+ * in Tests exakt wiederholen. Alle Threads teilen sich eine Folge, der
+ * Zugriff ist daher synchronisiert - nicht für Produktion gedacht.
+ */
+public class SeededSlotRandom implements SlotRandom {
+
+    private final SplittableRandom random;
+
+    public SeededSlotRandom(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public synchronized int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+}
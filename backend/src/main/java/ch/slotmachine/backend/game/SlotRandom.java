@@ -0,0 +1,24 @@
+package ch.slotmachine.backend.game;
+
+/**
+ * Slot Random - Zufallsquelle für die Reels
+ * 
+ * Die Slot Machine braucht nur gleichverteilte Zahlen in [0, bound).
+ * Welche Implementierung verwendet wird, bestimmt slot.rng.mode
+ * (siehe RandomConfig):
+ * - fast: eigener SplittableGenerator-Stream pro Stripe (höchster Durchsatz)
+ * - secure: SecureRandom mit Puffer pro Stripe (für Compliance-Anforderungen)
+ * - seeded: deterministisch aus einem festen Seed (Replay-Tests)
+ * 
+ * Alle Implementierungen müssen von vielen Tomcat-Threads gleichzeitig
+ * benutzt werden können.
+ */
+@FunctionalInterface
+public interface SlotRandom {
+
+    /**
+     * @param bound Obere Grenze (exklusiv), muss positiv sein
+     * @return Gleichverteilte Zufallszahl zwischen 0 und bound - 1
+     */
+    int nextInt(int bound);
+}
@@ -0,0 +1,130 @@
+package ch.slotmachine.backend.game;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Spin Engine - Die reine Spiellogik der Slot Machine
+ *
+ * Symbole sind intern nur Byte-Indizes, ein ganzer Spin steckt in einem
+ * einzigen int (je 8 Bit pro Reel). Dadurch kommt ein Spin inklusive
+ * Gewinnberechnung ganz ohne Heap-Allokation aus - keine Strings, keine
+ * Listen, keine Maps. Erst an der JSON-Grenze werden die Indizes mit
+ * ReelConfig.toSymbols() in Emojis übersetzt.
+ *
+ * Aufbau eines Spins:  [ unbenutzt | Reel 3 | Reel 2 | Reel 1 ]
+ *                        Bit 24-31  16-23    8-15     0-7
+ *
+ * Reels und Gewinntabelle stecken in einer unveränderlichen ReelConfig.
+ * Sie kann zur Laufzeit ausgetauscht werden (siehe ReelConfigService),
+ * ohne laufende Spins anzuhalten.
+ *
+ * Der Mehrlinien-Modus (5 Reels x 3 Reihen, siehe LineConfig) läuft mit
+ * demselben Zufallsgenerator und wird genauso ausgetauscht.
+ */
+@Component
+public class SpinEngine {
+
+    /** Anzahl Reels */
+    public static final int REELS = 3;
+
+    /** Einsatz pro Spin in Coins */
+    public static final int STAKE = 10;
+
+    private final SlotRandom random;
+
+    /** Aktuelle Konfiguration - volatile, damit ein Reload sofort für alle Threads sichtbar ist */
+    private volatile ReelConfig config = ReelConfig.classic();
+
+    /** Aktuelle Konfiguration des Mehrlinien-Modus */
+    private volatile LineConfig lines = LineConfig.standard();
+
+    /**
+     * @param random Zufallsgenerator (siehe RandomConfig)
+     */
+    public SpinEngine(SlotRandom random) {
+        this.random = random;
+    }
+
+    // ===== SPIN =====
+
+    /**
+     * Snapshot der aktuellen Konfiguration
+     *
+     * Ein Spin sollte Ziehen, Gewinn und Emojis mit DEMSELBEN Snapshot
+     * berechnen, damit ein gleichzeitiger Reload nichts vermischt.
+     *
+     * @return Die aktuelle Konfiguration
+     */
+    public ReelConfig config() {
+        return config;
+    }
+
+    /**
+     * Dreht alle 3 Reels mit der angegebenen Konfiguration
+     *
+     * @param reels Snapshot aus config()
+     * @return Der kodierte Spin (ein Byte pro Reel)
+     */
+    public int spin(ReelConfig reels) {
+        return reels.spin(random);
+    }
+
+    /**
+     * Tauscht die Konfiguration atomar aus (Hot Reload)
+     *
+     * @param config Die neue, bereits validierte Konfiguration
+     */
+    public void update(ReelConfig config) {
+        this.config = config;
+    }
+
+    // ===== MEHRLINIEN-MODUS =====
+
+    /**
+     * Snapshot der Mehrlinien-Konfiguration (wie config())
+     *
+     * @return Die aktuelle Konfiguration
+     */
+    public LineConfig lines() {
+        return lines;
+    }
+
+    /**
+     * Füllt das 5x3-Spielfeld mit der angegebenen Konfiguration
+     *
+     * @param lines Snapshot aus lines()
+     * @return Das kodierte Spielfeld (4 Bit pro Zelle)
+     */
+    public long spin(LineConfig lines) {
+        return lines.spin(random);
+    }
+
+    /**
+     * Tauscht die Mehrlinien-Konfiguration atomar aus (Hot Reload)
+     *
+     * @param lines Die neue, bereits validierte Konfiguration
+     */
+    public void update(LineConfig lines) {
+        this.lines = lines;
+    }
+
+    // ===== KODIERUNG =====
+
+    /**
+     * Kodiert drei Symbol-Indizes in einen Spin
+     *
+     * @return Der kodierte Spin
+     */
+    public static int encode(int reel1, int reel2, int reel3) {
+        return reel1 | reel2 << 8 | reel3 << 16;
+    }
+
+    /**
+     * @param spin Der kodierte Spin
+     * @param reel Nummer des Reels (0-2)
+     * @return Symbol-Index auf diesem Reel
+     */
+    public static byte symbol(int spin, int reel) {
+        return (byte) (spin >>> (reel * 8));
+    }
+}
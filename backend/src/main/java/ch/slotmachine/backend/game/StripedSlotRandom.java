@@ -0,0 +1,37 @@
+package ch.slotmachine.backend.game;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+import ch.slotmachine.backend.game.Stripes.Stripe;
+
+/**
+ * Striped Slot Random - Unabhängige Zufallsstreams auf festen Stripes (Modus "fast")
+ * 
+ * java.util.Random teilt einen einzigen Seed zwischen allen Threads und
+ * aktualisiert ihn per CAS - unter Last ein Engpass. Hier wird der Root-
+ * Generator einmal beim Start per split() in einen Stream pro Stripe
+ * aufgeteilt (siehe Stripes). Ein Zug sperrt nur die eigene Stripe - bei
+ * Platform Threads wie bei Virtual Threads, die pro Request neu entstehen.
+ */
+public class StripedSlotRandom implements SlotRandom {
+
+    private static final String ALGORITHM = "L64X128MixRandom";
+
+    private final Stripes<RandomGenerator> generators;
+
+    public StripedSlotRandom() {
+        SplittableGenerator root = SplittableGenerator.of(ALGORITHM);
+        this.generators = new Stripes<>(root::split);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        Stripe<RandomGenerator> stripe = generators.lock();
+        try {
+            return stripe.state.nextInt(bound);
+        } finally {
+            stripe.unlock();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ch.slotmachine.backend.game;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Stripes - Fester Satz von Zuständen, auf die sich alle Threads verteilen
+ *
+ * ThreadLocal passt nicht zu Virtual Threads: dort bekommt jeder Request
+ * einen neuen Thread, und jeder neue Thread legt seinen Zustand neu an
+ * (Generator abspalten, SecureRandom erzeugen, Puffer füllen). Stattdessen
+ * gibt es hier eine feste Anzahl Stripes (Zweierpotenz, doppelt so viele
+ * wie Kerne), jede mit eigenem Zustand und eigenem Lock:
+ * - Ein Thread startet bei der Stripe, die sein Hash-Wert auswählt
+ * - Ist sie belegt, probiert er die nächsten (tryLock, ohne zu warten)
+ * - Erst wenn alle belegt sind, wartet er auf seine eigene
+ *
+ * ReentrantLock statt synchronized: ein wartender Virtual Thread gibt seinen
+ * Träger-Thread frei, statt ihn zu blockieren (kein Pinning).
+ *
+ * @param <T> Zustand pro Stripe (nur unter dem Lock der Stripe benutzen)
+ */
+final class Stripes<T> {
+
+    private final Stripe<T>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    Stripes(Supplier<T> factory) {
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(factory.get());
+        }
+        mask = count - 1;
+    }
+
+    /**
+     * Sperrt eine Stripe für den aktuellen Thread - Aufrufer gibt sie per
+     * unlock() im finally-Block wieder frei
+     */
+    Stripe<T> lock() {
+        int home = probe();
+        for (int i = 0; i <= mask; i++) {
+            Stripe<T> stripe = stripes[(home + i) & mask];
+            if (stripe.tryLock()) {
+                return stripe;
+            }
+        }
+        Stripe<T> stripe = stripes[home];
+        stripe.lock();
+        return stripe;
+    }
+
+    /**
+     * @return Anzahl Stripes
+     */
+    int size() {
+        return stripes.length;
+    }
+
+    /**
+     * Start-Stripe des aktuellen Threads - gestreuter Identity-Hash, damit
+     * aufeinanderfolgende Threads nicht alle bei derselben Stripe beginnen
+     */
+    private int probe() {
+        int hash = System.identityHashCode(Thread.currentThread()) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Eine Stripe - Lock und Zustand in einem Objekt
+     */
+    static final class Stripe<T> extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        final transient T state;
+
+        Stripe(T state) {
+            this.state = state;
+        }
+    }
+}
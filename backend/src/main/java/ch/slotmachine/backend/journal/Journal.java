@@ -0,0 +1,472 @@
+package ch.slotmachine.backend.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journal - Append-only Log in memory-mapped Dateien
+ *
+ * Aufbau eines Datensatzes (Big Endian):
+ *
+ *   [int Länge][int CRC32C][byte Typ][Nutzdaten ...]
+ *
+ * Länge = 1 + Anzahl Bytes Nutzdaten, die Prüfsumme läuft über Typ und
+ * Nutzdaten. Eine Länge von 0 markiert das Ende (neue Dateien sind mit
+ * Nullen gefüllt).
+ *
+ * Segmente:
+ * - Das Journal besteht aus Dateien journal-NNNNNNNNNN.log fester Grösse
+ * - Passt ein Datensatz nicht mehr ins aktuelle Segment, wird dieses
+ *   vollständig auf die Platte geschrieben und ein neues begonnen
+ * - roll() beginnt ein neues Segment auf Wunsch (z.B. für einen Snapshot),
+ *   deleteSegmentsBefore() löscht danach die alten
+ *
+ * Schreiben und fsync (Group Commit):
+ * - append() kopiert den Datensatz nur in den gemappten Speicher - das kostet
+ *   Nanosekunden, der Datensatz überlebt damit bereits einen Absturz des
+ *   Prozesses (der Kernel schreibt die Seiten trotzdem)
+ * - Gegen Stromausfall hilft nur force() (fsync). Das erledigt ein eigener
+ *   Thread: alle sync-interval-ms, oder sofort, sobald jemand in awaitSync()
+ *   wartet. Ein force() deckt alle bis dahin geschriebenen Datensätze ab -
+ *   viele gleichzeitige Aufrufer teilen sich so einen einzigen fsync
+ *
+ * Wiederherstellung (open):
+ * - Alle Segmente ab dem gewünschten werden der Reihe nach gelesen
+ * - Ein Datensatz mit falscher Länge oder Prüfsumme am Ende des letzten
+ *   Segments ist ein halb geschriebener Datensatz (Absturz) - er und alles
+ *   dahinter wird verworfen und mit Nullen überschrieben
+ * - Derselbe Fehler in einem älteren Segment ist echte Beschädigung: open
+ *   bricht ab, statt stillschweigend Daten zu verlieren
+ *
+ * Positionen sind (Segment << 32) | Offset und steigen monoton.
+ */
+public final class Journal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(Journal.class);
+
+    /** Wird beim Wiederherstellen pro gültigem Datensatz aufgerufen */
+    @FunctionalInterface
+    public interface RecordHandler {
+
+        /**
+         * @param type Typ des Datensatzes
+         * @param payload Nutzdaten (nur während des Aufrufs gültig)
+         */
+        void accept(byte type, ByteBuffer payload);
+    }
+
+    /** Länge + Prüfsumme */
+    static final int HEADER_BYTES = 8;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{10})\\.log");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long syncIntervalNanos;
+
+    /** Schützt Schreibposition und Segmentwechsel */
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C(); // nur unter appendLock
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition syncRequested = syncLock.newCondition();
+    private final Condition syncDone = syncLock.newCondition();
+    private int waiters; // nur unter syncLock
+
+    private long segment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    private volatile long written;
+    private volatile long synced;
+    private volatile long syncs;
+    private volatile IOException syncFailure;
+    private volatile boolean closed;
+    private Thread syncer;
+
+    private Journal(Path directory, int segmentSize, long syncIntervalMs) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, syncIntervalMs));
+    }
+
+    // ===== ÖFFNEN UND WIEDERHERSTELLEN =====
+
+    /**
+     * Öffnet das Journal, spielt alle Datensätze ab firstSegment ab und
+     * startet den Sync-Thread
+     *
+     * @param directory Verzeichnis der Segmente (wird angelegt)
+     * @param segmentSize Grösse eines Segments in Bytes
+     * @param syncIntervalMs Maximaler Abstand zwischen zwei fsync
+     * @param firstSegment Erstes benötigtes Segment (ältere sind im Snapshot und werden gelöscht)
+     * @param handler Erhält jeden gültigen Datensatz in Schreibreihenfolge
+     * @return Das offene Journal - neue Datensätze folgen direkt auf den letzten gültigen
+     * @throws IOException wenn ein Segment nicht lesbar oder beschädigt ist
+     */
+    public static Journal open(Path directory, int segmentSize, long syncIntervalMs,
+                               long firstSegment, RecordHandler handler) throws IOException {
+        if (segmentSize < 64) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        List<Long> segments = new ArrayList<>();
+        for (long number : listSegments(directory)) {
+            if (number < firstSegment) {
+                Files.deleteIfExists(segmentPath(directory, number)); // Schon im Snapshot enthalten
+            } else {
+                segments.add(number);
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(firstSegment);
+        }
+
+        Journal journal = new Journal(directory, segmentSize, syncIntervalMs);
+        for (int i = 0; i < segments.size() - 1; i++) {
+            long number = segments.get(i);
+            try (FileChannel older = FileChannel.open(segmentPath(directory, number), StandardOpenOption.READ)) {
+                MappedByteBuffer data = older.map(FileChannel.MapMode.READ_ONLY, 0, older.size());
+                int end = replay(data, handler);
+                if (end < 0) {
+                    throw new IOException("Journal segment " + number + " is corrupt at offset " + (-end - 1));
+                }
+            }
+        }
+
+        long last = segments.get(segments.size() - 1);
+        journal.openSegment(last);
+        int end = replay(journal.buffer, handler);
+        if (end < 0) {
+            end = -end - 1;
+            log.warn("Journal segment {}: incomplete record at offset {} discarded", last, end);
+        }
+        clearFrom(journal.buffer, end); // Auch Reste nach einer sauberen Endmarke
+        journal.buffer.position(end);
+        journal.written = position(last, end);
+        journal.synced = journal.written;
+
+        journal.syncer = new Thread(journal::syncLoop, "journal-sync");
+        journal.syncer.setDaemon(true);
+        journal.syncer.start();
+        return journal;
+    }
+
+    /**
+     * Liest alle gültigen Datensätze ab Offset 0
+     *
+     * @return Offset hinter dem letzten gültigen Datensatz, oder -(Offset + 1),
+     *         wenn dort ein unvollständiger oder beschädigter Datensatz steht
+     */
+    private static int replay(ByteBuffer data, RecordHandler handler) {
+        CRC32C checksum = new CRC32C();
+        int offset = 0;
+        while (offset + HEADER_BYTES <= data.capacity()) {
+            int length = data.getInt(offset);
+            if (length == 0) {
+                return offset; // Endmarke
+            }
+            if (length < 1 || length > data.capacity() - offset - HEADER_BYTES) {
+                return -offset - 1;
+            }
+            ByteBuffer body = data.slice(offset + HEADER_BYTES, length);
+            checksum.reset();
+            checksum.update(body.duplicate());
+            if ((int) checksum.getValue() != data.getInt(offset + 4)) {
+                return -offset - 1;
+            }
+            handler.accept(body.get(0), body.slice(1, length - 1).asReadOnlyBuffer());
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    /** Überschreibt alles ab offset mit Nullen (nur Seiten, die nicht schon leer sind) */
+    private static void clearFrom(MappedByteBuffer data, int offset) {
+        for (int i = offset; i < data.capacity(); i++) {
+            if (data.get(i) != 0) {
+                data.put(i, (byte) 0);
+            }
+        }
+    }
+
+    // ===== SCHREIBEN =====
+
+    /**
+     * Hängt einen Datensatz an (ohne auf fsync zu warten)
+     *
+     * @param type Typ des Datensatzes
+     * @param payload Nutzdaten von position() bis limit()
+     * @return Position hinter dem Datensatz (für awaitSync)
+     * @throws IOException wenn kein neues Segment angelegt werden kann
+     */
+    public long append(byte type, ByteBuffer payload) throws IOException {
+        int length = 1 + payload.remaining();
+        if (HEADER_BYTES + length > segmentSize) {
+            throw new IllegalArgumentException("Record too large: " + length + " bytes");
+        }
+        appendLock.lock();
+        try {
+            ensureOpen();
+            if (buffer.position() + HEADER_BYTES + length > buffer.capacity()) {
+                rollLocked();
+            }
+            crc.reset();
+            crc.update(type);
+            crc.update(payload.duplicate());
+            // Länge zuletzt: erst damit wird der Datensatz beim Lesen sichtbar
+            int offset = buffer.position();
+            buffer.position(offset + 4);
+            buffer.putInt((int) crc.getValue()).put(type).put(payload);
+            buffer.putInt(offset, length);
+            written = position(segment, buffer.position());
+            return written;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Wartet, bis alle Datensätze bis zur Position auf der Platte sind
+     *
+     * Weckt den Sync-Thread sofort. Alle, die während eines fsync dazukommen,
+     * werden vom nächsten gemeinsam bedient (Group Commit).
+     *
+     * @param position Rückgabewert von append()
+     * @throws UncheckedIOException wenn fsync fehlschlägt oder das Journal geschlossen wurde
+     */
+    public void awaitSync(long position) {
+        if (synced >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            waiters++;
+            syncRequested.signal();
+            while (synced < position && syncFailure == null && !closed) {
+                syncDone.awaitUninterruptibly();
+            }
+            waiters--;
+        } finally {
+            syncLock.unlock();
+        }
+        if (synced < position) {
+            throw new UncheckedIOException("Journal sync failed",
+                    syncFailure != null ? syncFailure : new IOException("Journal closed"));
+        }
+    }
+
+    /**
+     * Beginnt ein neues Segment - alle bisherigen Datensätze sind danach auf der Platte
+     *
+     * @return Nummer des neuen Segments
+     * @throws IOException wenn das neue Segment nicht angelegt werden kann
+     */
+    public long roll() throws IOException {
+        appendLock.lock();
+        try {
+            ensureOpen();
+            rollLocked();
+            return segment;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void rollLocked() throws IOException {
+        buffer.force();
+        channel.close(); // Das Mapping bleibt gültig, bis der Buffer eingesammelt wird
+        openSegment(segment + 1);
+        written = position(segment, 0);
+        markSynced(written);
+    }
+
+    /**
+     * Löscht Segmente, deren Inhalt in einem Snapshot steckt
+     *
+     * Schlägt das Löschen fehl (z.B. unter Windows, solange die Datei noch
+     * gemappt ist), wird es beim nächsten Snapshot oder Start nachgeholt.
+     *
+     * @param firstSegment Erstes Segment, das erhalten bleibt
+     */
+    public void deleteSegmentsBefore(long firstSegment) {
+        try {
+            for (long number : listSegments(directory)) {
+                if (number < firstSegment) {
+                    Files.deleteIfExists(segmentPath(directory, number));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete old journal segments: {}", e.getMessage());
+        }
+    }
+
+    // ===== FSYNC =====
+
+    private void syncLoop() {
+        while (!closed) {
+            syncLock.lock();
+            try {
+                if (waiters == 0 && !closed) {
+                    syncRequested.awaitNanos(syncIntervalNanos);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                syncLock.unlock();
+            }
+            try {
+                sync();
+            } catch (IOException e) {
+                log.error("Journal sync failed", e);
+                syncFailure = e;
+                markSynced(synced); // Wartende wecken - sie melden den Fehler
+            }
+        }
+    }
+
+    /**
+     * Schreibt alle bisher angehängten Datensätze auf die Platte
+     *
+     * @throws IOException wenn fsync fehlschlägt
+     */
+    public void sync() throws IOException {
+        MappedByteBuffer target;
+        long upTo;
+        appendLock.lock();
+        try {
+            target = buffer;
+            upTo = written;
+        } finally {
+            appendLock.unlock();
+        }
+        long from = synced;
+        if (upTo <= from) {
+            return;
+        }
+        // Ältere Segmente hat der Segmentwechsel bereits geschrieben
+        int start = segmentOf(from) == segmentOf(upTo) ? offsetOf(from) : 0;
+        target.force(start, offsetOf(upTo) - start);
+        syncs++;
+        markSynced(upTo);
+    }
+
+    private void markSynced(long position) {
+        syncLock.lock();
+        try {
+            if (position > synced) {
+                synced = position;
+            }
+            syncDone.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // ===== STATUS =====
+
+    /**
+     * @return Position hinter dem letzten angehängten Datensatz
+     */
+    public long position() {
+        return written;
+    }
+
+    /**
+     * @return Anzahl fsync seit dem Öffnen (ohne Segmentwechsel)
+     */
+    public long syncCount() {
+        return syncs;
+    }
+
+    /**
+     * Schreibt alles auf die Platte und schliesst das Journal
+     */
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        syncLock.lock();
+        try {
+            syncRequested.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+        try {
+            syncer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        buffer.force();
+        markSynced(written);
+        channel.close();
+    }
+
+    // ===== SEGMENTE =====
+
+    private void openSegment(long number) throws IOException {
+        Path path = segmentPath(directory, number);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Eine abgeschnittene Datei wird wieder auf volle Grösse gebracht (mit Nullen)
+        long size = Math.max(channel.size(), segmentSize);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segment = number;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+    }
+
+    static Path segmentPath(Path directory, long number) {
+        return directory.resolve(String.format("journal-%010d.log", number));
+    }
+
+    private static List<Long> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long position(long segment, int offset) {
+        return (segment << 32) | offset;
+    }
+
+    private static long segmentOf(long position) {
+        return position >>> 32;
+    }
+
+    private static int offsetOf(long position) {
+        return (int) position;
+    }
+}
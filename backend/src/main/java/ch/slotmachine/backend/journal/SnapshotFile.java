@@ -0,0 +1,184 @@
+package ch.slotmachine.backend.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.slotmachine.backend.model.PlayerSnapshot;
+
+/**
+ * Snapshot File - Zustand aller Spieler zu Beginn eines Journal-Segments
+ *
+ * Aufbau (DataOutputStream, Big Endian):
+ *
+ *   [int MAGIC][int VERSION][long Segment][long nächste ID][int Anzahl]
+ *   Anzahl x [long id][int coins][UTF name]
+ *   [int CRC32C über alles davor]
+ *
+ * Beim Start wird der neueste Snapshot geladen und nur das Journal ab seinem
+ * Segment abgespielt. Geschrieben wird in eine temporäre Datei, die erst nach
+ * fsync per atomarem Umbenennen sichtbar wird - ein Absturz hinterlässt nie
+ * einen halben Snapshot unter dem richtigen Namen. Ist der neueste trotzdem
+ * unlesbar, wird der nächstältere versucht.
+ */
+public final class SnapshotFile {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotFile.class);
+
+    private static final int MAGIC = 0x534C4F54; // "SLOT"
+    private static final int VERSION = 1;
+
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{10})\\.snap");
+
+    /**
+     * Inhalt eines Snapshots
+     *
+     * @param segment Erstes Journal-Segment, das nach dem Snapshot abgespielt werden muss
+     * @param nextId Nächste freie Spieler-ID
+     * @param players Alle Spieler, aufsteigend nach ID
+     */
+    public record Contents(long segment, long nextId, List<PlayerSnapshot> players) {
+    }
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Schreibt einen Snapshot (temporäre Datei, fsync, atomar umbenennen)
+     *
+     * @param directory Verzeichnis des Journals
+     * @param segment Erstes Segment nach dem Snapshot
+     * @param nextId Nächste freie Spieler-ID
+     * @param players Alle Spieler
+     * @return Pfad des Snapshots
+     * @throws IOException wenn das Schreiben fehlschlägt (ein älterer Snapshot bleibt gültig)
+     */
+    public static Path write(Path directory, long segment, long nextId, Collection<PlayerSnapshot> players)
+            throws IOException {
+        Path target = path(directory, segment);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32C checksum = new CRC32C();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), checksum), 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(segment);
+            out.writeLong(nextId);
+            out.writeInt(players.size());
+            for (PlayerSnapshot player : players) {
+                out.writeLong(player.id());
+                out.writeInt(player.coins());
+                out.writeUTF(player.name());
+            }
+            out.flush();
+            // Die Prüfsumme selbst gehört nicht zur Prüfsumme - direkt in den Kanal
+            new DataOutputStream(Channels.newOutputStream(channel)).writeInt((int) checksum.getValue());
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return target;
+    }
+
+    /**
+     * Lädt den neuesten lesbaren Snapshot
+     *
+     * @param directory Verzeichnis des Journals
+     * @return Der Snapshot oder leer, wenn es keinen (lesbaren) gibt
+     * @throws IOException wenn das Verzeichnis nicht lesbar ist
+     */
+    public static Optional<Contents> readLatest(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+        List<Long> segments = list(directory);
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Path file = path(directory, segments.get(i));
+            try {
+                return Optional.of(read(file));
+            } catch (IOException e) {
+                log.warn("Skipping unreadable snapshot {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Contents read(Path file) throws IOException {
+        CRC32C checksum = new CRC32C();
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(raw, checksum));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a snapshot file");
+            }
+            long segment = in.readLong();
+            long nextId = in.readLong();
+            int count = in.readInt();
+            List<PlayerSnapshot> players = new ArrayList<>(Math.min(count, 1 << 20));
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                int coins = in.readInt();
+                players.add(new PlayerSnapshot(id, in.readUTF(), coins));
+            }
+            int expected = (int) checksum.getValue();
+            if (new DataInputStream(raw).readInt() != expected) {
+                throw new IOException("Checksum mismatch");
+            }
+            return new Contents(segment, nextId, players);
+        }
+    }
+
+    /**
+     * Löscht Snapshots, die von einem neueren abgelöst sind
+     *
+     * @param directory Verzeichnis des Journals
+     * @param segment Segment des neuesten Snapshots (bleibt erhalten)
+     */
+    public static void deleteOlderThan(Path directory, long segment) {
+        try {
+            for (long older : list(directory)) {
+                if (older < segment) {
+                    Files.deleteIfExists(path(directory, older));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete old snapshots: {}", e.getMessage());
+        }
+    }
+
+    static Path path(Path directory, long segment) {
+        return directory.resolve(String.format("snapshot-%010d.snap", segment));
+    }
+
+    private static List<Long> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SNAPSHOT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ch.slotmachine.backend.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Jackpot Entity - Gesicherter Stand des progressiven Jackpots
+ *
+ * Eine einzige Zeile (id = 1), geteilt von allen Instanzen. Geändert wird
+ * sie nur relativ per UPDATE (siehe JackpotRepository): Einzahlungen
+ * periodisch als Differenz, Gewinne per bedingtem UPDATE.
+ */
+@Entity
+@Table(name = "jackpot")
+public class Jackpot {
+
+    /** ID der einzigen Zeile */
+    public static final long ID = 1L;
+
+    // ===== EIGENSCHAFTEN (werden zu Datenbank-Spalten) =====
+
+    @Id
+    private Long id;
+
+    @Column(name = "pool_millis", nullable = false) // Stand in Tausendstel-Coins
+    private long poolMillis;
+
+    @Column(nullable = false) // Anzahl ausgezahlter Jackpots
+    private long wins;
+
+    @Column(name = "last_win_at") // null = noch nie gewonnen
+    private Instant lastWinAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // ===== KONSTRUKTOREN =====
+
+    /**
+     * Standard-Konstruktor (wird von JPA benötigt)
+     */
+    public Jackpot() {
+    }
+
+    /**
+     * @param poolMillis Stand in Tausendstel-Coins
+     * @param wins Anzahl ausgezahlter Jackpots
+     * @param lastWinAt Zeitpunkt des letzten Gewinns (oder null)
+     */
+    public Jackpot(long poolMillis, long wins, Instant lastWinAt) {
+        this.id = ID;
+        this.poolMillis = poolMillis;
+        this.wins = wins;
+        this.lastWinAt = lastWinAt;
+        this.updatedAt = Instant.now();
+    }
+
+    // ===== GETTER =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getPoolMillis() {
+        return poolMillis;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public Instant getLastWinAt() {
+        return lastWinAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
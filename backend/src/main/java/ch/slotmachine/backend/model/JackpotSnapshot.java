@@ -0,0 +1,17 @@
+package ch.slotmachine.backend.model;
+
+import java.time.Instant;
+
+/**
+ * Jackpot Snapshot - Unveränderliche Momentaufnahme der Jackpot-Zeile
+ *
+ * Gelesen per Konstruktor-Abfrage, also immer aus der Datenbank: eine
+ * Jackpot-Entity im Persistence Context des Requests (Open Session in View)
+ * würde von den UPDATE-Abfragen im JackpotRepository nicht aktualisiert.
+ *
+ * @param poolMillis Stand in Tausendstel-Coins
+ * @param wins Anzahl ausgezahlter Jackpots
+ * @param lastWinAt Zeitpunkt des letzten Gewinns (oder null)
+ */
+public record JackpotSnapshot(long poolMillis, long wins, Instant lastWinAt) {
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 /**
@@ -14,7 +15,8 @@ import jakarta.persistence.Table;
  * Jeder Spieler hat eine eindeutige ID, einen Namen und Coins zum Spielen.
  */
 @Entity // JPA Annotation - macht diese Klasse zu einer Datenbank-Tabelle
-@Table(name = "player") // Expliziter Tabellenname (optional)
+@Table(name = "player", // Expliziter Tabellenname (optional)
+       indexes = @Index(name = "idx_player_coins_id", columnList = "coins, id")) // Sortierung nach Coins (Pagination)
 public class Player {
 
     // ===== EIGENSCHAFTEN (werden zu Datenbank-Spalten) =====
@@ -46,6 +48,13 @@ public class Player {
         this.coins = coins;
     }
 
+    /** Spieler mit bekannter ID (nicht aus der Datenbank, z.B. JournalPlayerStore) */
+    public Player(Long id, String name, int coins) {
+        this.id = id;
+        this.name = name;
+        this.coins = coins;
+    }
+
     // ===== GETTER UND SETTER (für JSON-Serialisierung erforderlich) =====
     
     /**
@@ -0,0 +1,23 @@
+package ch.slotmachine.backend.model;
+
+/**
+ * Player Snapshot - Unveränderliche Momentaufnahme eines Spielers
+ * 
+ * Wird im PlayerCache gehalten. Im Gegensatz zur Player-Entity gehört ein
+ * Snapshot zu keinem Persistence Context und kann gefahrlos zwischen Threads
+ * geteilt werden. Das JSON ist identisch mit dem eines Players.
+ * 
+ * @param id ID des Spielers
+ * @param name Name des Spielers
+ * @param coins Kontostand zum Zeitpunkt des Snapshots
+ */
+public record PlayerSnapshot(Long id, String name, int coins) {
+
+    /**
+     * @param coins Neuer Kontostand
+     * @return Kopie mit geändertem Kontostand
+     */
+    public PlayerSnapshot withCoins(int coins) {
+        return new PlayerSnapshot(id, name, coins);
+    }
+}
@@ -0,0 +1,78 @@
+package ch.slotmachine.backend.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import ch.slotmachine.backend.game.LineConfig;
+
+/**
+ * Pull Response - Antworten von POST /slot/pull (unveränderliche Records)
+ *
+ * Statt einer HashMap pro Spin baut der SlotController eines dieser Records.
+ * Jackson kennt die Felder nach dem ersten Aufruf und schreibt sie in fester
+ * Reihenfolge - ohne Map-Einträge, Boxing oder Hash-Berechnung. Das JSON ist
+ * dasselbe wie vorher.
+ *
+ * Mit "Accept: application/cbor" kommt dieselbe Struktur binär kodiert (CBOR).
+ */
+public sealed interface PullResponse permits PullResponse.Spin, PullResponse.Batch, PullResponse.Lines {
+
+    /**
+     * Ergebnis eines einzelnen Pulls
+     *
+     * @param slots Die 3 Symbole für die Frontend-Anzeige
+     * @param win Gewonnen ja/nein
+     * @param winAmount Gewinnbetrag inkl. Jackpot (0 wenn kein Gewinn)
+     * @param coins Kontostand nach dem Spin
+     * @param jackpot Davon aus dem progressiven Jackpot - fehlt im JSON, wenn 0
+     */
+    record Spin(List<String> slots, boolean win, int winAmount, int coins,
+                @JsonInclude(JsonInclude.Include.NON_DEFAULT) int jackpot) implements PullResponse {
+
+        /** Spin ohne Jackpot */
+        public Spin(List<String> slots, boolean win, int winAmount, int coins) {
+            this(slots, win, winAmount, coins, 0);
+        }
+    }
+
+    /**
+     * Ein Spin innerhalb eines Batches
+     *
+     * @param slots Die 3 Symbole
+     * @param winAmount Gewinnbetrag inkl. Jackpot (0 wenn kein Gewinn)
+     * @param jackpot Davon aus dem progressiven Jackpot - fehlt im JSON, wenn 0
+     */
+    record BatchSpin(List<String> slots, int winAmount, @JsonInclude(JsonInclude.Include.NON_DEFAULT) int jackpot) {
+
+        /** Spin ohne Jackpot */
+        public BatchSpin(List<String> slots, int winAmount) {
+            this(slots, winAmount, 0);
+        }
+    }
+
+    /**
+     * Ergebnis eines Batch-Pulls
+     *
+     * @param spins Alle Spins in Reihenfolge
+     * @param count Tatsächlich gespielte Spins (evtl. weniger als verlangt)
+     * @param totalWin Summe aller Gewinne
+     * @param coins Kontostand nach allen Spins
+     */
+    record Batch(List<BatchSpin> spins, int count, int totalWin, int coins) implements PullResponse {
+    }
+
+    /**
+     * Ergebnis eines Pulls im Mehrlinien-Modus (5 Reels x 3 Reihen)
+     *
+     * @param rows Die 3 Reihen mit je 5 Symbolen (oben nach unten)
+     * @param lines Gewinnende Linien (Nummer, Symbol, Anzahl, Gewinn)
+     * @param stake Einsatz (Anzahl Linien x 1 Coin)
+     * @param win Gewonnen ja/nein
+     * @param winAmount Summe aller Liniengewinne
+     * @param coins Kontostand nach dem Spin
+     */
+    record Lines(List<List<String>> rows, List<LineConfig.LineWin> lines, int stake, boolean win, int winAmount,
+                 int coins) implements PullResponse {
+    }
+}
@@ -0,0 +1,109 @@
+package ch.slotmachine.backend.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Spin Record Entity - Ein gespielter Spin im Spielverlauf
+ * 
+ * Jeder Pull wird mit Symbolen, Einsatz, Gewinn und dem Kontostand danach
+ * festgehalten (Streitfälle, Auswertungen). Die Einträge werden nur
+ * geschrieben, nie geändert.
+ * 
+ * Der Index auf (player_id, id) erlaubt Keyset-Pagination: "die nächsten 50
+ * Spins eines Spielers vor ID X" ist ein kurzer Index-Scan, egal wie viele
+ * Millionen Spins der Spieler schon hat.
+ */
+@Entity
+@Table(name = "spin_record", indexes = @Index(name = "idx_spin_record_player_id", columnList = "player_id, id"))
+public class SpinRecord {
+
+    // ===== EIGENSCHAFTEN (werden zu Datenbank-Spalten) =====
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "player_id", nullable = false) // Kein Fremdschlüssel - der Verlauf bleibt nach dem Löschen erhalten
+    private Long playerId;
+
+    @Column(nullable = false) // 3 Symbole (z.B. "🍒,🍒,💎") oder 15 im Linien-Modus (Reihe für Reihe)
+    private String symbols;
+
+    @Column(nullable = false)
+    private int stake;
+
+    @Column(nullable = false)
+    private int win;
+
+    @Column(nullable = false) // Kontostand nach dem Spin
+    private int coins;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // ===== KONSTRUKTOREN =====
+
+    /**
+     * Standard-Konstruktor (für JPA erforderlich)
+     */
+    public SpinRecord() {}
+
+    // ===== GETTER (nur lesend - geschrieben wird per JDBC-Batch, siehe SpinHistoryRecorder) =====
+
+    /**
+     * @return Fortlaufende ID (auch Cursor für die Pagination)
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return ID des Spielers
+     */
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * @return Die Symbole (3 klassisch, 15 im Linien-Modus), kommagetrennt
+     */
+    public String getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * @return Einsatz in Coins
+     */
+    public int getStake() {
+        return stake;
+    }
+
+    /**
+     * @return Gewinn in Coins (0 wenn kein Gewinn)
+     */
+    public int getWin() {
+        return win;
+    }
+
+    /**
+     * @return Kontostand nach dem Spin
+     */
+    public int getCoins() {
+        return coins;
+    }
+
+    /**
+     * @return Zeitpunkt des Spins
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
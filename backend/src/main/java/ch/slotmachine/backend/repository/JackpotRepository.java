@@ -0,0 +1,90 @@
+package ch.slotmachine.backend.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import ch.slotmachine.backend.model.Jackpot;
+import ch.slotmachine.backend.model.JackpotSnapshot;
+
+/**
+ * Jackpot Repository - Gemeinsamer Jackpot-Stand aller Instanzen (eine Zeile, id = 1)
+ *
+ * Die Zeile wird nie als Ganzes überschrieben, sondern nur per UPDATE
+ * verändert - so können mehrere Instanzen gleichzeitig einzahlen, ohne
+ * sich gegenseitig Beträge zu überschreiben. Gelesen wird sie nur per
+ * findSnapshot(), nie als Entity: die UPDATE-Abfragen gehen am Persistence
+ * Context vorbei, eine dort gehaltene Entity bliebe auf dem alten Stand.
+ */
+@Repository
+public interface JackpotRepository extends JpaRepository<Jackpot, Long> {
+
+    /**
+     * Liest die Zeile als Snapshot - immer direkt aus der Datenbank,
+     * auch wenn der Persistence Context die Entity schon kennt
+     *
+     * @return Snapshot oder leer, wenn die Zeile noch nicht angelegt ist
+     */
+    @Query("SELECT new ch.slotmachine.backend.model.JackpotSnapshot(j.poolMillis, j.wins, j.lastWinAt) FROM Jackpot j WHERE j.id = 1")
+    Optional<JackpotSnapshot> findSnapshot();
+
+    /**
+     * Legt die Zeile mit dem Startwert an
+     *
+     * Kein save(): das wäre ein Merge und würde eine gleichzeitig von einer
+     * anderen Instanz angelegte Zeile überschreiben. Existiert sie schon,
+     * scheitert der INSERT (DataIntegrityViolationException).
+     *
+     * @param poolMillis Startwert in Tausendstel-Coins
+     * @param now Zeitpunkt der Änderung
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO jackpot (id, pool_millis, wins, updated_at) VALUES (1, :pool, 0, :now)",
+            nativeQuery = true)
+    void insertSeed(@Param("pool") long poolMillis, @Param("now") Instant now);
+
+    /**
+     * Zahlt einen Betrag ein (oder bei negativem Betrag aus) - relativ zum
+     * aktuellen Stand in der Datenbank, nicht zum Stand dieser Instanz
+     *
+     * @param millis Differenz in Tausendstel-Coins
+     * @param now Zeitpunkt der Änderung
+     * @return 1 wenn verbucht, 0 wenn die Zeile fehlt
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Jackpot j SET j.poolMillis = j.poolMillis + :millis, j.updatedAt = :now WHERE j.id = 1")
+    int addToPool(@Param("millis") long millis, @Param("now") Instant now);
+
+    /**
+     * Setzt den Pool nur, wenn er noch dem erwarteten Wert entspricht -
+     * die Reservierung eines Gewinns über alle Instanzen hinweg
+     *
+     * @param expected Gelesener Stand
+     * @param poolMillis Neuer Stand
+     * @param now Zeitpunkt der Änderung
+     * @return 1 wenn gesetzt, 0 wenn eine andere Instanz den Stand inzwischen geändert hat
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Jackpot j SET j.poolMillis = :pool, j.updatedAt = :now WHERE j.id = 1 AND j.poolMillis = :expected")
+    int compareAndSetPool(@Param("expected") long expected, @Param("pool") long poolMillis, @Param("now") Instant now);
+
+    /**
+     * Zählt einen ausgezahlten Jackpot
+     *
+     * @param now Zeitpunkt des Gewinns
+     * @return 1 wenn gezählt, 0 wenn die Zeile fehlt
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Jackpot j SET j.wins = j.wins + 1, j.lastWinAt = :now, j.updatedAt = :now WHERE j.id = 1")
+    int recordWin(@Param("now") Instant now);
+}
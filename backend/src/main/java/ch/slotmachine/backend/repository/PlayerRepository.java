@@ -1,9 +1,18 @@
 package ch.slotmachine.backend.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.model.PlayerSnapshot;
 
 /**
  * Player Repository - Datenzugriff für Player Entity
@@ -36,8 +45,126 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
     // count() -> long
     // existsById(Long id) -> boolean
     
-    // ===== CUSTOM QUERIES (falls benötigt) =====
-    
+    // ===== CUSTOM QUERIES =====
+
+    /**
+     * Verrechnet einen Spin (Einsatz und Gewinn) in einem einzigen UPDATE.
+     * 
+     * Die Bedingung "coins >= stake" wird von der Datenbank atomar geprüft,
+     * dadurch können sich parallele Pulls desselben Spielers nicht gegenseitig
+     * überschreiben (kein Lost Update wie bei findById + save).
+     * 
+     * @param id ID des Spielers
+     * @param stake Einsatz, der abgezogen wird
+     * @param win Gewinn, der gutgeschrieben wird
+     * @return 1 wenn verrechnet, 0 wenn Spieler fehlt oder zu wenig Coins hat
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Player p SET p.coins = p.coins - :stake + :win WHERE p.id = :id AND p.coins >= :stake")
+    int settleSpin(@Param("id") Long id, @Param("stake") int stake, @Param("win") int win);
+
+    /**
+     * Setzt den Kontostand direkt per UPDATE (z.B. Aufladen)
+     * 
+     * @param id ID des Spielers
+     * @param coins Neuer Kontostand
+     * @return 1 wenn gesetzt, 0 wenn der Spieler nicht existiert
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Player p SET p.coins = :coins WHERE p.id = :id")
+    int updateCoins(@Param("id") Long id, @Param("coins") int coins);
+
+    /**
+     * Massen-Aufladung: alle Spieler unter einer Grenze in einem einzigen UPDATE
+     * 
+     * Statt N mal findById + save schreibt die Datenbank alle Zeilen in einem
+     * Durchgang (Bereichssuche über den Index (coins, id)).
+     * 
+     * @param threshold Nur Spieler mit coins < threshold
+     * @param coins Neuer Kontostand
+     * @return Anzahl geänderter Spieler
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Player p SET p.coins = :coins WHERE p.coins < :threshold")
+    int rechargeBelow(@Param("threshold") int threshold, @Param("coins") int coins);
+
+    /**
+     * Setzt den Kontostand nur, wenn er noch dem erwarteten Wert entspricht
+     * (Compare-and-Set in SQL)
+     * 
+     * Damit kann ein Spin mit dem Kontostand aus dem PlayerCache verrechnet
+     * werden, ohne ihn danach neu zu lesen: stimmt der Cache nicht mehr,
+     * ändert das UPDATE einfach keine Zeile.
+     * 
+     * @param id ID des Spielers
+     * @param expected Erwarteter aktueller Kontostand
+     * @param coins Neuer Kontostand
+     * @return 1 wenn gesetzt, 0 wenn der Kontostand abweicht oder der Spieler fehlt
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Player p SET p.coins = :coins WHERE p.id = :id AND p.coins = :expected")
+    int compareAndSetCoins(@Param("id") Long id, @Param("expected") int expected, @Param("coins") int coins);
+
+    /**
+     * Liest einen Spieler als Snapshot - immer direkt aus der Datenbank,
+     * auch wenn der Persistence Context die Entity schon kennt
+     * 
+     * @param id ID des Spielers
+     * @return Snapshot oder leer, wenn der Spieler nicht existiert
+     */
+    @Query("SELECT new ch.slotmachine.backend.model.PlayerSnapshot(p.id, p.name, p.coins) FROM Player p WHERE p.id = :id")
+    Optional<PlayerSnapshot> findSnapshotById(@Param("id") Long id);
+
+    /**
+     * Liest nur den Kontostand eines Spielers (ohne die ganze Entity zu laden)
+     * 
+     * @param id ID des Spielers
+     * @return Coins des Spielers oder leer, wenn er nicht existiert
+     */
+    @Query("SELECT p.coins FROM Player p WHERE p.id = :id")
+    Optional<Integer> findCoinsById(@Param("id") Long id);
+
+    // ===== PAGINATION =====
+
+    /**
+     * Keyset-Pagination nach ID: die nächsten Spieler nach einer ID
+     * 
+     * Erzeugt: SELECT ... WHERE id > ? ORDER BY id LIMIT ? (Primärschlüssel-Scan)
+     * 
+     * @param after Nur Spieler mit grösserer ID (0 = erste Seite)
+     * @param limit Maximale Anzahl Spieler
+     * @return Spieler, aufsteigend nach ID
+     */
+    List<Player> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * Erste Seite sortiert nach Coins (reichste Spieler zuerst)
+     * 
+     * @param limit Maximale Anzahl Spieler
+     * @return Spieler, absteigend nach Coins, bei Gleichstand aufsteigend nach ID
+     */
+    List<Player> findAllByOrderByCoinsDescIdAsc(Limit limit);
+
+    /**
+     * Folgeseite sortiert nach Coins - Cursor ist (coins, id) des letzten Spielers
+     * 
+     * Die ID als zweites Sortierkriterium macht die Reihenfolge eindeutig,
+     * damit bei gleichen Coins kein Spieler doppelt erscheint oder fehlt.
+     * Nutzt den Index (coins, id).
+     * 
+     * @param coins Coins des letzten Spielers der vorherigen Seite
+     * @param id ID des letzten Spielers der vorherigen Seite
+     * @param limit Maximale Anzahl Spieler
+     * @return Spieler, absteigend nach Coins, bei Gleichstand aufsteigend nach ID
+     */
+    @Query("SELECT p FROM Player p WHERE p.coins < :coins OR (p.coins = :coins AND p.id > :id) "
+            + "ORDER BY p.coins DESC, p.id ASC")
+    List<Player> findCoinsPageAfter(@Param("coins") int coins, @Param("id") Long id, Limit limit);
+
     // Beispiel für custom Query (aktuell nicht verwendet):
     // Optional<Player> findByName(String name);
     // List<Player> findByCoinsGreaterThan(int coins);
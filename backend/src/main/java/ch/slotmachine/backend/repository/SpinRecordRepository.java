@@ -0,0 +1,33 @@
+package ch.slotmachine.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import ch.slotmachine.backend.model.SpinRecord;
+
+/**
+ * Spin Record Repository - Lesezugriff auf den Spielverlauf
+ * 
+ * Geschrieben wird nicht über JPA, sondern gesammelt per JDBC-Batch
+ * (siehe SpinHistoryRecorder).
+ */
+@Repository
+public interface SpinRecordRepository extends JpaRepository<SpinRecord, Long> {
+
+    /**
+     * Keyset-Pagination: die neuesten Spins eines Spielers vor einer ID
+     * 
+     * Erzeugt: SELECT ... WHERE player_id = ? AND id < ? ORDER BY id DESC LIMIT ?
+     * Der Index (player_id, id) liefert die Zeilen bereits sortiert - im
+     * Gegensatz zu OFFSET muss die Datenbank keine übersprungenen Zeilen lesen.
+     * 
+     * @param playerId ID des Spielers
+     * @param before Nur Spins mit kleinerer ID (Cursor der vorherigen Seite)
+     * @param limit Maximale Anzahl Spins
+     * @return Spins, neueste zuerst
+     */
+    List<SpinRecord> findByPlayerIdAndIdLessThanOrderByIdDesc(Long playerId, Long before, Limit limit);
+}
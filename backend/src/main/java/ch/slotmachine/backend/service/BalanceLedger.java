@@ -0,0 +1,67 @@
+package ch.slotmachine.backend.service;
+
+/**
+ * Balance Ledger - Verwaltet die Kontostände (Coins) der Spieler
+ * 
+ * Die Controller verrechnen Einsätze, Gewinne und Aufladungen ausschliesslich
+ * über dieses Interface. Welche Implementierung aktiv ist, bestimmt die
+ * Property slot.balance.mode:
+ * - database (Standard): jede Buchung ist ein atomares UPDATE in der Datenbank
+ * - write-behind: Buchungen im Speicher, periodisches Schreiben in die Datenbank
+ * - journal: Buchungen im Speicher, jede als Event im Journal (JournalPlayerStore)
+ * 
+ * Alle Methoden geben den neuen Kontostand zurück oder einen der negativen
+ * Statuswerte NOT_FOUND / INSUFFICIENT_COINS (keine Objekt-Allokation pro Spin).
+ */
+public interface BalanceLedger {
+
+    /** Statuswert: Spieler existiert nicht */
+    int NOT_FOUND = -1;
+
+    /** Statuswert: Kontostand reicht nicht für den Einsatz */
+    int INSUFFICIENT_COINS = -2;
+
+    /**
+     * Verrechnet Einsatz und Gewinn atomar (nur wenn coins >= stake)
+     * 
+     * @param playerId ID des Spielers
+     * @param stake Einsatz, der abgezogen wird
+     * @param win Gewinn, der gutgeschrieben wird
+     * @return Neuer Kontostand, NOT_FOUND oder INSUFFICIENT_COINS
+     */
+    int settle(long playerId, int stake, int win);
+
+    /**
+     * Setzt den Kontostand auf einen festen Wert (z.B. Aufladen auf 1000)
+     * 
+     * @param playerId ID des Spielers
+     * @param coins Neuer Kontostand
+     * @return Neuer Kontostand oder NOT_FOUND
+     */
+    int recharge(long playerId, int coins);
+
+    /**
+     * Setzt alle Spieler unter einer Grenze auf einen festen Wert (Massen-Aufladung)
+     * 
+     * In einem Durchgang (Datenbank: ein einziges UPDATE), ohne Event pro
+     * Spieler - der Aufrufer meldet ein PlayersBulkChangedEvent.
+     * 
+     * @param threshold Nur Spieler mit coins < threshold
+     * @param coins Neuer Kontostand
+     * @return Anzahl aufgeladener Spieler
+     */
+    int rechargeBelow(int threshold, int coins);
+
+    /**
+     * @param playerId ID des Spielers
+     * @return Aktueller Kontostand oder NOT_FOUND
+     */
+    int balance(long playerId);
+
+    /**
+     * Vergisst einen Spieler (z.B. nach dem Löschen)
+     * 
+     * @param playerId ID des Spielers
+     */
+    void remove(long playerId);
+}
@@ -0,0 +1,96 @@
+package ch.slotmachine.backend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ch.slotmachine.backend.event.BalanceChangedEvent;
+import ch.slotmachine.backend.model.PlayerSnapshot;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Database Balance Ledger - Jede Buchung direkt in der Datenbank (Standard)
+ * 
+ * Einsatz und Gewinn werden mit einem bedingten UPDATE verrechnet.
+ * Der neue Kontostand wird in derselben Transaktion gelesen, solange
+ * die Zeile noch durch das UPDATE gesperrt ist.
+ * 
+ * Ist der Spieler im PlayerCache, genügt ein einziges Statement: der neue
+ * Kontostand wird aus dem gecachten berechnet und per Compare-and-Set
+ * geschrieben. Nur wenn der Cache nicht stimmt, folgt der Weg oben.
+ * 
+ * Das BalanceChangedEvent wird in der Transaktion veröffentlicht, die
+ * Listener (PlayerCache, LeaderboardService, PlayerUpdateBroadcaster) laufen
+ * aber erst nach dem Commit (@TransactionalEventListener AFTER_COMMIT) - eine
+ * zurückgerollte Buchung erreicht weder Cache noch Rangliste noch Clients.
+ * Nach dem Commit ist die Zeilensperre frei: zwei gleichzeitige Buchungen
+ * desselben Spielers können die Listener in seltenen Fällen vertauscht
+ * erreichen. Der Cache korrigiert sich beim nächsten Compare-and-Set selbst,
+ * die Rangliste und die Clients mit der nächsten Buchung.
+ */
+@Service
+@ConditionalOnProperty(name = "slot.balance.mode", havingValue = "database", matchIfMissing = true)
+public class DatabaseBalanceLedger implements BalanceLedger {
+
+    private final PlayerRepository repository;
+    private final PlayerCache cache;
+    private final ApplicationEventPublisher events;
+
+    public DatabaseBalanceLedger(PlayerRepository repository, PlayerCache cache, ApplicationEventPublisher events) {
+        this.repository = repository;
+        this.cache = cache;
+        this.events = events;
+    }
+
+    @Override
+    @Transactional
+    public int settle(long playerId, int stake, int win) {
+        // Schneller Weg: Kontostand aus dem Cache, ein einziges Compare-and-Set-UPDATE
+        PlayerSnapshot cached = cache.getIfPresent(playerId);
+        if (cached != null && cached.coins() >= stake) {
+            int coins = cached.coins() - stake + win;
+            if (repository.compareAndSetCoins(playerId, cached.coins(), coins) == 1) {
+                events.publishEvent(new BalanceChangedEvent(playerId, coins)); // Cache übernimmt den Stand nach dem Commit
+                return coins;
+            }
+        }
+
+        if (repository.settleSpin(playerId, stake, win) == 0) {
+            // Kein Datensatz geändert: Spieler fehlt oder hat zu wenig Coins
+            return repository.existsById(playerId) ? INSUFFICIENT_COINS : NOT_FOUND;
+        }
+        // Unter der Zeilensperre gelesen - danach stimmt der Cache wieder
+        PlayerSnapshot player = repository.findSnapshotById(playerId).orElseThrow();
+        cache.put(player);
+        events.publishEvent(new BalanceChangedEvent(playerId, player.coins()));
+        return player.coins();
+    }
+
+    @Override
+    @Transactional
+    public int recharge(long playerId, int coins) {
+        if (repository.updateCoins(playerId, coins) == 0) {
+            return NOT_FOUND;
+        }
+        events.publishEvent(new BalanceChangedEvent(playerId, coins));
+        return coins;
+    }
+
+    @Override
+    public int rechargeBelow(int threshold, int coins) {
+        // Ein UPDATE über den Index (coins, id) - der PlayerCache wird über das Event geleert
+        return repository.rechargeBelow(threshold, coins);
+    }
+
+    @Override
+    public int balance(long playerId) {
+        // Darf veraltet sein - verrechnet wird immer mit einem bedingten UPDATE
+        return cache.get(playerId).map(PlayerSnapshot::coins).orElse(NOT_FOUND);
+    }
+
+    @Override
+    public void remove(long playerId) {
+        // Nichts zu tun - es gibt keinen Zustand ausserhalb der Datenbank
+    }
+}
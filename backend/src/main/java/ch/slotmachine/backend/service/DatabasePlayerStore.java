@@ -0,0 +1,111 @@
+package ch.slotmachine.backend.service;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.model.PlayerSnapshot;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Database Player Store - Spieler in der Tabelle player (Standard)
+ *
+ * Aktiv bei slot.balance.mode=database und write-behind. Einzelne Spieler
+ * kommen über den PlayerCache, Seiten über die Keyset-Queries des
+ * PlayerRepository.
+ *
+ * forEachPlayer liest per JDBC mit Fetch Size statt über JPA: keine Entities,
+ * kein Persistence Context, der mit jeder Zeile wächst, keine Transaktion.
+ * MySQL streamt dabei nur mit useCursorFetch=true in der URL.
+ *
+ * createAll schreibt ebenfalls per JDBC-Batch: Hibernate kann bei
+ * GenerationType.IDENTITY nicht bündeln (es braucht jede ID sofort).
+ * Mit rewriteBatchedStatements=true wird daraus ein einziges Multi-Row-INSERT.
+ */
+@Service
+@ConditionalOnExpression("'${slot.balance.mode:database}' != 'journal'")
+public class DatabasePlayerStore implements PlayerStore {
+
+    private static final String STREAM_SQL = "SELECT id, name, coins FROM player ORDER BY id";
+
+    private static final String INSERT_SQL = "INSERT INTO player (name, coins) VALUES (?, ?)";
+
+    private final PlayerRepository repository;
+    private final PlayerCache cache;
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabasePlayerStore(PlayerRepository repository, PlayerCache cache, JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.cache = cache;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Player> findAll() {
+        return repository.findAll();
+    }
+
+    @Override
+    public Optional<PlayerSnapshot> find(long id) {
+        return cache.get(id); // Meist ohne Datenbankzugriff
+    }
+
+    @Override
+    public boolean exists(long id) {
+        return repository.existsById(id);
+    }
+
+    @Override
+    public List<Player> pageById(long afterId, int limit) {
+        return repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+
+    @Override
+    public List<Player> pageByCoins(Integer afterCoins, long afterId, int limit) {
+        if (afterCoins == null) {
+            return repository.findAllByOrderByCoinsDescIdAsc(Limit.of(limit));
+        }
+        return repository.findCoinsPageAfter(afterCoins, afterId, Limit.of(limit));
+    }
+
+    @Override
+    public Player create(String name, int coins) {
+        return repository.save(new Player(name, coins));
+    }
+
+    @Override
+    @Transactional
+    public void createAll(List<Player> players) {
+        if (players.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, players, players.size(), (ps, player) -> {
+            ps.setString(1, player.getName());
+            ps.setInt(2, player.getCoins());
+        });
+    }
+
+    @Override
+    public void delete(long id) {
+        repository.deleteById(id);
+    }
+
+    @Override
+    public void forEachPlayer(Consumer<PlayerSnapshot> action) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_SQL);
+            statement.setFetchSize(1000);
+            return statement;
+        }, (RowCallbackHandler) row -> action.accept(
+                new PlayerSnapshot(row.getLong("id"), row.getString("name"), row.getInt("coins"))));
+    }
+}
@@ -0,0 +1,108 @@
+package ch.slotmachine.backend.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Idempotency Store - Ergebnisse von Requests mit Idempotency-Key (Caffeine)
+ *
+ * Mobile Clients wiederholen einen Pull, wenn die Antwort ausbleibt. Ohne
+ * Schutz wird der Einsatz dann zweimal abgebucht. Mit dem Header
+ * "Idempotency-Key: <beliebige eindeutige Zeichenkette>" gilt:
+ * - Der erste Request wird ausgeführt, sein Ergebnis gemerkt
+ * - Jede Wiederholung mit demselben Schlüssel erhält dasselbe Ergebnis,
+ *   ohne Spin, ohne Buchung, ohne Datenbankzugriff
+ * - Kommt die Wiederholung, während der erste Request noch läuft, wartet sie
+ *   auf dessen Ergebnis - gleichzeitige Duplikate werden nie doppelt ausgeführt
+ * - Endet der Request mit einer Exception, wird nichts gemerkt: ein neuer
+ *   Versuch darf es nochmals probieren
+ *
+ * Gespeichert wird pro Schlüssel ein CompletableFuture. Caffeine legt es
+ * atomar an (get mit Mapping-Funktion) - wer es angelegt hat, führt aus.
+ * Begrenzt in der Anzahl (slot.idempotency.max-keys) und in der Zeit
+ * (slot.idempotency.ttl-seconds). Die Schlüssel gelten nur für einen
+ * Endpunkt und Spieler (scope), der Client muss sie nicht global eindeutig wählen.
+ *
+ * Wiederholungen und erste Ausführungen stehen als cache_gets_total mit
+ * cache="idempotency" (result=hit bzw. miss) unter /actuator/prometheus.
+ *
+ * Achtung: nur im Speicher dieser Instanz - nach einem Neustart oder auf
+ * einer anderen Instanz wird ein Schlüssel nicht wiedererkannt.
+ */
+@Service
+public class IdempotencyStore {
+
+    /** Name des HTTP-Headers */
+    public static final String HEADER = "Idempotency-Key";
+
+    /** Maximale Länge eines Schlüssels (begrenzt den Speicher pro Eintrag) */
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, CompletableFuture<Object>> results;
+
+    public IdempotencyStore(MeterRegistry registry,
+                            @Value("${slot.idempotency.max-keys:100000}") long maxKeys,
+                            @Value("${slot.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .executor(Runnable::run) // Wie im PlayerCache: Eviction im aufrufenden Thread
+                .build();
+        CaffeineCacheMetrics.monitor(registry, results, "idempotency");
+    }
+
+    /**
+     * Führt die Aktion höchstens einmal pro Schlüssel aus
+     *
+     * @param scope Endpunkt und Spieler, z.B. "pull:42"
+     * @param key Wert des Idempotency-Key-Headers
+     * @param action Der eigentliche Request
+     * @return Ergebnis der ersten Ausführung
+     * @throws IllegalArgumentException wenn der Schlüssel leer oder zu lang ist
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String key, Supplier<T> action) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        String cacheKey = scope + ':' + key;
+        CompletableFuture<Object> result = results.get(cacheKey, k -> mine);
+        if (result != mine) {
+            return (T) await(result); // Wiederholung - Ergebnis (evtl. nach Warten) übernehmen
+        }
+
+        try {
+            T value = action.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            results.asMap().remove(cacheKey, mine); // Fehler nicht merken
+            mine.completeExceptionally(e); // Gleichzeitige Duplikate erhalten denselben Fehler
+            throw e;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
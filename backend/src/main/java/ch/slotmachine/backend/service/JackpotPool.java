@@ -0,0 +1,328 @@
+package ch.slotmachine.backend.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import ch.slotmachine.backend.exception.ServiceUnavailableException;
+import ch.slotmachine.backend.game.ReelConfig;
+import ch.slotmachine.backend.model.JackpotSnapshot;
+import ch.slotmachine.backend.repository.JackpotRepository;
+
+/**
+ * Jackpot Pool - Progressiver Jackpot, gespeist aus jedem Einsatz
+ *
+ * Jeder Pull gibt einen Anteil seines Einsatzes in den Pool
+ * (slot.jackpot.contribution-rate, Standard 10% = 1 Coin pro 10-Coin-Einsatz).
+ * Zeigen alle 3 Reels das Auslöser-Symbol (slot.jackpot.trigger-symbol,
+ * Standard 💎), gewinnt der Spieler den ganzen Pool zusätzlich zum Gewinn
+ * laut Gewinntabelle. Danach beginnt der Pool wieder beim Startwert (slot.jackpot.seed).
+ *
+ * Der Pool gehört der Datenbank (Tabelle jackpot, eine Zeile) - alle
+ * Instanzen teilen ihn. Trotzdem kein SQL pro Pull:
+ * - Einzahlungen landen in einem LongAdder - jeder Thread schreibt in seine
+ *   eigene Zelle, es gibt keinen gemeinsamen Cache-Line-Engpass
+ * - flush() überträgt periodisch (slot.jackpot.persist-interval-ms) nur die
+ *   Differenz seit dem letzten Mal: UPDATE ... SET pool_millis = pool_millis + ?
+ *   Mehrere Instanzen überschreiben sich so nie gegenseitig
+ * - Auszahlen reserviert den Pool in der Datenbank per bedingtem UPDATE
+ *   (compareAndSetPool): genau EIN Gewinner über alle Instanzen erhält einen
+ *   bestimmten Stand, ein gleichzeitiger zweiter Gewinner liest danach den
+ *   neuen (kleinen) Pool. Gelesen wird per findSnapshot() am Persistence
+ *   Context vorbei, und nach MAX_RESERVE_ATTEMPTS verlorenen Versuchen
+ *   scheitert der Pull (503) - der Lock bleibt nie unbegrenzt belegt
+ * - Gerechnet wird in Tausendstel-Coins, damit auch Anteile unter 1 Coin zählen
+ *
+ * Ablauf eines Gewinns (Reservierung genau einmal):
+ * 1. award() überträgt die eigenen Einzahlungen und reserviert den Pool
+ * 2. Der Controller bucht Gewinn + Jackpot über den BalanceLedger
+ * 3. confirm() bei Erfolg (zählt den Gewinn) -
+ *    release() wenn die Buchung scheitert (der Betrag geht zurück in den Pool)
+ *
+ * Was ein Gewinner erhält: alles, was in der Datenbank steht, plus die
+ * Einzahlungen dieser Instanz. Noch nicht übertragene Einzahlungen anderer
+ * Instanzen (höchstens ein Intervall) fliessen in den nächsten Pool. Nach
+ * einem Absturz fehlen ebenso höchstens die Einzahlungen eines Intervalls.
+ */
+@Service
+public class JackpotPool {
+
+    private static final Logger log = LoggerFactory.getLogger(JackpotPool.class);
+
+    /** Interne Einheit: Tausendstel-Coins */
+    private static final long MILLIS_PER_COIN = 1000;
+
+    /** Höchstens so viel pro Gewinn - der Rest bleibt im Pool, der Kontostand bleibt ein int */
+    private static final long MAX_PAYOUT = 1_000_000_000L;
+
+    /** Versuche für das bedingte UPDATE, bevor die Reservierung aufgibt */
+    static final int MAX_RESERVE_ATTEMPTS = 10;
+
+    private final JackpotRepository repository;
+    private final boolean enabled;
+    private final long contributionPerCoin; // Tausendstel-Coins pro eingesetztem Coin
+    private final long seedMillis;
+    private final String triggerSymbol;
+
+    /** Alle Einzahlungen dieser Instanz seit dem Start - wächst nur */
+    private final LongAdder contributed = new LongAdder();
+
+    /** Schützt flushed und die Datenbank-Schritte (ReentrantLock: kein Pinning von Virtual Threads) */
+    private final ReentrantLock lock = new ReentrantLock();
+    private long flushed;
+
+    /** Zuletzt gelesene Zeile - Grundlage für amount() und status() ohne Datenbank */
+    private volatile Shared shared;
+
+    private final Counter winCounter;
+
+    public JackpotPool(JackpotRepository repository,
+                       MeterRegistry registry,
+                       @Value("${slot.jackpot.enabled:true}") boolean enabled,
+                       @Value("${slot.jackpot.contribution-rate:0.1}") double contributionRate,
+                       @Value("${slot.jackpot.seed:1000}") long seed,
+                       @Value("${slot.jackpot.trigger-symbol:💎}") String triggerSymbol) {
+        if (contributionRate < 0 || contributionRate > 1 || seed < 0) {
+            throw new IllegalArgumentException("Jackpot contribution rate must be between 0 and 1, seed not negative");
+        }
+        this.repository = repository;
+        this.enabled = enabled;
+        this.contributionPerCoin = Math.round(contributionRate * MILLIS_PER_COIN);
+        this.seedMillis = seed * MILLIS_PER_COIN;
+        this.triggerSymbol = triggerSymbol;
+        this.shared = new Shared(seedMillis, 0, 0, null);
+
+        this.winCounter = Counter.builder("slot.jackpot.wins")
+                .description("Ausgezahlte Jackpots")
+                .register(registry);
+        Gauge.builder("slot.jackpot.pool", this, JackpotPool::amount)
+                .description("Aktueller Jackpot in Coins")
+                .register(registry);
+    }
+
+    /**
+     * Beim Start: Zeile anlegen, falls noch keine Instanz das getan hat, und
+     * den gemeinsamen Stand übernehmen
+     */
+    @PostConstruct
+    public void load() {
+        lock.lock();
+        try {
+            createIfAbsent();
+            refresh();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Jackpot {}: {} coins, trigger {}", enabled ? "enabled" : "disabled", amount(), triggerSymbol);
+    }
+
+    // ===== EINZAHLEN (jeder Pull) =====
+
+    /**
+     * Zahlt den Anteil eines Einsatzes ein - ohne Lock, ohne Allokation
+     *
+     * @param stake Verbuchter Einsatz in Coins
+     */
+    public void contribute(int stake) {
+        if (enabled) {
+            contributed.add(stake * contributionPerCoin);
+        }
+    }
+
+    // ===== AUSZAHLEN (selten) =====
+
+    /**
+     * Prüft den Auslöser und reserviert bei einem Treffer den ganzen Pool
+     *
+     * @param reels Snapshot der Konfiguration, mit der gedreht wurde
+     * @param spin Der kodierte Spin
+     * @return Reservierter Jackpot in Coins (0 = kein Jackpot) - danach confirm() oder release()
+     */
+    public int award(ReelConfig reels, int spin) {
+        int triple = reels.tripleSymbol(spin);
+        if (!enabled || triple < 0 || !reels.symbol(triple).equals(triggerSymbol)) {
+            return 0;
+        }
+        return reserve();
+    }
+
+    /**
+     * Nimmt den Pool (ganze Coins) genau einmal heraus und setzt ihn auf den Startwert
+     *
+     * @return Reservierte Coins
+     * @throws ServiceUnavailableException wenn andere Instanzen den Pool bei jedem Versuch
+     *         zwischen Lesen und UPDATE geändert haben (HTTP 503)
+     */
+    int reserve() {
+        lock.lock();
+        try {
+            flush(); // Eigene Einzahlungen gehören zum Gewinn
+            for (int attempt = 0; attempt < MAX_RESERVE_ATTEMPTS; attempt++) {
+                JackpotSnapshot row = repository.findSnapshot().orElse(null);
+                if (row == null) {
+                    createIfAbsent();
+                    continue;
+                }
+                long current = row.poolMillis();
+                long coins = Math.min(MAX_PAYOUT, current / MILLIS_PER_COIN);
+                if (coins <= 0) {
+                    return 0;
+                }
+                // Neuer Pool = alter Pool - Auszahlung + Startwert; Bruchteile bleiben drin
+                if (repository.compareAndSetPool(current, current - coins * MILLIS_PER_COIN + seedMillis, Instant.now()) == 1) {
+                    refresh();
+                    return (int) coins;
+                }
+                // Eine andere Instanz hat inzwischen eingezahlt oder gewonnen - neu lesen
+            }
+            log.warn("Jackpot reservation gave up after {} attempts", MAX_RESERVE_ATTEMPTS);
+            throw ServiceUnavailableException.JACKPOT_BUSY;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Der reservierte Jackpot wurde gutgeschrieben
+     *
+     * @param coins Rückgabe von award()
+     */
+    public void confirm(int coins) {
+        if (coins <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            repository.recordWin(Instant.now());
+            refresh();
+        } finally {
+            lock.unlock();
+        }
+        winCounter.increment();
+        log.info("Jackpot won: {} coins", coins);
+    }
+
+    /**
+     * Die Buchung ist gescheitert - Reservierung rückgängig machen
+     *
+     * @param coins Rückgabe von award()
+     */
+    public void release(int coins) {
+        if (coins <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            // Genau die Umkehrung von reserve() - relativ, falls inzwischen eingezahlt wurde
+            repository.addToPool(coins * MILLIS_PER_COIN - seedMillis, Instant.now());
+            refresh();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ===== ABFRAGEN =====
+
+    /**
+     * @return Aktueller Pool in ganzen Coins (Datenbank-Stand plus eigene, noch nicht übertragene Einzahlungen)
+     */
+    public long amount() {
+        Shared current = shared;
+        return (current.poolMillis() + contributed.sum() - current.flushedMillis()) / MILLIS_PER_COIN;
+    }
+
+    /**
+     * Momentaufnahme für GET /slot/jackpot - aus dem zuletzt gelesenen Stand, keine Datenbank
+     *
+     * @return Pool, Anzahl Gewinne, letzter Gewinn
+     */
+    public Status status() {
+        Shared current = shared;
+        return new Status(amount(), current.wins(), current.lastWinAt(), triggerSymbol);
+    }
+
+    /**
+     * @param amount Aktueller Jackpot in Coins
+     * @param wins Bisher ausgezahlte Jackpots
+     * @param lastWinAt Letzter Gewinn (null = noch nie)
+     * @param trigger Symbol, das auf allen 3 Reels den Jackpot auslöst
+     */
+    public record Status(long amount, long wins, Instant lastWinAt, String trigger) {
+    }
+
+    /**
+     * Gelesene Zeile zusammen mit dem Stand von contributed, der darin schon enthalten ist
+     */
+    private record Shared(long poolMillis, long flushedMillis, long wins, Instant lastWinAt) {
+    }
+
+    // ===== ÜBERTRAGEN =====
+
+    /**
+     * Überträgt die Einzahlungen seit dem letzten Mal als Differenz und liest
+     * den gemeinsamen Stand (inkl. Einzahlungen und Gewinne anderer Instanzen)
+     */
+    @Scheduled(fixedDelayString = "${slot.jackpot.persist-interval-ms:1000}")
+    public void flush() {
+        lock.lock();
+        try {
+            long total = contributed.sum();
+            long delta = total - flushed;
+            if (delta != 0) {
+                if (repository.addToPool(delta, Instant.now()) == 0) {
+                    createIfAbsent();
+                    repository.addToPool(delta, Instant.now());
+                }
+                flushed = total; // Erst nach dem UPDATE - scheitert es, folgt der Betrag beim nächsten Mal
+            }
+            refresh();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Beim Herunterfahren: letzte Einzahlungen übertragen
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Liest die Zeile neu (nur unter lock - flushed muss zum gelesenen Stand passen)
+     */
+    private void refresh() {
+        shared = repository.findSnapshot()
+                .map(row -> new Shared(row.poolMillis(), flushed, row.wins(), row.lastWinAt()))
+                .orElseGet(() -> new Shared(seedMillis, flushed, 0, null));
+    }
+
+    /**
+     * Legt die Zeile mit dem Startwert an - wenn zwei Instanzen gleichzeitig
+     * starten, gewinnt der erste INSERT, der zweite scheitert harmlos
+     */
+    private void createIfAbsent() {
+        if (repository.findSnapshot().isPresent()) {
+            return;
+        }
+        try {
+            repository.insertSeed(seedMillis, Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Jackpot row created by another instance");
+        }
+    }
+}
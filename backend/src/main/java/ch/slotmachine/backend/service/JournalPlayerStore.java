@@ -0,0 +1,480 @@
+package ch.slotmachine.backend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import ch.slotmachine.backend.event.BalanceChangedEvent;
+import ch.slotmachine.backend.journal.Journal;
+import ch.slotmachine.backend.journal.SnapshotFile;
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.model.PlayerSnapshot;
+
+/**
+ * Journal Player Store - Spieler im Speicher, jede Änderung als Event im Journal
+ *
+ * Aktivierung: slot.balance.mode=journal
+ *
+ * Ersetzt in diesem Modus die Tabelle player: die Klasse ist zugleich
+ * PlayerStore und BalanceLedger. Der Spielverlauf (spin_record) geht
+ * weiterhin asynchron in die Datenbank.
+ *
+ * Funktionsweise:
+ * - Alle Spieler liegen in einer ConcurrentSkipListMap (sortiert nach ID)
+ * - Jede Änderung (Anlegen, Spin, Aufladen, Löschen) wird als Datensatz an
+ *   das Journal angehängt - ein memory-mapped Log mit Prüfsumme pro Datensatz
+ * - Änderungen laufen nacheinander unter einem Lock: Zustand prüfen,
+ *   Datensatz anhängen, Zustand ändern, Event veröffentlichen. Das Journal
+ *   enthält so genau die Reihenfolge, in der die Änderungen passiert sind
+ * - Danach (ohne Lock) wartet der Aufrufer auf den fsync (Group Commit, siehe
+ *   Journal), ausser slot.journal.sync-on-commit=false
+ * - Periodisch wird ein Snapshot aller Spieler geschrieben. Der Start lädt
+ *   den neuesten Snapshot und spielt nur das Journal danach ab
+ *
+ * Lesen braucht kein Lock: coins ist volatile, die Map ist nebenläufig.
+ *
+ * Grenzen:
+ * - Alle Spieler müssen in den Speicher passen
+ * - Ein einziger Prozess pro Journal-Verzeichnis
+ * - Sortieren nach Coins (Pagination) durchsucht alle Spieler
+ * - Beim Umstellen von database auf journal werden keine Spieler übernommen
+ */
+@Service
+@ConditionalOnProperty(name = "slot.balance.mode", havingValue = "journal")
+public class JournalPlayerStore implements PlayerStore, BalanceLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalPlayerStore.class);
+
+    // ===== DATENSATZ-TYPEN =====
+
+    /** [long id][int coins][short Länge][Name UTF-8] */
+    static final byte CREATED = 1;
+
+    /** [long id][int stake][int win][int coins danach] */
+    static final byte SETTLED = 2;
+
+    /** [long id][int coins danach] */
+    static final byte RECHARGED = 3;
+
+    /** [long id] */
+    static final byte DELETED = 4;
+
+    /** Name mit unsigned short als Länge im Datensatz */
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    private static final Comparator<PlayerSnapshot> BY_COINS =
+            Comparator.comparingInt(PlayerSnapshot::coins).reversed().thenComparing(PlayerSnapshot::id);
+
+    private final ApplicationEventPublisher events;
+    private final Path directory;
+    private final boolean syncOnCommit;
+    private final Journal journal;
+
+    private final ConcurrentSkipListMap<Long, Account> players = new ConcurrentSkipListMap<>();
+
+    /** Reihenfolge der Änderungen = Reihenfolge im Journal */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Nur unter writeLock
+    private final ByteBuffer scratch = ByteBuffer.allocate(32 + MAX_NAME_BYTES);
+    private long nextId = 1;
+    private long snapshotPosition = -1;
+
+    public JournalPlayerStore(ApplicationEventPublisher events,
+                              @Value("${slot.journal.directory:data/journal}") String directory,
+                              @Value("${slot.journal.segment-size-mb:64}") int segmentSizeMb,
+                              @Value("${slot.journal.sync-interval-ms:10}") long syncIntervalMs,
+                              @Value("${slot.journal.sync-on-commit:true}") boolean syncOnCommit) throws IOException {
+        this.events = events;
+        this.directory = Path.of(directory);
+        this.syncOnCommit = syncOnCommit;
+
+        long start = System.currentTimeMillis();
+        long firstSegment = 0;
+        Optional<SnapshotFile.Contents> snapshot = SnapshotFile.readLatest(this.directory);
+        if (snapshot.isPresent()) {
+            for (PlayerSnapshot player : snapshot.get().players()) {
+                players.put(player.id(), new Account(player.id(), player.name(), player.coins()));
+            }
+            nextId = snapshot.get().nextId();
+            firstSegment = snapshot.get().segment();
+        }
+        int fromSnapshot = players.size();
+        long[] replayed = {0};
+        this.journal = Journal.open(this.directory, segmentSizeMb * 1024 * 1024, syncIntervalMs, firstSegment,
+                (type, payload) -> {
+                    apply(type, payload);
+                    replayed[0]++;
+                });
+        if (replayed[0] == 0) {
+            snapshotPosition = journal.position(); // Nichts Neues seit dem Snapshot
+        }
+        log.info("Journal {} loaded: {} players from snapshot, {} records replayed, {} players in {} ms",
+                this.directory, fromSnapshot, replayed[0], players.size(), System.currentTimeMillis() - start);
+    }
+
+    // ===== WIEDERHERSTELLEN =====
+
+    private void apply(byte type, ByteBuffer record) {
+        long id = record.getLong();
+        switch (type) {
+            case CREATED -> {
+                int coins = record.getInt();
+                byte[] name = new byte[record.getShort() & 0xFFFF];
+                record.get(name);
+                players.put(id, new Account(id, new String(name, StandardCharsets.UTF_8), coins));
+                nextId = Math.max(nextId, id + 1);
+            }
+            case SETTLED -> {
+                record.position(record.position() + 8); // stake und win nur zur Nachvollziehbarkeit
+                setCoins(id, record.getInt());
+            }
+            case RECHARGED -> setCoins(id, record.getInt());
+            case DELETED -> players.remove(id);
+            default -> throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    private void setCoins(long id, int coins) {
+        Account account = players.get(id);
+        if (account != null) {
+            account.coins = coins;
+        }
+    }
+
+    // ===== BUCHUNGEN (BalanceLedger) =====
+
+    @Override
+    public int settle(long playerId, int stake, int win) {
+        int coins;
+        long position;
+        writeLock.lock();
+        try {
+            Account account = players.get(playerId);
+            if (account == null) {
+                return NOT_FOUND;
+            }
+            if (account.coins < stake) {
+                return INSUFFICIENT_COINS;
+            }
+            coins = account.coins - stake + win;
+            scratch.clear();
+            scratch.putLong(playerId).putInt(stake).putInt(win).putInt(coins);
+            position = append(SETTLED);
+            account.coins = coins;
+            events.publishEvent(new BalanceChangedEvent(playerId, coins));
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(position);
+        return coins;
+    }
+
+    @Override
+    public int recharge(long playerId, int coins) {
+        long position;
+        writeLock.lock();
+        try {
+            Account account = players.get(playerId);
+            if (account == null) {
+                return NOT_FOUND;
+            }
+            scratch.clear();
+            scratch.putLong(playerId).putInt(coins);
+            position = append(RECHARGED);
+            account.coins = coins;
+            events.publishEvent(new BalanceChangedEvent(playerId, coins));
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(position);
+        return coins;
+    }
+
+    /**
+     * Ein RECHARGED-Datensatz pro betroffenem Spieler, alle unter einem Lock
+     * und mit einem einzigen fsync am Ende
+     */
+    @Override
+    public int rechargeBelow(int threshold, int coins) {
+        int updated = 0;
+        long position = -1;
+        writeLock.lock();
+        try {
+            for (Account account : players.values()) {
+                if (account.coins >= threshold) {
+                    continue;
+                }
+                scratch.clear();
+                scratch.putLong(account.id).putInt(coins);
+                position = append(RECHARGED);
+                account.coins = coins;
+                updated++;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (updated > 0) {
+            awaitDurable(position);
+        }
+        return updated;
+    }
+
+    @Override
+    public int balance(long playerId) {
+        Account account = players.get(playerId);
+        return account == null ? NOT_FOUND : account.coins;
+    }
+
+    @Override
+    public void remove(long playerId) {
+        // Nichts zu tun - delete() hat den Spieler bereits entfernt
+    }
+
+    // ===== SPIELER (PlayerStore) =====
+
+    @Override
+    public Player create(String name, int coins) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Player name is too long");
+        }
+        long id;
+        long position;
+        writeLock.lock();
+        try {
+            id = nextId++;
+            scratch.clear();
+            scratch.putLong(id).putInt(coins).putShort((short) nameBytes.length).put(nameBytes);
+            position = append(CREATED);
+            players.put(id, new Account(id, name, coins));
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(position);
+        return new Player(id, name, coins);
+    }
+
+    /**
+     * Alle Spieler unter einem Lock anhängen - ein einziger fsync für den ganzen Batch
+     */
+    @Override
+    public void createAll(List<Player> batch) {
+        List<byte[]> names = new ArrayList<>(batch.size());
+        for (Player player : batch) {
+            byte[] nameBytes = player.getName().getBytes(StandardCharsets.UTF_8);
+            if (nameBytes.length > MAX_NAME_BYTES) {
+                throw new IllegalArgumentException("Player name is too long");
+            }
+            names.add(nameBytes);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        long position = -1;
+        writeLock.lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                Player player = batch.get(i);
+                long id = nextId++;
+                scratch.clear();
+                scratch.putLong(id).putInt(player.getCoins()).putShort((short) names.get(i).length).put(names.get(i));
+                position = append(CREATED);
+                players.put(id, new Account(id, player.getName(), player.getCoins()));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(position);
+    }
+
+    @Override
+    public void delete(long id) {
+        long position;
+        writeLock.lock();
+        try {
+            if (!players.containsKey(id)) {
+                return;
+            }
+            scratch.clear();
+            scratch.putLong(id);
+            position = append(DELETED);
+            players.remove(id);
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(position);
+    }
+
+    @Override
+    public List<Player> findAll() {
+        return players.values().stream().map(Account::toPlayer).toList();
+    }
+
+    @Override
+    public Optional<PlayerSnapshot> find(long id) {
+        return Optional.ofNullable(players.get(id)).map(Account::snapshot);
+    }
+
+    @Override
+    public boolean exists(long id) {
+        return players.containsKey(id);
+    }
+
+    @Override
+    public List<Player> pageById(long afterId, int limit) {
+        return players.tailMap(afterId, false).values().stream()
+                .limit(limit)
+                .map(Account::toPlayer)
+                .toList();
+    }
+
+    @Override
+    public List<Player> pageByCoins(Integer afterCoins, long afterId, int limit) {
+        // Die besten "limit" Spieler nach dem Cursor: Heap mit dem schlechtesten oben, O(n log limit)
+        PriorityQueue<PlayerSnapshot> page = new PriorityQueue<>(limit + 1, BY_COINS.reversed());
+        for (Account account : players.values()) {
+            PlayerSnapshot player = account.snapshot(); // coins nur einmal lesen - kann sich ändern
+            if (afterCoins != null && !(player.coins() < afterCoins
+                    || (player.coins() == afterCoins && player.id() > afterId))) {
+                continue;
+            }
+            page.offer(player);
+            if (page.size() > limit) {
+                page.poll();
+            }
+        }
+        List<PlayerSnapshot> sorted = new ArrayList<>(page);
+        sorted.sort(BY_COINS);
+        return sorted.stream().map(player -> new Player(player.id(), player.name(), player.coins())).toList();
+    }
+
+    @Override
+    public void forEachPlayer(Consumer<PlayerSnapshot> action) {
+        for (Account account : players.values()) {
+            action.accept(account.snapshot());
+        }
+    }
+
+    // ===== JOURNAL =====
+
+    /** Hängt den Inhalt von scratch an - nur unter writeLock */
+    private long append(byte type) {
+        scratch.flip();
+        try {
+            return journal.append(type, scratch);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal write failed", e);
+        }
+    }
+
+    private void awaitDurable(long position) {
+        if (syncOnCommit) {
+            journal.awaitSync(position);
+        }
+    }
+
+    /**
+     * Schreibt einen Snapshot aller Spieler und löscht die davon abgedeckten Segmente
+     *
+     * Unter dem Lock wird nur ein neues Segment begonnen und der Zustand
+     * kopiert - das Schreiben der Datei blockiert keine Buchungen.
+     */
+    @Scheduled(fixedDelayString = "${slot.journal.snapshot-interval-ms:60000}",
+               initialDelayString = "${slot.journal.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        long segment;
+        long next;
+        List<PlayerSnapshot> state;
+        writeLock.lock();
+        try {
+            if (journal.position() == snapshotPosition) {
+                return; // Seit dem letzten Snapshot nichts geändert
+            }
+            segment = journal.roll();
+            snapshotPosition = journal.position();
+            next = nextId;
+            state = new ArrayList<>(players.size());
+            forEachPlayer(state::add);
+        } catch (IOException e) {
+            log.error("Journal snapshot failed", e);
+            return;
+        } finally {
+            writeLock.unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            SnapshotFile.write(directory, segment, next, state);
+        } catch (IOException e) {
+            log.error("Journal snapshot failed - keeping the journal", e);
+            return;
+        }
+        journal.deleteSegmentsBefore(segment);
+        SnapshotFile.deleteOlderThan(directory, segment);
+        log.info("Journal snapshot with {} players written in {} ms", state.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @return Anzahl fsync seit dem Start
+     */
+    public long syncCount() {
+        return journal.syncCount();
+    }
+
+    /** Für Tests (Position, Absturz ohne Snapshot) */
+    Journal journal() {
+        return journal;
+    }
+
+    /**
+     * Beim Herunterfahren: Snapshot (schneller Neustart), dann alles auf die Platte
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        snapshot();
+        journal.close();
+    }
+
+    // ===== KONTO =====
+
+    private static final class Account {
+        final long id;
+        final String name;
+        volatile int coins; // Geschrieben nur unter writeLock
+
+        Account(long id, String name, int coins) {
+            this.id = id;
+            this.name = name;
+            this.coins = coins;
+        }
+
+        PlayerSnapshot snapshot() {
+            return new PlayerSnapshot(id, name, coins);
+        }
+
+        Player toPlayer() {
+            return new Player(id, name, coins);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package ch.slotmachine.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PostConstruct;
+
+import ch.slotmachine.backend.event.BalanceChangedEvent;
+import ch.slotmachine.backend.event.PlayerCreatedEvent;
+import ch.slotmachine.backend.event.PlayerDeletedEvent;
+import ch.slotmachine.backend.event.PlayersBulkChangedEvent;
+
+/**
+ * Leaderboard Service - Rangliste aller Spieler nach Coins, immer aktuell im Speicher
+ * 
+ * Aufbau:
+ * - ConcurrentSkipListSet: sortiert nach Coins (absteigend), dann ID (aufsteigend)
+ * - ConcurrentHashMap: aktueller Eintrag pro Spieler (um den alten Eintrag zu finden)
+ * 
+ * Die Top N sind einfach die ersten N Elemente der Skip List - O(log n) zum
+ * Einstieg plus N Schritte, unabhängig von der Spielerzahl.
+ * 
+ * Aktualisierung:
+ * - Beim Start einmal komplett aus dem PlayerStore (streamend)
+ * - Danach inkrementell über Events (Spin, Aufladen, Neu, Löschen)
+ * - Nach einem Import oder einer Massen-Aufladung wieder komplett
+ * 
+ * Jede Änderung eines Spielers läuft in compute() auf dessen Map-Eintrag -
+ * Entfernen des alten und Einfügen des neuen Ranglisten-Eintrags passieren
+ * daher pro Spieler nie gleichzeitig. Leser werden nie blockiert.
+ *
+ * Komplett neu laden ohne Lücke: rebuild() baut eine neue Board-Instanz
+ * nebenher auf und tauscht sie erst am Ende in einem Schritt aus - bis dahin
+ * lesen alle die alte, vollständige Rangliste. Events während des Ladens
+ * gehen weiter an die alte und werden zusätzlich gesammelt, um sie vor dem
+ * Tausch in derselben Reihenfolge auf die neue anzuwenden. Zwei Rebuilds
+ * laufen nie gleichzeitig.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private final PlayerStore store;
+
+    /** Aktuelle Rangliste - wird bei rebuild() als Ganzes ersetzt */
+    private volatile Board board = new Board();
+
+    /** Events lesen (geteilt), rebuild() tauscht (exklusiv) - kein Event fällt zwischen alte und neue Rangliste */
+    private final ReentrantReadWriteLock swap = new ReentrantReadWriteLock();
+
+    /** Änderungen während eines Rebuilds (sonst null) - nur unter swap setzen */
+    private Queue<Consumer<Board>> pending;
+
+    /** Nur ein Rebuild gleichzeitig (ReentrantLock statt synchronized: wartende Virtual Threads geben ihren Träger frei) */
+    private final ReentrantLock rebuilding = new ReentrantLock();
+
+    public LeaderboardService(PlayerStore store) {
+        this.store = store;
+    }
+
+    // ===== ABFRAGE =====
+
+    /**
+     * Die besten Spieler nach Coins
+     * 
+     * @param n Anzahl Plätze
+     * @return Höchstens n Einträge, bester zuerst
+     */
+    public List<Entry> top(int n) {
+        List<Entry> top = new ArrayList<>(Math.min(n, 1024));
+        // Der Iterator ist schwach konsistent: ein Spieler, der während der
+        // Iteration nach oben rutscht, kann doppelt auftauchen - nur den ersten behalten
+        Set<Long> seen = new HashSet<>();
+        for (Entry entry : board.ranking) {
+            if (top.size() == n) {
+                break;
+            }
+            if (seen.add(entry.id())) {
+                top.add(entry);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * @return Anzahl Spieler in der Rangliste
+     */
+    public int size() {
+        return board.entries.size();
+    }
+
+    // ===== AKTUALISIERUNG =====
+
+    /**
+     * Lädt die Rangliste komplett aus dem PlayerStore
+     * 
+     * Die Spieler werden einzeln durchgereicht (Datenbank: JDBC mit Fetch Size,
+     * keine JPA-Entities) - nie die ganze Tabelle auf einmal. Gelesen wird
+     * währenddessen weiter die bisherige Rangliste.
+     */
+    @PostConstruct
+    public void rebuild() {
+        rebuilding.lock();
+        try {
+            long start = System.currentTimeMillis();
+            Board fresh = new Board();
+            swap.writeLock().lock();
+            try {
+                pending = new ConcurrentLinkedQueue<>();
+            } finally {
+                swap.writeLock().unlock();
+            }
+
+            try {
+                store.forEachPlayer(player -> fresh.put(player.id(), player.name(), player.coins()));
+            } catch (RuntimeException e) {
+                swap.writeLock().lock();
+                try {
+                    pending = null; // Die alte Rangliste bleibt - sie hat alle Events erhalten
+                } finally {
+                    swap.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            swap.writeLock().lock();
+            try {
+                pending.forEach(change -> change.accept(fresh)); // Was während des Scans geschah
+                pending = null;
+                board = fresh;
+            } finally {
+                swap.writeLock().unlock();
+            }
+            log.info("Leaderboard rebuilt with {} players in {} ms", fresh.entries.size(), System.currentTimeMillis() - start);
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    /**
+     * Fügt einen Spieler ein oder ersetzt seinen Eintrag
+     * 
+     * @param id ID des Spielers
+     * @param name Name des Spielers
+     * @param coins Aktueller Kontostand
+     */
+    public void put(long id, String name, int coins) {
+        apply(target -> target.put(id, name, coins));
+    }
+
+    @EventListener
+    public void onPlayerCreated(PlayerCreatedEvent event) {
+        put(event.playerId(), event.name(), event.coins());
+    }
+
+    /**
+     * Neuer Kontostand - unbekannte Spieler (z.B. gerade gelöscht) werden ignoriert
+     * (nach dem Commit, ohne Transaktion sofort)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        apply(target -> target.balance(event.playerId(), event.coins()));
+    }
+
+    @EventListener
+    public void onPlayerDeleted(PlayerDeletedEvent event) {
+        apply(target -> target.remove(event.playerId()));
+    }
+
+    /**
+     * Viele Spieler auf einmal geändert - komplett neu laden statt einzeln nachführen
+     */
+    @EventListener
+    public void onPlayersBulkChanged(PlayersBulkChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Wendet eine Änderung auf die aktuelle Rangliste an - und merkt sie sich
+     * für die neue, falls gerade ein Rebuild läuft
+     */
+    private void apply(Consumer<Board> change) {
+        swap.readLock().lock();
+        try {
+            Queue<Consumer<Board>> changes = pending;
+            if (changes != null) {
+                changes.add(change);
+            }
+            change.accept(board);
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    /** Coins absteigend, bei Gleichstand ID aufsteigend (eindeutig, da IDs eindeutig sind) */
+    private static int compare(Entry a, Entry b) {
+        if (a.coins() != b.coins()) {
+            return Integer.compare(b.coins(), a.coins());
+        }
+        return Long.compare(a.id(), b.id());
+    }
+
+    /**
+     * Eine vollständige Rangliste: sortierte Einträge und Eintrag pro Spieler
+     */
+    private static final class Board {
+
+        private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(LeaderboardService::compare);
+        private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+        void put(long id, String name, int coins) {
+            entries.compute(id, (key, old) -> {
+                if (old != null) {
+                    ranking.remove(old);
+                }
+                Entry entry = new Entry(id, name, coins);
+                ranking.add(entry);
+                return entry;
+            });
+        }
+
+        void balance(long id, int coins) {
+            entries.computeIfPresent(id, (key, old) -> {
+                if (old.coins() == coins) {
+                    return old; // Rang unverändert
+                }
+                Entry entry = new Entry(old.id(), old.name(), coins);
+                ranking.remove(old);
+                ranking.add(entry);
+                return entry;
+            });
+        }
+
+        void remove(long id) {
+            entries.computeIfPresent(id, (key, old) -> {
+                ranking.remove(old);
+                return null; // null entfernt den Map-Eintrag
+            });
+        }
+    }
+
+    /**
+     * Ein Platz in der Rangliste
+     * 
+     * @param id ID des Spielers
+     * @param name Name des Spielers
+     * @param coins Kontostand
+     */
+    public record Entry(long id, String name, int coins) {
+    }
+}
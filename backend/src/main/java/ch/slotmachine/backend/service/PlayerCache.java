@@ -0,0 +1,137 @@
+package ch.slotmachine.backend.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import ch.slotmachine.backend.event.BalanceChangedEvent;
+import ch.slotmachine.backend.event.PlayerDeletedEvent;
+import ch.slotmachine.backend.event.PlayersBulkChangedEvent;
+import ch.slotmachine.backend.model.PlayerSnapshot;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Player Cache - Read-Through-Cache für aktive Spieler (Caffeine)
+ * 
+ * - Begrenzt in der Grösse (slot.cache.player.max-size) und in der Zeit
+ *   (slot.cache.player.ttl-seconds nach dem letzten Schreiben)
+ * - Read-Through: ein Fehlzugriff lädt den Spieler aus der Datenbank
+ * - Write-Through: jeder neue Kontostand (BalanceChangedEvent) wird übernommen,
+ *   erst nach dem Commit - eine zurückgerollte Buchung entfernt den Spieler
+ * - Invalidierung: gelöschte Spieler werden entfernt, nach Import oder
+ *   Massen-Aufladung der ganze Cache
+ * 
+ * Der Kontostand im Cache ist ein Hinweis, keine Wahrheit: DatabaseBalanceLedger
+ * verrechnet damit per Compare-and-Set in SQL. Weicht die Datenbank ab (z.B.
+ * manuell geändert), schlägt das UPDATE fehl und es wird neu gelesen.
+ * 
+ * Die Statistik steht unter /admin/cache und als cache_* mit cache="player"
+ * unter /actuator/prometheus.
+ */
+@Service
+public class PlayerCache {
+
+    private final LoadingCache<Long, PlayerSnapshot> cache;
+
+    public PlayerCache(PlayerRepository repository,
+                       MeterRegistry registry,
+                       @Value("${slot.cache.player.max-size:10000}") long maxSize,
+                       @Value("${slot.cache.player.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                // Eviction direkt im aufrufenden Thread statt im ForkJoin-Pool (Aufwand minimal,
+                // Grösse dafür jederzeit exakt - auch max-size=0 cacht dann wirklich nichts)
+                .executor(Runnable::run)
+                // null = Spieler existiert nicht, wird nicht gecacht
+                .build(id -> repository.findSnapshotById(id).orElse(null));
+        CaffeineCacheMetrics.monitor(registry, cache, "player");
+    }
+
+    // ===== LESEN =====
+
+    /**
+     * Liefert den Spieler aus dem Cache oder lädt ihn aus der Datenbank
+     * 
+     * @param id ID des Spielers
+     * @return Snapshot oder leer, wenn der Spieler nicht existiert
+     */
+    public Optional<PlayerSnapshot> get(long id) {
+        return Optional.ofNullable(cache.get(id));
+    }
+
+    /**
+     * @param id ID des Spielers
+     * @return Snapshot oder null, wenn nicht im Cache (lädt nie)
+     */
+    public PlayerSnapshot getIfPresent(long id) {
+        return cache.getIfPresent(id);
+    }
+
+    // ===== SCHREIBEN =====
+
+    /**
+     * @param player Frisch aus der Datenbank gelesener Snapshot
+     */
+    public void put(PlayerSnapshot player) {
+        cache.put(player.id(), player);
+    }
+
+    /**
+     * Write-Through: neuen Kontostand übernehmen, falls der Spieler im Cache ist
+     * (nach dem Commit, ohne Transaktion sofort)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        cache.asMap().computeIfPresent(event.playerId(), (id, old) -> old.withCoins(event.coins()));
+    }
+
+    /**
+     * Zurückgerollte Buchung - DatabaseBalanceLedger hat den Snapshot evtl. schon
+     * vor dem Commit abgelegt, beim nächsten Zugriff wird neu gelesen
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onBalanceRolledBack(BalanceChangedEvent event) {
+        cache.invalidate(event.playerId());
+    }
+
+    @EventListener
+    public void onPlayerDeleted(PlayerDeletedEvent event) {
+        cache.invalidate(event.playerId());
+    }
+
+    @EventListener
+    public void onPlayersBulkChanged(PlayersBulkChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    // ===== STATISTIK =====
+
+    /**
+     * @return Treffer, Fehlzugriffe, Verdrängungen, Trefferquote und Grösse
+     */
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        return Map.of(
+            "hits", stats.hitCount(),
+            "misses", stats.missCount(),
+            "evictions", stats.evictionCount(),
+            "hitRate", stats.hitRate(),
+            "size", cache.estimatedSize()
+        );
+    }
+}
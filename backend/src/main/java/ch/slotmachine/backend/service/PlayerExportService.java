@@ -0,0 +1,76 @@
+package ch.slotmachine.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import ch.slotmachine.backend.model.PlayerSnapshot;
+
+/**
+ * Player Export Service - Exportiert alle Spieler als NDJSON mit konstantem Speicherbedarf
+ * 
+ * NDJSON (newline-delimited JSON): ein JSON-Objekt pro Zeile. Der Client kann
+ * Zeile für Zeile verarbeiten, der Server muss nie die ganze Liste kennen.
+ * 
+ * Funktionsweise:
+ * - Die Spieler kommen einzeln aus PlayerStore.forEachPlayer (Datenbank:
+ *   JDBC mit Fetch Size 1000, Journal: direkt aus dem Speicher)
+ * - Jeder Spieler wird sofort geschrieben
+ * - Im Speicher liegen so nie mehr als ein Fetch-Block und der Ausgabepuffer
+ */
+@Service
+public class PlayerExportService {
+
+    private final PlayerStore store;
+    private final ObjectWriter writer;
+    private final ObjectMapper mapper;
+
+    public PlayerExportService(PlayerStore store, ObjectMapper mapper) {
+        this.store = store;
+        this.mapper = mapper;
+        // Nicht nach jedem Spieler flushen - der Puffer wird erst voll geschrieben
+        this.writer = mapper.writerFor(PlayerSnapshot.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Schreibt alle Spieler als NDJSON, aufsteigend nach ID
+     * 
+     * Der Datenbank-Cursor bleibt offen, solange geschrieben wird.
+     * 
+     * @param out Ziel (z.B. HTTP-Response) - wird nicht geschlossen
+     * @return Anzahl exportierter Spieler
+     * @throws IOException wenn das Schreiben fehlschlägt (z.B. Client getrennt)
+     */
+    public long exportNdjson(OutputStream out) throws IOException {
+        long[] count = {0};
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            try {
+                store.forEachPlayer(player -> {
+                    try {
+                        writer.writeValue(generator, player);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // Bricht die Schleife (und den Cursor) ab
+                    }
+                    count[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (count[0] > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return count[0];
+    }
+}
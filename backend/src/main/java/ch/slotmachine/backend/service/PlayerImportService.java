@@ -0,0 +1,203 @@
+package ch.slotmachine.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.slotmachine.backend.event.PlayersBulkChangedEvent;
+import ch.slotmachine.backend.model.Player;
+
+/**
+ * Player Import Service - Legt viele Spieler aus CSV oder NDJSON an, mit konstantem Speicherbedarf
+ *
+ * Das Gegenstück zum PlayerExportService: der Request wird Zeile für Zeile
+ * gelesen, nie als Ganzes. Gültige Zeilen sammeln sich in einem Batch
+ * (slot.import.batch-size), der mit PlayerStore.createAll auf einmal
+ * geschrieben wird (Datenbank: JDBC-Batch, Journal: ein fsync). Im Speicher
+ * liegen so nie mehr als ein Batch und die ersten Fehlermeldungen.
+ *
+ * Formate (UTF-8):
+ * - CSV: "name,coins" pro Zeile, Kopfzeile optional. Der Name darf Kommas
+ *   enthalten (coins ist immer das letzte Feld) und in "..." stehen
+ * - NDJSON: {"name":"Anna","coins":1000} pro Zeile - die Ausgabe von
+ *   GET /player/export passt direkt (die id wird ignoriert, es gibt neue IDs)
+ *
+ * Ungültige Zeilen werden übersprungen und mit Zeilennummer gemeldet (höchstens
+ * slot.import.max-errors Meldungen, gezählt werden alle). Die übrigen Zeilen
+ * werden trotzdem importiert.
+ *
+ * Am Ende ein einziges PlayersBulkChangedEvent statt eines Events pro Spieler.
+ */
+@Service
+public class PlayerImportService {
+
+    /** Länge der Spalte player.name */
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private static final String CSV_HEADER = "name,coins";
+
+    private final PlayerStore store;
+    private final ObjectMapper mapper;
+    private final ApplicationEventPublisher events;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public PlayerImportService(PlayerStore store,
+                               ObjectMapper mapper,
+                               ApplicationEventPublisher events,
+                               @Value("${slot.import.batch-size:1000}") int batchSize,
+                               @Value("${slot.import.max-errors:1000}") int maxErrors) {
+        this.store = store;
+        this.mapper = mapper;
+        this.events = events;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * @param body CSV-Zeilen "name,coins"
+     * @param validator Prüfregeln für einen Spieler (wirft IllegalArgumentException)
+     * @return Anzahl importierter und fehlerhafter Zeilen, Fehlermeldungen
+     * @throws IOException wenn der Request nicht gelesen werden kann
+     */
+    public Result importCsv(Reader body, Consumer<Player> validator) throws IOException {
+        return importLines(body, validator, (line, number) -> {
+            if (number == 1 && line.trim().equalsIgnoreCase(CSV_HEADER)) {
+                return null; // Kopfzeile
+            }
+            int comma = line.lastIndexOf(',');
+            if (comma < 0) {
+                throw new IllegalArgumentException("Expected 'name,coins'");
+            }
+            return new Player(unquote(line.substring(0, comma).trim()), parseCoins(line.substring(comma + 1).trim()));
+        });
+    }
+
+    /**
+     * @param body Ein JSON-Objekt {"name":...,"coins":...} pro Zeile
+     * @param validator Prüfregeln für einen Spieler (wirft IllegalArgumentException)
+     * @return Anzahl importierter und fehlerhafter Zeilen, Fehlermeldungen
+     * @throws IOException wenn der Request nicht gelesen werden kann
+     */
+    public Result importNdjson(Reader body, Consumer<Player> validator) throws IOException {
+        return importLines(body, validator, (line, number) -> {
+            JsonNode row;
+            try {
+                row = mapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid JSON");
+            }
+            JsonNode name = row.get("name");
+            JsonNode coins = row.get("coins");
+            if (name == null || !name.isTextual() || coins == null || !coins.canConvertToInt() || !coins.isIntegralNumber()) {
+                throw new IllegalArgumentException("Expected {\"name\":string,\"coins\":integer}");
+            }
+            return new Player(name.asText(), coins.asInt());
+        });
+    }
+
+    // ===== ABLAUF =====
+
+    private Result importLines(Reader body, Consumer<Player> validator, RowParser parser) throws IOException {
+        BufferedReader reader = new BufferedReader(body);
+        List<Player> batch = new ArrayList<>(batchSize);
+        List<RowError> errors = new ArrayList<>();
+        int imported = 0;
+        int failed = 0;
+        int number = 0;
+
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                Player player;
+                try {
+                    player = parser.parse(line, number);
+                    if (player == null) {
+                        continue;
+                    }
+                    validator.accept(player);
+                    if (player.getName().length() > MAX_NAME_LENGTH) {
+                        throw new IllegalArgumentException("Player name cannot exceed " + MAX_NAME_LENGTH + " characters");
+                    }
+                } catch (IllegalArgumentException e) {
+                    failed++;
+                    if (errors.size() < maxErrors) {
+                        errors.add(new RowError(number, e.getMessage()));
+                    }
+                    continue;
+                }
+                batch.add(player);
+                if (batch.size() == batchSize) {
+                    store.createAll(batch);
+                    imported += batch.size();
+                    batch.clear();
+                }
+            }
+            store.createAll(batch);
+            imported += batch.size();
+        } finally {
+            // Auch nach einem Abbruch: die bereits geschriebenen Batches sind da
+            if (imported > 0) {
+                events.publishEvent(new PlayersBulkChangedEvent(imported));
+            }
+        }
+        return new Result(imported, failed, errors);
+    }
+
+    private static int parseCoins(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid coins: " + value);
+        }
+    }
+
+    /** "Anna ""die Grosse""" -> Anna "die Grosse" */
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1).replace("\"\"", "\"");
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        /**
+         * @return Der Spieler der Zeile oder null, wenn die Zeile übersprungen wird
+         * @throws IllegalArgumentException wenn die Zeile ungültig ist
+         */
+        Player parse(String line, int number);
+    }
+
+    /**
+     * Ergebnis eines Imports
+     *
+     * @param imported Anzahl angelegter Spieler
+     * @param failed Anzahl übersprungener Zeilen
+     * @param errors Die ersten slot.import.max-errors Fehler
+     */
+    public record Result(int imported, int failed, List<RowError> errors) {
+    }
+
+    /**
+     * @param line Zeilennummer im Request (ab 1)
+     * @param error Grund
+     */
+    public record RowError(int line, String error) {
+    }
+}
@@ -0,0 +1,94 @@
+package ch.slotmachine.backend.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.model.PlayerSnapshot;
+
+/**
+ * Player Store - Speicherort der Spieler (Anlegen, Löschen, Abfragen)
+ *
+ * Die Controller und Services greifen nur über dieses Interface auf Spieler
+ * zu, Kontostände ändern sie über den BalanceLedger. Welche Implementierung
+ * aktiv ist, bestimmt ebenfalls die Property slot.balance.mode:
+ * - database / write-behind: DatabasePlayerStore (Tabelle player über JPA)
+ * - journal: JournalPlayerStore (alle Spieler im Speicher, Änderungen als
+ *   Events in einem Journal auf der Festplatte)
+ *
+ * Die zurückgegebenen Player-Objekte sind reine Datenobjekte - Änderungen
+ * daran werden nirgends gespeichert.
+ */
+public interface PlayerStore {
+
+    /**
+     * @return Alle Spieler, aufsteigend nach ID
+     */
+    List<Player> findAll();
+
+    /**
+     * @param id ID des Spielers
+     * @return Snapshot oder leer, wenn der Spieler nicht existiert
+     */
+    Optional<PlayerSnapshot> find(long id);
+
+    /**
+     * @param id ID des Spielers
+     * @return true wenn der Spieler existiert
+     */
+    boolean exists(long id);
+
+    /**
+     * Seite nach ID (Keyset-Pagination)
+     *
+     * @param afterId Nur Spieler mit grösserer ID (0 = erste Seite)
+     * @param limit Maximale Anzahl Spieler
+     * @return Spieler aufsteigend nach ID
+     */
+    List<Player> pageById(long afterId, int limit);
+
+    /**
+     * Seite nach Coins (Keyset-Pagination)
+     *
+     * @param afterCoins Coins des letzten Spielers der vorherigen Seite (null = erste Seite)
+     * @param afterId ID des letzten Spielers der vorherigen Seite
+     * @param limit Maximale Anzahl Spieler
+     * @return Spieler absteigend nach Coins, bei Gleichstand aufsteigend nach ID
+     */
+    List<Player> pageByCoins(Integer afterCoins, long afterId, int limit);
+
+    /**
+     * Legt einen Spieler an
+     *
+     * @param name Name des Spielers
+     * @param coins Anfangsbestand
+     * @return Der gespeicherte Spieler mit generierter ID
+     */
+    Player create(String name, int coins);
+
+    /**
+     * Legt viele Spieler auf einmal an (Import) - als ein Batch statt einzeln
+     *
+     * Veröffentlicht keine Events pro Spieler; der Aufrufer meldet am Ende
+     * ein PlayersBulkChangedEvent.
+     *
+     * @param players Name und Anfangsbestand (ohne ID), bereits validiert
+     */
+    void createAll(List<Player> players);
+
+    /**
+     * Löscht einen Spieler (nicht vorhanden = nichts zu tun)
+     *
+     * @param id ID des Spielers
+     */
+    void delete(long id);
+
+    /**
+     * Läuft einmal über alle Spieler, aufsteigend nach ID, ohne sie alle
+     * gleichzeitig im Speicher zu halten (Export, Rangliste)
+     *
+     * @param action Wird pro Spieler aufgerufen
+     */
+    void forEachPlayer(Consumer<PlayerSnapshot> action);
+}
@@ -0,0 +1,329 @@
+package ch.slotmachine.backend.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.slotmachine.backend.event.BalanceChangedEvent;
+import ch.slotmachine.backend.event.PlayerCreatedEvent;
+import ch.slotmachine.backend.event.PlayerDeletedEvent;
+import ch.slotmachine.backend.event.PlayersBulkChangedEvent;
+import ch.slotmachine.backend.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Player Update Broadcaster - Verteilt Spieler-Änderungen an alle Abonnenten (Server-Sent Events)
+ *
+ * Statt dass jeder Browser-Tab periodisch GET /player lädt, bekommt er über
+ * GET /player/stream nur die Änderungen: neuer Kontostand, neuer Spieler,
+ * gelöschter Spieler.
+ *
+ * Ablauf:
+ * - Die Event Listener laufen im Thread des Spins (beim DatabaseBalanceLedger
+ *   sogar unter der Zeilensperre). Sie serialisieren das Event EINMAL und legen
+ *   es per offer() in die Queue jedes Abonnenten - das blockiert nie.
+ * - Ein kleiner Pool von Sender-Threads schreibt die Queues in die Verbindungen.
+ *   Pro Abonnent läuft höchstens ein Sende-Auftrag gleichzeitig.
+ * - Jede Queue ist begrenzt (slot.stream.queue-capacity). Ist sie voll, weil der
+ *   Client nicht nachkommt, wird die Queue verworfen und stattdessen ein einziges
+ *   "resync"-Event geschickt - der Client lädt dann die Liste neu. Der Speicher
+ *   pro Abonnent bleibt so begrenzt, egal wie langsam er liest.
+ */
+@Service
+public class PlayerUpdateBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerUpdateBroadcaster.class);
+
+    /** Client soll die Spielerliste neu laden (Queue ist übergelaufen) */
+    public static final Update RESYNC = new Update("resync", "{}");
+
+    /** Kommentarzeile ohne Inhalt - hält die Verbindung offen und erkennt tote Clients */
+    public static final Update HEARTBEAT = new Update(null, "heartbeat");
+
+    /** Maximale Anzahl Events, die ein Sende-Auftrag am Stück schreibt (Fairness im Pool) */
+    private static final int MAX_SENDS_PER_TURN = 64;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final LongAdder overflows = new LongAdder();
+    private final ObjectMapper json;
+    private final ExecutorService senders;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+
+    public PlayerUpdateBroadcaster(ObjectMapper json,
+                                   @Value("${slot.stream.queue-capacity:256}") int queueCapacity,
+                                   @Value("${slot.stream.max-subscribers:1000}") int maxSubscribers,
+                                   @Value("${slot.stream.sender-threads:2}") int senderThreads) {
+        this.json = json;
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.senders = Executors.newFixedThreadPool(senderThreads, senderThreadFactory());
+    }
+
+    // ===== ABONNIEREN =====
+
+    /**
+     * Meldet einen neuen Empfänger an
+     *
+     * @param sink Schreibt Events in die Verbindung (z.B. ein SseEmitter)
+     * @return Das Abonnement - close() meldet wieder ab
+     * @throws ServiceUnavailableException wenn bereits slot.stream.max-subscribers verbunden sind (HTTP 503)
+     */
+    public Subscription subscribe(Sink sink) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw ServiceUnavailableException.STREAM_FULL;
+        }
+        Subscription subscription = new Subscription(sink);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    // ===== EVENTS (laufen im Thread des Spins - dürfen nie blockieren) =====
+
+    /**
+     * Erst nach dem Commit - ein Client sieht nie einen zurückgerollten Kontostand
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        broadcast("balance", event);
+    }
+
+    @EventListener
+    public void onPlayerCreated(PlayerCreatedEvent event) {
+        broadcast("created", event);
+    }
+
+    @EventListener
+    public void onPlayerDeleted(PlayerDeletedEvent event) {
+        broadcast("deleted", event);
+    }
+
+    /**
+     * Import oder Massen-Aufladung: ein resync statt tausender Einzel-Events
+     */
+    @EventListener
+    public void onPlayersBulkChanged(PlayersBulkChangedEvent event) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(RESYNC);
+        }
+    }
+
+    /**
+     * Heartbeat an alle - auch Verbindungen, über die lange nichts lief, werden
+     * so beschrieben und bei einem toten Client geschlossen
+     */
+    @Scheduled(fixedRateString = "${slot.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(HEARTBEAT);
+        }
+    }
+
+    private void broadcast(String name, Object event) {
+        if (subscriptions.isEmpty()) {
+            return; // Niemand hört zu - nicht einmal serialisieren
+        }
+        Update update;
+        try {
+            update = new Update(name, json.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {} event: {}", name, e.getMessage());
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(update);
+        }
+    }
+
+    // ===== STATISTIK / SHUTDOWN =====
+
+    /**
+     * @return Anzahl Abonnenten und Anzahl übergelaufener Queues (= gesendete resync-Events)
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+            "subscribers", subscriberCount.get(),
+            "overflows", overflows.sum()
+        );
+    }
+
+    /**
+     * Beendet alle offenen Streams, sobald die Anwendung herunterfährt
+     *
+     * Läuft VOR dem Graceful Shutdown von Tomcat - sonst würde dieser bis zum
+     * Timeout auf die (nie endenden) Stream-Requests warten.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void closeAll() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closeAll();
+        senders.shutdownNow();
+    }
+
+    private static ThreadFactory senderThreadFactory() {
+        AtomicInteger number = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "stream-sender-" + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Ein fertig serialisiertes Event
+     *
+     * @param name Event-Name (balance, created, deleted, resync) oder null für einen Kommentar
+     * @param data JSON-Daten bzw. Kommentartext
+     */
+    public record Update(String name, String data) {
+    }
+
+    /**
+     * Empfänger eines Abonnements - wird nur von den Sender-Threads aufgerufen
+     */
+    public interface Sink {
+
+        /**
+         * Schreibt ein Event in die Verbindung (darf blockieren)
+         *
+         * @throws IOException wenn der Client weg ist - das Abonnement wird dann beendet
+         */
+        void send(Update update) throws IOException;
+
+        /**
+         * Beendet die Verbindung (Shutdown oder Sendefehler)
+         */
+        default void close() {
+        }
+    }
+
+    /**
+     * Ein angemeldeter Empfänger mit eigener, begrenzter Queue
+     */
+    public final class Subscription {
+
+        private final Sink sink;
+        private final ArrayBlockingQueue<Update> queue = new ArrayBlockingQueue<>(queueCapacity);
+        /** true, solange ein Sende-Auftrag im Pool liegt oder läuft */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        private Subscription(Sink sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Legt ein Event in die Queue - blockiert nie
+         */
+        void offer(Update update) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(update) && !overflowed) {
+                // Client kommt nicht nach: der Sender verwirft die Queue und schickt resync
+                overflowed = true;
+                overflows.increment();
+            }
+            schedule();
+        }
+
+        /**
+         * Meldet ab und schliesst die Verbindung (mehrfacher Aufruf ist harmlos)
+         */
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscriptions.remove(this);
+                subscriberCount.decrementAndGet();
+                queue.clear();
+                sink.close();
+            }
+        }
+
+        /**
+         * @return Anzahl wartender Events (höchstens slot.stream.queue-capacity)
+         */
+        public int pending() {
+            return queue.size();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close(); // Pool ist heruntergefahren
+            }
+        }
+
+        /**
+         * Sende-Auftrag: schreibt wartende Events, bis die Queue leer ist
+         */
+        private void drain() {
+            try {
+                for (int sent = 0; sent < MAX_SENDS_PER_TURN && !closed.get(); sent++) {
+                    Update update;
+                    if (overflowed) {
+                        overflowed = false;
+                        queue.clear();
+                        update = RESYNC;
+                    } else {
+                        update = queue.poll();
+                    }
+                    if (update == null) {
+                        scheduled.set(false);
+                        // Zwischen poll() und set(false) kann ein Event angekommen sein
+                        if ((queue.isEmpty() && !overflowed) || !scheduled.compareAndSet(false, true)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    sink.send(update);
+                }
+                if (closed.get()) {
+                    return;
+                }
+                // Kontingent aufgebraucht: hinten anstellen, damit andere Abonnenten drankommen
+                submit();
+            } catch (Exception e) {
+                log.debug("Stream subscriber disconnected: {}", e.getMessage());
+                close();
+            }
+        }
+    }
+}
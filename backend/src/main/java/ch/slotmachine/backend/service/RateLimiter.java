@@ -0,0 +1,158 @@
+package ch.slotmachine.backend.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rate Limiter - Token Buckets pro Spieler und global, ohne Locks
+ *
+ * Jeder Bucket füllt sich mit "per-second" Tokens pro Sekunde bis maximal
+ * "burst" Tokens; jeder Pull kostet ein Token. Ist der Bucket leer, wird der
+ * Request abgewiesen (HTTP 429, siehe RateLimitConfig) - noch bevor der
+ * Controller, der BalanceLedger oder die Datenbank etwas davon merken.
+ *
+ * Umsetzung (GCRA, "Generic Cell Rate Algorithm" - rechnerisch ein Token Bucket):
+ * - Ein Bucket ist ein einziges AtomicLong: der Zeitpunkt (System.nanoTime),
+ *   ab dem der Bucket wieder voll wäre ("theoretical arrival time", TAT)
+ * - Ein Request ist erlaubt, wenn TAT höchstens (burst - 1) Intervalle in der
+ *   Zukunft liegt, und schiebt TAT um ein Intervall (1 / per-second) weiter
+ * - Prüfen und Weiterschieben ist ein compareAndSet - kein Lock, keine
+ *   Allokation, kein Thread wartet auf einen anderen
+ *
+ * Buckets, deren TAT in der Vergangenheit liegt, sind voll und damit nicht
+ * von einem neuen Bucket zu unterscheiden. Der Scheduler entfernt sie - so
+ * wächst die Map nicht mit jedem Spieler, der je gespielt hat.
+ *
+ * Messwerte: slot.ratelimit.rejected (Tag scope=player|global) und
+ * slot.ratelimit.buckets unter /actuator/prometheus.
+ */
+@Service
+public class RateLimiter {
+
+    /** Ergebnis einer Prüfung */
+    public enum Decision { ALLOWED, PLAYER_LIMITED, GLOBAL_LIMITED }
+
+    private final boolean enabled;
+    private final long playerInterval;
+    private final long playerTolerance;
+    private final long globalInterval;
+    private final long globalTolerance;
+
+    private final ConcurrentHashMap<Long, AtomicLong> players = new ConcurrentHashMap<>();
+    private final AtomicLong global = new AtomicLong(System.nanoTime()); // Voll: TAT = jetzt
+
+    private final Counter playerRejections;
+    private final Counter globalRejections;
+
+    public RateLimiter(MeterRegistry registry,
+                       @Value("${slot.ratelimit.enabled:true}") boolean enabled,
+                       @Value("${slot.ratelimit.player.per-second:20}") double playerPerSecond,
+                       @Value("${slot.ratelimit.player.burst:40}") int playerBurst,
+                       @Value("${slot.ratelimit.global.per-second:5000}") double globalPerSecond,
+                       @Value("${slot.ratelimit.global.burst:10000}") int globalBurst) {
+        if (playerPerSecond <= 0 || globalPerSecond <= 0 || playerBurst < 1 || globalBurst < 1) {
+            throw new IllegalArgumentException("Rate limits must be positive");
+        }
+        this.enabled = enabled;
+        this.playerInterval = (long) (1_000_000_000L / playerPerSecond);
+        this.playerTolerance = playerInterval * (playerBurst - 1);
+        this.globalInterval = (long) (1_000_000_000L / globalPerSecond);
+        this.globalTolerance = globalInterval * (globalBurst - 1);
+
+        this.playerRejections = rejections(registry, "player");
+        this.globalRejections = rejections(registry, "global");
+        Gauge.builder("slot.ratelimit.buckets", players, ConcurrentHashMap::size)
+                .description("Spieler mit nicht vollem Token Bucket")
+                .register(registry);
+    }
+
+    private static Counter rejections(MeterRegistry registry, String scope) {
+        return Counter.builder("slot.ratelimit.rejected")
+                .description("Abgewiesene Requests (HTTP 429)")
+                .tag("scope", scope)
+                .register(registry);
+    }
+
+    // ===== PRÜFEN =====
+
+    /**
+     * Verbraucht ein Token des Spielers und eines des globalen Buckets
+     *
+     * Ist der globale Bucket leer, bekommt der Spieler sein Token zurück -
+     * sonst kostete ihn die Überlast der anderen sein eigenes Kontingent.
+     * (Umgekehrt prüft der Spieler-Bucket zuerst, damit ein einzelner Bot
+     * mit abgewiesenen Requests nicht den globalen Bucket leert.)
+     *
+     * @param playerId ID des Spielers
+     * @return ALLOWED oder der Bucket, der leer war
+     */
+    public Decision tryAcquire(long playerId) {
+        if (!enabled) {
+            return Decision.ALLOWED;
+        }
+        long now = System.nanoTime();
+        AtomicLong bucket = players.get(playerId);
+        if (bucket == null) {
+            bucket = players.computeIfAbsent(playerId, id -> new AtomicLong(now));
+        }
+        if (!acquire(bucket, now, playerInterval, playerTolerance)) {
+            playerRejections.increment();
+            return Decision.PLAYER_LIMITED;
+        }
+        if (!acquire(global, now, globalInterval, globalTolerance)) {
+            bucket.addAndGet(-playerInterval); // Token zurückgeben
+            globalRejections.increment();
+            return Decision.GLOBAL_LIMITED;
+        }
+        return Decision.ALLOWED;
+    }
+
+    /**
+     * @return true wenn ein Token verfügbar war (und verbraucht wurde)
+     */
+    private static boolean acquire(AtomicLong bucket, long now, long interval, long tolerance) {
+        while (true) {
+            long current = bucket.get();
+            long tat = current - now < 0 ? now : current; // Voller Bucket (nanoTime nur als Differenz vergleichen)
+            if (tat - now > tolerance) {
+                return false;
+            }
+            if (bucket.compareAndSet(current, tat + interval)) {
+                return true;
+            }
+        }
+    }
+
+    // ===== AUFRÄUMEN =====
+
+    /**
+     * Entfernt volle Buckets (gleichwertig mit einem neuen Bucket)
+     *
+     * Ein Request, der den Bucket gerade noch in der Hand hat, verbraucht sein
+     * Token im entfernten Bucket - schlimmstenfalls ein Token zu viel.
+     */
+    @Scheduled(fixedDelayString = "${slot.ratelimit.eviction-interval-ms:10000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        players.forEach((id, bucket) -> {
+            if (bucket.get() - now <= 0) {
+                players.remove(id, bucket);
+            }
+        });
+    }
+
+    /**
+     * @return Anzahl Spieler mit eigenem Bucket
+     */
+    public int bucketCount() {
+        return players.size();
+    }
+}
@@ -0,0 +1,115 @@
+package ch.slotmachine.backend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+import ch.slotmachine.backend.game.LineConfig;
+import ch.slotmachine.backend.game.ReelConfig;
+import ch.slotmachine.backend.game.SpinEngine;
+
+/**
+ * Reel Config Service - Lädt Reels und Gewinntabelle und tauscht sie zur Laufzeit aus
+ * 
+ * Gilt für beide Spielmodi: klassisch (slot.reels.*) und Mehrlinien (slot.lines.*).
+ * 
+ * Quellen (spätere überschreiben frühere):
+ * 1. application.properties (slot.reels.*)
+ * 2. Optionale Reel-Datei (slot.reels.file, UTF-8, gleiche Schlüssel)
+ * 
+ * Die Reel-Datei wird periodisch auf Änderungen geprüft. Eine neue
+ * Konfiguration wird komplett gebaut und validiert, bevor SpinEngine sie
+ * übernimmt - ungültige Dateien ändern nichts am laufenden Spiel.
+ */
+@Service
+public class ReelConfigService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReelConfigService.class);
+
+    private final SpinEngine engine;
+    private final Environment environment;
+    private final Path file;
+
+    /** Änderungszeit der zuletzt geladenen Reel-Datei */
+    private long loadedModified = Long.MIN_VALUE;
+
+    public ReelConfigService(SpinEngine engine,
+                             Environment environment,
+                             @Value("${slot.reels.file:}") String file) {
+        this.engine = engine;
+        this.environment = environment;
+        this.file = file.isBlank() ? null : Path.of(file);
+    }
+
+    /**
+     * Beim Start: Konfiguration laden - ist sie ungültig, startet die Anwendung nicht
+     */
+    @PostConstruct
+    public void init() {
+        ReelConfig config = reload();
+        log.info("Reels loaded: {} symbols, theoretical RTP {}%",
+                config.symbolCount(), String.format("%.2f", config.theoreticalRtp(SpinEngine.STAKE) * 100));
+        LineConfig lines = engine.lines();
+        log.info("Lines loaded: {} paylines, theoretical RTP {}%",
+                lines.paylineCount(), String.format("%.2f", lines.theoreticalRtp() * 100));
+    }
+
+    /**
+     * Lädt die Konfiguration neu und übernimmt sie atomar
+     * 
+     * @return Die neue Konfiguration
+     * @throws IllegalArgumentException wenn die Konfiguration ungültig ist
+     */
+    public synchronized ReelConfig reload() {
+        Properties overrides = new Properties();
+        long modified = Long.MIN_VALUE;
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                modified = Files.getLastModifiedTime(file).toMillis();
+                overrides.load(reader);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read reel file " + file + ": " + e.getMessage());
+            }
+        }
+
+        UnaryOperator<String> lookup = key -> overrides.getProperty(key, environment.getProperty(key));
+        ReelConfig config = ReelConfig.fromProperties(lookup);
+        LineConfig lines = LineConfig.fromProperties(lookup); // Erst beide validieren, dann beide übernehmen
+        engine.update(config); // Laufende Spins rechnen mit ihrem alten Snapshot zu Ende
+        engine.update(lines);
+        loadedModified = modified;
+        return config;
+    }
+
+    /**
+     * Prüft periodisch, ob sich die Reel-Datei geändert hat (Hot Reload)
+     */
+    @Scheduled(fixedDelayString = "${slot.reels.reload-interval-ms:5000}")
+    public void reloadIfChanged() {
+        if (file == null || !Files.exists(file)) {
+            return;
+        }
+        try {
+            if (Files.getLastModifiedTime(file).toMillis() != loadedModified) {
+                ReelConfig config = reload();
+                log.info("Reel file {} reloaded, theoretical RTP {}%",
+                        file, String.format("%.2f", config.theoreticalRtp(SpinEngine.STAKE) * 100));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Reel file {} ignored, keeping current reels: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package ch.slotmachine.backend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Slot Metrics - Messwerte des Spiels für Micrometer (/actuator/prometheus)
+ *
+ * Alle Messwerte außer slot.jackpots und slot.spins.rate tragen den Tag
+ * mode=classic|lines: die beiden Modi haben eigene Gewinntabellen, eine
+ * gemeinsame RTP würde beide vermischen.
+ *
+ * Timer (mit Histogramm-Buckets, die Perzentile rechnet Prometheus):
+ * - slot.pull: Gesamtdauer eines Pulls, Tag outcome=ok|not_found|insufficient_coins
+ * - slot.pull.phase: Anteile eines Pulls, Tag phase=rng|settle|record
+ *   (rng = Ziehen + Gewinn, settle = Verrechnung im BalanceLedger inkl. Datenbank,
+ *   record = Symbole aufbereiten + Verlauf vormerken)
+ *
+ * Zähler und Gauges:
+ * - slot.spins, slot.stake, slot.win: alle Spins (Pull, Batch, Linien) seit dem Start
+ * - slot.jackpots: Gewinne, Tag symbol
+ * - slot.rtp.observed: ausgezahlte / eingesetzte Coins seit dem Start
+ * - slot.spins.rate: Spins pro Sekunde im letzten Messintervall (alle Modi)
+ *
+ * Auf dem Hot Path kostet das nur System.nanoTime() und ein paar LongAdder-
+ * Inkremente - keine Allokation, keine Locks, keine Map-Suche mit neuen Tags.
+ */
+@Service
+public class SlotMetrics {
+
+    /** Ergebnis eines Pulls (Tag outcome) */
+    public enum Outcome { OK, NOT_FOUND, INSUFFICIENT_COINS }
+
+    /** Spielmodus (Tag mode) - klassisch 3 Reels oder Mehrlinien 5x3 */
+    public enum Mode { CLASSIC, LINES }
+
+    private final MeterRegistry registry;
+    private final ModeMeters[] modes = new ModeMeters[Mode.values().length];
+    private final Map<String, Counter> jackpotCounters = new ConcurrentHashMap<>();
+
+    // Für slot.spins.rate - nur vom Scheduler geschrieben
+    private long lastSpins;
+    private long lastNanos = System.nanoTime();
+    private volatile double spinsPerSecond;
+
+    public SlotMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Mode mode : Mode.values()) {
+            modes[mode.ordinal()] = new ModeMeters(registry, mode.name().toLowerCase());
+        }
+        Gauge.builder("slot.spins.rate", this, metrics -> metrics.spinsPerSecond)
+                .description("Spins pro Sekunde")
+                .register(registry);
+    }
+
+    /**
+     * Alle Messwerte eines Modus - einmal beim Start registriert, danach
+     * nur noch per Array-Index erreicht
+     */
+    private static final class ModeMeters {
+        final Timer[] pullTimers = new Timer[Outcome.values().length];
+        final Timer rngTimer;
+        final Timer settleTimer;
+        final Timer recordTimer;
+        final Counter spinCounter;
+        final LongAdder stake = new LongAdder();
+        final LongAdder win = new LongAdder();
+
+        ModeMeters(MeterRegistry registry, String mode) {
+            for (Outcome outcome : Outcome.values()) {
+                pullTimers[outcome.ordinal()] = Timer.builder("slot.pull")
+                        .description("Dauer eines Pulls")
+                        .tag("mode", mode)
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+            this.rngTimer = phaseTimer(registry, mode, "rng");
+            this.settleTimer = phaseTimer(registry, mode, "settle");
+            this.recordTimer = phaseTimer(registry, mode, "record");
+            this.spinCounter = Counter.builder("slot.spins").description("Gespielte Spins")
+                    .tag("mode", mode).register(registry);
+
+            // Function Counter und Gauges lesen die Werte erst beim Scrapen
+            FunctionCounter.builder("slot.stake", stake, LongAdder::sum).description("Eingesetzte Coins")
+                    .tag("mode", mode).register(registry);
+            FunctionCounter.builder("slot.win", win, LongAdder::sum).description("Ausgezahlte Coins")
+                    .tag("mode", mode).register(registry);
+            Gauge.builder("slot.rtp.observed", this, ModeMeters::observedRtp)
+                    .description("Ausgezahlte / eingesetzte Coins seit dem Start")
+                    .tag("mode", mode)
+                    .register(registry);
+        }
+
+        private static Timer phaseTimer(MeterRegistry registry, String mode, String phase) {
+            return Timer.builder("slot.pull.phase")
+                    .description("Dauer einer Phase des Pulls")
+                    .tag("mode", mode)
+                    .tag("phase", phase)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        double observedRtp() {
+            long staked = stake.sum();
+            return staked == 0 ? 0 : (double) win.sum() / staked;
+        }
+    }
+
+    // ===== PULL =====
+
+    /**
+     * Erfasst die Dauer eines Pulls und seiner Phasen (alle Werte aus System.nanoTime())
+     *
+     * @param mode Spielmodus
+     * @param outcome Ergebnis des Pulls
+     * @param rngNanos Ziehen und Gewinn berechnen
+     * @param settleNanos Verrechnung im BalanceLedger
+     * @param recordNanos Symbole aufbereiten und Verlauf vormerken (0 bei Fehlern)
+     * @param totalNanos Gesamtdauer
+     */
+    public void recordPull(Mode mode, Outcome outcome, long rngNanos, long settleNanos, long recordNanos,
+                           long totalNanos) {
+        ModeMeters meters = modes[mode.ordinal()];
+        meters.pullTimers[outcome.ordinal()].record(totalNanos, TimeUnit.NANOSECONDS);
+        meters.rngTimer.record(rngNanos, TimeUnit.NANOSECONDS);
+        meters.settleTimer.record(settleNanos, TimeUnit.NANOSECONDS);
+        if (outcome == Outcome.OK) {
+            meters.recordTimer.record(recordNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // ===== SPINS =====
+
+    /**
+     * Erfasst einen verbuchten Spin (Pull, Teil eines Batches oder Linien-Pull)
+     *
+     * @param mode Spielmodus
+     * @param stakeAmount Einsatz
+     * @param winAmount Gewinn (0 = kein Gewinn)
+     * @param symbol Gewinnsymbol (nur bei winAmount > 0 verwendet)
+     */
+    public void recordSpin(Mode mode, int stakeAmount, int winAmount, String symbol) {
+        ModeMeters meters = modes[mode.ordinal()];
+        meters.spinCounter.increment();
+        meters.stake.add(stakeAmount);
+        if (winAmount > 0) {
+            meters.win.add(winAmount);
+            // Pro Symbol nur einmal registriert - danach reine Map-Abfrage (selten: nur bei Gewinnen)
+            jackpotCounters.computeIfAbsent(symbol, s -> Counter.builder("slot.jackpots")
+                    .description("Gewinne (Symbol der Gewinnkombination)")
+                    .tag("symbol", s)
+                    .register(registry))
+                    .increment();
+        }
+    }
+
+    /**
+     * @param mode Spielmodus
+     * @return Ausgezahlte / eingesetzte Coins seit dem Start (0 ohne Spins)
+     */
+    public double observedRtp(Mode mode) {
+        return modes[mode.ordinal()].observedRtp();
+    }
+
+    /**
+     * Aktualisiert slot.spins.rate (Spins seit der letzten Messung / verstrichene Zeit)
+     */
+    @Scheduled(fixedRateString = "${slot.metrics.rate-interval-ms:1000}")
+    public void updateRate() {
+        long now = System.nanoTime();
+        long total = 0;
+        for (ModeMeters meters : modes) {
+            total += (long) meters.spinCounter.count();
+        }
+        double seconds = (now - lastNanos) / 1e9;
+        if (seconds > 0) {
+            spinsPerSecond = (total - lastSpins) / seconds;
+        }
+        lastSpins = total;
+        lastNanos = now;
+    }
+}
@@ -0,0 +1,134 @@
+package ch.slotmachine.backend.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Spin History Recorder - Schreibt den Spielverlauf asynchron
+ * 
+ * Funktionsweise:
+ * - record() legt den Spin nur in eine begrenzte Queue (kein SQL, kein Warten)
+ * - Ein Scheduler leert die Queue und schreibt per JDBC-Batch-Insert
+ * - Beim Herunterfahren wird ein letztes Mal alles geschrieben
+ * 
+ * Ist die Queue voll (Datenbank deutlich langsamer als die Pulls), wird der
+ * Eintrag verworfen und gezählt - der Pull selbst wartet nie auf den Verlauf.
+ * Der Verlauf hinkt um maximal ein Flush-Intervall hinterher.
+ */
+@Service
+public class SpinHistoryRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(SpinHistoryRecorder.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO spin_record (player_id, symbols, stake, win, coins, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final BlockingQueue<PendingSpin> queue;
+
+    /** Anzahl verworfener Einträge seit dem Start */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** Lock statt synchronized: blockiert beim JDBC-Batch keinen Träger-Thread (Virtual Threads, Java 21) */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public SpinHistoryRecorder(JdbcTemplate jdbcTemplate,
+                               @Value("${slot.history.queue-capacity:100000}") int capacity,
+                               @Value("${slot.history.flush-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    // ===== AUFZEICHNEN =====
+
+    /**
+     * Merkt einen Spin zum Schreiben vor - kehrt sofort zurück
+     * 
+     * @param playerId ID des Spielers
+     * @param symbols Die 3 Symbole
+     * @param stake Einsatz
+     * @param win Gewinn
+     * @param coins Kontostand nach dem Spin
+     */
+    public void record(long playerId, List<String> symbols, int stake, int win, int coins) {
+        PendingSpin spin = new PendingSpin(playerId, String.join(",", symbols), stake, win, coins, Instant.now());
+        if (!queue.offer(spin) && dropped.incrementAndGet() % 10_000 == 1) {
+            log.warn("Spin history queue full, {} records dropped so far", dropped.get());
+        }
+    }
+
+    /**
+     * @return Anzahl verworfener Einträge seit dem Start
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    // ===== FLUSH =====
+
+    /**
+     * Leert die Queue in Batches von batchSize Zeilen
+     */
+    @Scheduled(fixedDelayString = "${slot.history.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        List<PendingSpin> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batchSize, (ps, spin) -> {
+                    ps.setLong(1, spin.playerId());
+                    ps.setString(2, spin.symbols());
+                    ps.setInt(3, spin.stake());
+                    ps.setInt(4, spin.win());
+                    ps.setInt(5, spin.coins());
+                    ps.setTimestamp(6, Timestamp.from(spin.createdAt()));
+                });
+            } catch (DataAccessException e) {
+                // Nicht endlos wiederholen - sonst staut sich die Queue bei einem kaputten Datensatz
+                log.error("Failed to write {} spin records", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Sauberes Herunterfahren: letzter Flush, damit kein Spin verloren geht
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing {} pending spin records before shutdown", queue.size());
+        flush();
+    }
+
+    /**
+     * Ein noch nicht geschriebener Spin
+     */
+    private record PendingSpin(long playerId, String symbols, int stake, int win, int coins, Instant createdAt) {
+    }
+}
@@ -0,0 +1,324 @@
+package ch.slotmachine.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import ch.slotmachine.backend.event.BalanceChangedEvent;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Write-Behind Balance Ledger - Kontostände aktiver Spieler im Speicher
+ *
+ * Aktivierung: slot.balance.mode=write-behind
+ *
+ * Funktionsweise:
+ * - Beim ersten Zugriff wird der Kontostand einmal aus der Datenbank geladen
+ * - Buchungen sind reine CAS-Operationen im Speicher (keine Locks, kein SQL)
+ * - Ein Scheduler schreibt geänderte Kontostände als JDBC-Batch zurück
+ * - Spieler ohne Zugriff werden nach einer Leerlaufzeit aus dem Speicher entfernt
+ * - Beim Herunterfahren wird ein letztes Mal alles geschrieben
+ *
+ * Das BalanceChangedEvent folgt dem CAS: spielt derselbe Spieler gleichzeitig
+ * in mehreren Requests, veröffentlicht immer nur EIN Thread pro Konto - und zwar
+ * den aktuellen Stand, nicht den seiner eigenen Buchung (siehe publish()).
+ * Listener sehen die Stände daher nie in vertauschter Reihenfolge, der letzte
+ * Event ist immer der aktuelle Kontostand.
+ *
+ * Achtung: Die Tabelle player hinkt um maximal ein Flush-Intervall hinterher,
+ * bei einem Absturz gehen die Buchungen seit dem letzten Flush verloren.
+ */
+@Service
+@ConditionalOnProperty(name = "slot.balance.mode", havingValue = "write-behind")
+public class WriteBehindBalanceLedger implements BalanceLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindBalanceLedger.class);
+
+    private static final String FLUSH_SQL = "UPDATE player SET coins = ? WHERE id = ?";
+
+    /** Zustand eines aus dem Speicher entfernten Kontos (coins = -1 kommt sonst nie vor) */
+    private static final long EVICTED = -1L;
+
+    private final PlayerRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher events;
+    private final int batchSize;
+    private final long idleMillis;
+
+    /** ConcurrentHashMap ist intern gestreift - Zugriffe auf verschiedene Spieler blockieren sich nicht */
+    private final ConcurrentHashMap<Long, Account> accounts = new ConcurrentHashMap<>();
+
+    /** Lock statt synchronized: blockiert beim JDBC-Batch keinen Träger-Thread (Virtual Threads, Java 21) */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public WriteBehindBalanceLedger(PlayerRepository repository,
+                                    JdbcTemplate jdbcTemplate,
+                                    ApplicationEventPublisher events,
+                                    @Value("${slot.balance.flush-batch-size:500}") int batchSize,
+                                    @Value("${slot.balance.idle-eviction-ms:60000}") long idleMillis) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.events = events;
+        this.batchSize = batchSize;
+        this.idleMillis = idleMillis;
+    }
+
+    // ===== BUCHUNGEN =====
+
+    @Override
+    public int settle(long playerId, int stake, int win) {
+        while (true) {
+            Account account = load(playerId);
+            if (account == null) {
+                return NOT_FOUND;
+            }
+            long state = account.state.get();
+            if (state == EVICTED) {
+                continue; // Gerade entfernt - neu laden
+            }
+            int coins = coins(state);
+            if (coins < stake) {
+                return INSUFFICIENT_COINS;
+            }
+            int updated = coins - stake + win;
+            if (account.state.compareAndSet(state, next(state, updated))) {
+                account.lastAccess = System.currentTimeMillis();
+                publish(account);
+                return updated;
+            }
+        }
+    }
+
+    @Override
+    public int recharge(long playerId, int coins) {
+        while (true) {
+            Account account = load(playerId);
+            if (account == null) {
+                return NOT_FOUND;
+            }
+            long state = account.state.get();
+            if (state != EVICTED && account.state.compareAndSet(state, next(state, coins))) {
+                account.lastAccess = System.currentTimeMillis();
+                publish(account);
+                return coins;
+            }
+        }
+    }
+
+    /**
+     * Massen-Aufladung: ein UPDATE in der Datenbank, danach dieselbe Regel auf
+     * die Konten im Speicher
+     *
+     * Vorher werden offene Buchungen geschrieben, damit das UPDATE die
+     * aktuellen Kontostände sieht. Die Konten im Speicher bleiben massgebend:
+     * wer nach dem UPDATE noch gespielt hat, behält seinen Stand.
+     */
+    @Override
+    public int rechargeBelow(int threshold, int coins) {
+        flushLock.lock();
+        try {
+            flushLocked();
+            int updated = repository.rechargeBelow(threshold, coins);
+            for (Account account : accounts.values()) {
+                while (true) {
+                    long state = account.state.get();
+                    if (state == EVICTED || coins(state) >= threshold
+                            || account.state.compareAndSet(state, next(state, coins))) {
+                        break;
+                    }
+                }
+            }
+            flushLocked(); // Stand im Speicher = Stand in der Tabelle (für die Rangliste)
+            return updated;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public int balance(long playerId) {
+        while (true) {
+            Account account = load(playerId);
+            if (account == null) {
+                return NOT_FOUND;
+            }
+            long state = account.state.get();
+            if (state != EVICTED) {
+                return coins(state);
+            }
+        }
+    }
+
+    @Override
+    public void remove(long playerId) {
+        Account account = accounts.remove(playerId);
+        if (account != null) {
+            account.state.set(EVICTED);
+        }
+    }
+
+    /**
+     * Veröffentlicht den aktuellen Stand eines Kontos - pro Konto immer nur ein Thread
+     *
+     * Wer das Flag publishing bekommt, veröffentlicht so lange den jeweils
+     * aktuellen Stand, bis die veröffentlichte Version der Version des Kontos
+     * entspricht. Wer es nicht bekommt, kehrt sofort zurück: der andere Thread
+     * prüft nach dem Freigeben nochmals und übernimmt auch diese Buchung.
+     * Zwischenstände können dabei entfallen - die Reihenfolge stimmt immer.
+     */
+    private void publish(Account account) {
+        while (account.publishing.compareAndSet(false, true)) {
+            try {
+                long state;
+                while ((state = account.state.get()) != EVICTED && version(state) != account.publishedVersion) {
+                    account.publishedVersion = version(state);
+                    events.publishEvent(new BalanceChangedEvent(account.playerId, coins(state)));
+                }
+            } finally {
+                account.publishing.set(false);
+            }
+            // Buchung zwischen letzter Prüfung und Freigabe? Dann nochmals versuchen
+            long state = account.state.get();
+            if (state == EVICTED || version(state) == account.publishedVersion) {
+                return;
+            }
+        }
+    }
+
+    // ===== FLUSH UND EVICTION =====
+
+    /**
+     * Schreibt alle geänderten Kontostände als JDBC-Batch in die Tabelle player
+     * und entfernt danach Spieler, die länger nicht gespielt haben.
+     */
+    @Scheduled(fixedDelayString = "${slot.balance.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        List<Account> dirty = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        List<Long> flushedStates = new ArrayList<>();
+
+        for (Account account : accounts.values()) {
+            long state = account.state.get();
+            if (state != EVICTED && version(state) != account.flushedVersion) {
+                dirty.add(account);
+                rows.add(new Object[] { coins(state), account.playerId });
+                flushedStates.add(state);
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, rows, batchSize, (ps, row) -> {
+                ps.setInt(1, (Integer) row[0]);
+                ps.setLong(2, (Long) row[1]);
+            });
+            // Erst nach erfolgreichem Schreiben als sauber markieren
+            for (int i = 0; i < dirty.size(); i++) {
+                dirty.get(i).flushedVersion = version(flushedStates.get(i));
+            }
+        }
+
+        evictIdle();
+    }
+
+    /**
+     * Entfernt Konten ohne Zugriff seit idleMillis - aber nur, wenn sie sauber sind.
+     * Das CAS auf EVICTED schlägt fehl, falls parallel noch gebucht wurde.
+     */
+    private void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleMillis;
+        for (Account account : accounts.values()) {
+            long state = account.state.get();
+            if (account.lastAccess < threshold
+                    && state != EVICTED
+                    && version(state) == account.flushedVersion
+                    && account.state.compareAndSet(state, EVICTED)) {
+                accounts.remove(account.playerId, account);
+            }
+        }
+    }
+
+    /**
+     * Sauberes Herunterfahren: letzter Flush, damit keine Buchung verloren geht
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing {} cached balances before shutdown", accounts.size());
+        flush();
+    }
+
+    // ===== HILFSMETHODEN =====
+
+    /**
+     * Liefert das Konto aus dem Speicher oder lädt es einmalig aus der Datenbank
+     *
+     * @return Das Konto oder null, wenn der Spieler nicht existiert
+     */
+    private Account load(long playerId) {
+        Account account = accounts.get(playerId);
+        if (account != null) {
+            return account;
+        }
+        // computeIfAbsent lädt atomar pro Schlüssel - ein parallel entferntes Konto
+        // kann so nie mit einem veralteten Datenbankwert wieder eingefügt werden
+        return accounts.computeIfAbsent(playerId, id -> repository.findCoinsById(id)
+                .map(coins -> new Account(id, coins))
+                .orElse(null));
+    }
+
+    /** Obere 32 Bit: Versionszähler, untere 32 Bit: Coins */
+    private static long next(long state, int coins) {
+        return ((long) (version(state) + 1) << 32) | (coins & 0xFFFFFFFFL);
+    }
+
+    private static int version(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int coins(long state) {
+        return (int) state;
+    }
+
+    /**
+     * Konto eines Spielers im Speicher
+     *
+     * Coins und Versionszähler stecken zusammen in einem AtomicLong, damit
+     * Buchung und "ist geändert" in EINEM CAS passieren.
+     */
+    private static final class Account {
+        final long playerId;
+        final AtomicLong state;
+        volatile int flushedVersion;
+        volatile long lastAccess;
+        final AtomicBoolean publishing = new AtomicBoolean(); // Ein Thread veröffentlicht Events
+        volatile int publishedVersion; // Version 0 = Stand der Datenbank, ohne Event
+
+        Account(long playerId, int coins) {
+            this.playerId = playerId;
+            this.state = new AtomicLong(coins & 0xFFFFFFFFL); // Version 0 = Stand der Datenbank
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ch.slotmachine.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import ch.slotmachine.backend.controller.SlotController;
+import ch.slotmachine.backend.service.JackpotPool;
+import ch.slotmachine.backend.service.LeaderboardService;
+import ch.slotmachine.backend.service.PlayerCache;
+import ch.slotmachine.backend.service.RateLimiter;
+
+/**
+ * Tests für den Lazy-Init-Filter im Profil "fast"
+ */
+class StartupConfigTest {
+
+    @Test
+    void beansWithStartupOrEventWorkStayEager() {
+        assertTrue(StartupConfig.hasStartupWork(LeaderboardService.class)); // @PostConstruct + @EventListener
+        assertTrue(StartupConfig.hasStartupWork(PlayerCache.class)); // @EventListener
+        assertTrue(StartupConfig.hasStartupWork(JackpotPool.class)); // @PostConstruct + @Scheduled
+        assertTrue(StartupConfig.hasStartupWork(RateLimiter.class)); // @Scheduled
+    }
+
+    @Test
+    void plainBeansStayLazy() {
+        assertFalse(StartupConfig.hasStartupWork(SlotController.class));
+        assertFalse(StartupConfig.hasStartupWork(StartupConfig.class));
+    }
+}
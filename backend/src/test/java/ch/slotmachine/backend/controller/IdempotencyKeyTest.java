@@ -0,0 +1,132 @@
+package ch.slotmachine.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.repository.PlayerRepository;
+import ch.slotmachine.backend.service.BalanceLedger;
+import ch.slotmachine.backend.service.IdempotencyStore;
+
+/**
+ * Tests für den Header Idempotency-Key (Pull, Batch, Aufladen)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyKeyTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Autowired
+    private BalanceLedger ledger;
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Test
+    void retriedPullReturnsTheFirstResultAndChargesOnce() throws Exception {
+        long id = repository.save(new Player("Retry", 1000)).getId();
+
+        byte[] first = perform(post("/slot/pull/" + id).header(IdempotencyStore.HEADER, "pull-1"));
+        byte[] retry = perform(post("/slot/pull/" + id).header(IdempotencyStore.HEADER, "pull-1"));
+        assertArrayEquals(first, retry);
+        int coins = json.readTree(first).get("coins").asInt();
+        assertEquals(coins, ledger.balance(id));
+
+        // Anderer Schlüssel oder kein Schlüssel: neuer Spin
+        perform(post("/slot/pull/" + id).header(IdempotencyStore.HEADER, "pull-2"));
+        perform(post("/slot/pull/" + id));
+        assertNotEquals(coins, ledger.balance(id));
+
+        // Der Schlüssel gilt pro Endpunkt: ein Batch mit demselben Schlüssel wird gespielt
+        JsonNode batch = json.readTree(perform(post("/slot/pull/" + id + "/batch?count=3")
+                .header(IdempotencyStore.HEADER, "pull-1")));
+        assertEquals(3, batch.get("count").asInt());
+        byte[] batchRetry = perform(post("/slot/pull/" + id + "/batch?count=3").header(IdempotencyStore.HEADER, "pull-1"));
+        assertEquals(batch, json.readTree(batchRetry));
+        assertEquals(batch.get("coins").asInt(), ledger.balance(id));
+    }
+
+    @Test
+    void concurrentDuplicatesCollapseIntoOneExecution() throws Exception {
+        long id = repository.save(new Player("Duplicates", 1000)).getId();
+        int threads = 16;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<byte[]>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return perform(post("/slot/pull/" + id).header(IdempotencyStore.HEADER, "same-tap"));
+            }));
+        }
+        start.countDown();
+        byte[] first = futures.get(0).get();
+        for (Future<byte[]> future : futures) {
+            assertArrayEquals(first, future.get());
+        }
+        executor.shutdown();
+
+        // Mehr als eine Ausführung hätte mindestens 20 Coins gekostet (Gewinne sind nie genau 10)
+        assertEquals(json.readTree(first).get("coins").asInt(), ledger.balance(id));
+    }
+
+    @Test
+    void retriedRechargeDoesNotResetCoinsAgain() throws Exception {
+        long id = repository.save(new Player("Recharge", 100)).getId();
+
+        perform(put("/player/recharge/" + id).header(IdempotencyStore.HEADER, "recharge-1"));
+        assertEquals(1000, ledger.balance(id));
+        ledger.settle(id, 10, 0);
+
+        JsonNode retry = json.readTree(perform(put("/player/recharge/" + id).header(IdempotencyStore.HEADER, "recharge-1")));
+        assertEquals(1000, retry.get("coins").asInt()); // Die erste Antwort
+        assertEquals(990, ledger.balance(id)); // Aber nicht nochmals aufgeladen
+    }
+
+    @Test
+    void failuresAreNotRememberedAndInvalidKeysAreRejected() throws Exception {
+        mvc.perform(put("/player/recharge/" + Long.MAX_VALUE).header(IdempotencyStore.HEADER, "missing"))
+                .andExpect(status().isNotFound());
+        mvc.perform(put("/player/recharge/" + Long.MAX_VALUE).header(IdempotencyStore.HEADER, "missing"))
+                .andExpect(status().isNotFound());
+
+        mvc.perform(post("/slot/pull/1").header(IdempotencyStore.HEADER, " "))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/slot/pull/1").header(IdempotencyStore.HEADER, "x".repeat(256)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private byte[] perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
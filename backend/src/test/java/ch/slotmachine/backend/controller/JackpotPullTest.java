@@ -0,0 +1,86 @@
+package ch.slotmachine.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.repository.PlayerRepository;
+import ch.slotmachine.backend.service.JackpotPool;
+
+/**
+ * Tests für den progressiven Jackpot im Pull - mit der echten Konfiguration
+ *
+ * Alle Reels zeigen nur 💎 (Gewichte 0,0,1,0,0,0), jeder Spin löst also aus.
+ * Der Auslöser selbst kommt aus application.properties - so fällt auf, wenn
+ * er dort falsch eingelesen wird.
+ */
+@SpringBootTest(properties = {
+        "slot.reels.weights.reel1=0,0,1,0,0,0",
+        "slot.reels.weights.reel2=0,0,1,0,0,0",
+        "slot.reels.weights.reel3=0,0,1,0,0,0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JackpotPullTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Autowired
+    private JackpotPool jackpots;
+
+    @Test
+    void configuredTriggerIsTheDiamond() {
+        assertEquals("💎", jackpots.status().trigger());
+    }
+
+    @Test
+    void tripleDiamondPullAwardsThePool() throws Exception {
+        Player player = repository.save(new Player("Jackpot", 100));
+        for (int i = 0; i < 500; i++) {
+            jackpots.contribute(10);
+        }
+        long pool = jackpots.amount();
+
+        mvc.perform(post("/slot/pull/" + player.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jackpot").value((int) pool))
+                .andExpect(jsonPath("$.winAmount").value(500 + (int) pool));
+
+        assertEquals(1000 + 1, jackpots.amount()); // Wieder beim Startwert, plus die Einzahlung dieses Pulls
+    }
+
+    @Test
+    void batchAwardsThePoolOnEverySpin() throws Exception {
+        Player player = repository.save(new Player("Batch Jackpot", 100));
+        for (int i = 0; i < 500; i++) {
+            jackpots.contribute(10);
+        }
+        long pool = jackpots.amount();
+        long wins = jackpots.status().wins();
+
+        // Mehrere Reservierungen in EINEM Request (ein Persistence Context dank Open Session in View)
+        mvc.perform(post("/slot/pull/" + player.getId() + "/batch?count=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.spins[0].jackpot").value((int) pool))
+                .andExpect(jsonPath("$.spins[1].jackpot").value(1000))
+                .andExpect(jsonPath("$.spins[2].jackpot").value(1000))
+                .andExpect(jsonPath("$.totalWin").value(3 * 500 + (int) pool + 2 * 1000));
+
+        assertEquals(1000 + 3, jackpots.amount());
+        assertEquals(wins + 3, jackpots.status().wins());
+    }
+}
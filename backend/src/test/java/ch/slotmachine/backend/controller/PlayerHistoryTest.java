@@ -0,0 +1,110 @@
+package ch.slotmachine.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.model.PullResponse;
+import ch.slotmachine.backend.model.SpinRecord;
+import ch.slotmachine.backend.repository.PlayerRepository;
+import ch.slotmachine.backend.service.SpinHistoryRecorder;
+
+/**
+ * Tests für den Spielverlauf GET /player/{id}/history
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PlayerHistoryTest {
+
+    @Autowired
+    private PlayerController playerController;
+
+    @Autowired
+    private SlotController slotController;
+
+    @Autowired
+    private SpinHistoryRecorder history;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Test
+    void everyPullIsRecordedAndPagedNewestFirst() {
+        Player player = repository.save(new Player("History", 1000));
+        List<PullResponse.Spin> pulls = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            pulls.add((PullResponse.Spin) slotController.pullSlot(player.getId()));
+        }
+        history.flush();
+
+        List<SpinRecord> all = new ArrayList<>();
+        Long before = null;
+        int pages = 0;
+        do {
+            Map<String, Object> page = playerController.getHistory(player.getId(), before, 10);
+            all.addAll(spins(page));
+            before = (Long) page.get("nextBefore");
+            pages++;
+        } while (before != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            SpinRecord record = all.get(i);
+            PullResponse.Spin pull = pulls.get(pulls.size() - 1 - i); // Neueste zuerst
+            assertEquals(String.join(",", pull.slots()), record.getSymbols());
+            assertEquals(pull.winAmount(), record.getWin());
+            assertEquals(pull.coins(), record.getCoins());
+            assertEquals(10, record.getStake());
+            if (i > 0) {
+                assertTrue(record.getId() < all.get(i - 1).getId());
+            }
+        }
+    }
+
+    @Test
+    void batchSpinsAreRecordedWithRunningBalance() {
+        Player player = repository.save(new Player("BatchHistory", 500));
+        PullResponse.Batch result = (PullResponse.Batch) slotController.pullSlotBatch(player.getId(), 30);
+        history.flush();
+
+        List<SpinRecord> records = spins(playerController.getHistory(player.getId(), null, 100));
+
+        assertEquals(30, records.size());
+        assertEquals(result.coins(), records.get(0).getCoins());
+        // Von alt nach neu: jeder Spin verrechnet genau Einsatz und Gewinn
+        int coins = 500;
+        for (int i = records.size() - 1; i >= 0; i--) {
+            coins = coins - 10 + records.get(i).getWin();
+            assertEquals(coins, records.get(i).getCoins());
+        }
+    }
+
+    @Test
+    void emptyHistoryAndUnknownPlayer() {
+        Player player = repository.save(new Player("Fresh", 1000));
+
+        Map<String, Object> page = playerController.getHistory(player.getId(), null, 50);
+
+        assertTrue(spins(page).isEmpty());
+        assertNull(page.get("nextBefore"));
+        assertThrows(RuntimeException.class, () -> playerController.getHistory(Long.MAX_VALUE, null, 50));
+        assertThrows(IllegalArgumentException.class, () -> playerController.getHistory(player.getId(), null, 0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<SpinRecord> spins(Map<String, Object> page) {
+        return (List<SpinRecord>) page.get("spins");
+    }
+}
@@ -0,0 +1,127 @@
+package ch.slotmachine.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.repository.PlayerRepository;
+import ch.slotmachine.backend.service.BalanceLedger;
+import ch.slotmachine.backend.service.LeaderboardService;
+
+/**
+ * Tests für den Import (POST /player/import) und die Massen-Aufladung (PUT /player/recharge?below=N)
+ *
+ * Batch-Grösse 2, damit jeder Import mehrere Batches schreibt.
+ */
+@SpringBootTest(properties = {
+        "slot.import.batch-size=2",
+        "slot.import.max-errors=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PlayerImportTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Autowired
+    private BalanceLedger ledger;
+
+    @Autowired
+    private LeaderboardService leaderboard;
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Test
+    void csvImportSkipsInvalidRowsAndReportsThem() throws Exception {
+        String csv = String.join("\n",
+                "name,coins",
+                "Csv Anna,1000",
+                "\"Csv Ben, \"\"der Zweite\"\"\",500",
+                "",
+                ",100",             // Zeile 5: leerer Name
+                "Csv Carla,-1",     // Zeile 6: negativ
+                "Csv Dora,1001",    // Zeile 7: zu viel
+                "Csv Emil,viele",   // Zeile 8: keine Zahl (nicht mehr gemeldet, max-errors=3)
+                "Csv Fritz,0");
+        JsonNode result = importBody(csv, "text/csv");
+
+        assertEquals(3, result.get("imported").asInt());
+        assertEquals(4, result.get("failed").asInt());
+        JsonNode errors = result.get("errors");
+        assertEquals(3, errors.size());
+        assertEquals(5, errors.get(0).get("line").asInt());
+        assertEquals("Player name cannot be empty", errors.get(0).get("error").asText());
+        assertEquals(6, errors.get(1).get("line").asInt());
+        assertEquals(7, errors.get(2).get("line").asInt());
+
+        List<String> names = repository.findAll().stream().map(Player::getName).toList();
+        assertTrue(names.containsAll(List.of("Csv Anna", "Csv Ben, \"der Zweite\"", "Csv Fritz")));
+        assertTrue(leaderboard.top(leaderboard.size()).stream().anyMatch(e -> e.name().equals("Csv Fritz")),
+                "Imported players must appear in the leaderboard");
+    }
+
+    @Test
+    void ndjsonImportAcceptsTheExportFormat() throws Exception {
+        String ndjson = String.join("\n",
+                "{\"id\":17,\"name\":\"Json Anna\",\"coins\":700}",
+                "{\"name\":\"Json Ben\",\"coins\":1.5}",
+                "kein json",
+                "{\"name\":\"Json Carla\",\"coins\":300}");
+        JsonNode result = importBody(ndjson, MediaType.APPLICATION_NDJSON_VALUE);
+
+        assertEquals(2, result.get("imported").asInt());
+        assertEquals(2, result.get("failed").asInt());
+        assertEquals(2, result.get("errors").get(0).get("line").asInt());
+        assertEquals("Invalid JSON", result.get("errors").get(1).get("error").asText());
+    }
+
+    @Test
+    void bulkRechargeUpdatesAllPlayersBelowTheThreshold() throws Exception {
+        long poor = repository.save(new Player("Poor", 5)).getId();
+        long almost = repository.save(new Player("Almost", 99)).getId();
+        long rich = repository.save(new Player("Rich", 100)).getId();
+        // In den Cache laden - danach muss er geleert werden
+        assertEquals(5, ledger.balance(poor));
+        assertEquals(99, ledger.balance(almost));
+
+        JsonNode result = json.readTree(mvc.perform(put("/player/recharge?below=100"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        assertTrue(result.get("recharged").asInt() >= 2);
+        assertEquals(1000, ledger.balance(poor));
+        assertEquals(1000, ledger.balance(almost));
+        assertEquals(100, ledger.balance(rich));
+        assertEquals(1000, repository.findCoinsById(poor).orElseThrow());
+        assertTrue(leaderboard.top(leaderboard.size()).stream()
+                .anyMatch(e -> e.id() == poor && e.coins() == 1000));
+
+        mvc.perform(put("/player/recharge?below=1001")).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode importBody(String body, String contentType) throws Exception {
+        return json.readTree(mvc.perform(post("/player/import").contentType(contentType).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
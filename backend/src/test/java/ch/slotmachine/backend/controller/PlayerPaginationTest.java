@@ -0,0 +1,104 @@
+package ch.slotmachine.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Tests für GET /player?limit=N und GET /player/export
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PlayerPaginationTest {
+
+    @Autowired
+    private PlayerController controller;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    void pagesCoverAllPlayersInOrder() {
+        seed(57);
+        for (String sort : List.of("id", "coins")) {
+            List<Player> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                Map<String, Object> page = controller.getPlayerPage(10, sort, cursor);
+                paged.addAll(players(page));
+                cursor = (String) page.get("nextCursor");
+            } while (cursor != null);
+
+            List<Player> expected = new ArrayList<>(repository.findAll());
+            expected.sort(sort.equals("id")
+                    ? Comparator.comparing(Player::getId)
+                    : Comparator.comparing(Player::getCoins).reversed().thenComparing(Player::getId));
+            assertEquals(ids(expected), ids(paged), "Sortierung " + sort);
+        }
+    }
+
+    @Test
+    void exportWritesOneJsonObjectPerLine() throws Exception {
+        seed(2500);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        controller.exportPlayers().getBody().writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        List<Player> all = repository.findAll();
+        assertEquals(all.size(), lines.length);
+        long previousId = 0;
+        for (String line : lines) {
+            JsonNode player = mapper.readTree(line);
+            assertTrue(player.get("id").asLong() > previousId, "Aufsteigend nach ID");
+            assertTrue(player.has("name") && player.has("coins"));
+            previousId = player.get("id").asLong();
+        }
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> controller.getPlayerPage(0, "id", null));
+        assertThrows(IllegalArgumentException.class, () -> controller.getPlayerPage(10, "name", null));
+        assertThrows(IllegalArgumentException.class, () -> controller.getPlayerPage(10, "coins", "42"));
+        assertThrows(IllegalArgumentException.class, () -> controller.getPlayerPage(10, "id", "abc"));
+    }
+
+    private void seed(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("Page" + i, i % 7 * 100)); // Viele gleiche Coins - testet den Tie-Breaker
+        }
+        repository.saveAll(players);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Player> players(Map<String, Object> page) {
+        return (List<Player>) page.get("players");
+    }
+
+    private static List<Long> ids(List<Player> players) {
+        return players.stream().map(Player::getId).toList();
+    }
+}
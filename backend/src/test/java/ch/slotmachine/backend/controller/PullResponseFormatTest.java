@@ -0,0 +1,110 @@
+package ch.slotmachine.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Tests für das Format der Pull-Antworten (JSON und CBOR)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PullResponseFormatTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    private final CBORMapper cbor = new CBORMapper();
+
+    @Test
+    void jsonKeepsTheFieldsTheFrontendReads() throws Exception {
+        long id = repository.save(new Player("Json", 1000)).getId();
+
+        JsonNode spin = json.readTree(mvc.perform(post("/slot/pull/" + id))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray());
+        assertEquals(List.of("slots", "win", "winAmount", "coins"), fieldNames(spin));
+        assertEquals(3, spin.get("slots").size());
+
+        JsonNode batch = json.readTree(mvc.perform(post("/slot/pull/" + id + "/batch?count=3"))
+                .andReturn().getResponse().getContentAsByteArray());
+        assertEquals(List.of("spins", "count", "totalWin", "coins"), fieldNames(batch));
+        assertEquals(List.of("slots", "winAmount"), fieldNames(batch.get("spins").get(0)));
+
+    }
+
+    @Test
+    void rejectionsAreProblemDetails() throws Exception {
+        mvc.perform(post("/slot/pull/" + Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(content().json("{\"type\":\"about:blank\",\"title\":\"Not Found\",\"status\":404,"
+                        + "\"detail\":\"Player not found\",\"error\":\"Player not found\"}", true));
+
+        long id = repository.save(new Player("Broke", 5)).getId();
+        mvc.perform(post("/slot/pull/" + id).accept(CBOR)) // Auch bei CBOR: Fehler als Problem-JSON
+                .andExpect(status().isPaymentRequired())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(content().json("{\"status\":402,\"detail\":\"Not enough coins\"}"));
+        mvc.perform(post("/slot/pull/" + id + "/batch?count=3"))
+                .andExpect(status().isPaymentRequired());
+        mvc.perform(put("/player/recharge/" + Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cborCarriesTheSameResponseInFewerBytes() throws Exception {
+        long id = repository.save(new Player("Cbor", 1000)).getId();
+
+        byte[] binary = mvc.perform(post("/slot/pull/" + id).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode spin = cbor.readTree(binary);
+        assertEquals(List.of("slots", "win", "winAmount", "coins"), fieldNames(spin));
+        assertEquals(1000 - 10 + spin.get("winAmount").asInt(), spin.get("coins").asInt());
+
+        // Gleicher Inhalt als JSON ist grösser
+        assertTrue(binary.length < json.writeValueAsBytes(spin).length);
+
+        JsonNode batch = cbor.readTree(mvc.perform(post("/slot/pull/" + id + "/batch?count=5").accept(CBOR))
+                .andReturn().getResponse().getContentAsByteArray());
+        assertEquals(5, batch.get("count").asInt());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.properties().forEach(property -> names.add(property.getKey()));
+        return names;
+    }
+}
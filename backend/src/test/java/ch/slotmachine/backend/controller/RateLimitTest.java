@@ -0,0 +1,136 @@
+package ch.slotmachine.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.repository.PlayerRepository;
+import ch.slotmachine.backend.service.BalanceLedger;
+import ch.slotmachine.backend.service.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests für das Rate Limiting vor /slot/pull/**
+ *
+ * Die Nachfüllrate ist so klein gewählt, dass während des Tests kein Token
+ * nachkommt - erlaubt ist genau der Burst.
+ */
+@SpringBootTest(properties = {
+        "slot.ratelimit.player.per-second=0.001",
+        "slot.ratelimit.player.burst=3",
+        "slot.ratelimit.global.per-second=0.001",
+        "slot.ratelimit.global.burst=5"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Autowired
+    private BalanceLedger ledger;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void excessPullsAreRejectedBeforeTheLedger() throws Exception {
+        long anna = repository.save(new Player("Anna", 1000)).getId();
+        long ben = repository.save(new Player("Ben", 1000)).getId();
+
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(post("/slot/pull/" + anna)).andExpect(status().isOk());
+        }
+        int coins = ledger.balance(anna);
+        mvc.perform(post("/slot/pull/" + anna + "/batch?count=5"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.error").value("Too many requests"));
+        assertEquals(coins, ledger.balance(anna), "A rejected pull must not be charged");
+
+        // Ben hat ein eigenes Token-Konto, aber der globale Bucket (5) ist nach 2 Pulls leer
+        mvc.perform(post("/slot/pull/" + ben)).andExpect(status().isOk());
+        mvc.perform(post("/slot/pull/" + ben)).andExpect(status().isOk());
+        mvc.perform(post("/slot/pull/" + ben)).andExpect(status().isTooManyRequests());
+
+        assertEquals(1.0, registry.get("slot.ratelimit.rejected").tag("scope", "player").counter().count());
+        assertEquals(1.0, registry.get("slot.ratelimit.rejected").tag("scope", "global").counter().count());
+    }
+
+    @Test
+    void globalRejectionRefundsThePlayerToken() {
+        RateLimiter limiter = new RateLimiter(new SimpleMeterRegistry(), true, 0.001, 1, 0.001, 1);
+
+        assertEquals(RateLimiter.Decision.ALLOWED, limiter.tryAcquire(1));
+        assertEquals(RateLimiter.Decision.GLOBAL_LIMITED, limiter.tryAcquire(2));
+        assertEquals(RateLimiter.Decision.GLOBAL_LIMITED, limiter.tryAcquire(2)); // Nicht PLAYER_LIMITED
+
+        // Spieler 2 hat sein Token zurück - sein Bucket ist voll und wird entfernt
+        limiter.evictIdle();
+        assertEquals(1, limiter.bucketCount());
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheBurst() throws Exception {
+        RateLimiter limiter = new RateLimiter(new SimpleMeterRegistry(), true, 0.001, 100, 0.001, 1_000_000);
+        int threads = 16;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int allowed = 0;
+                for (int i = 0; i < 50; i++) {
+                    if (limiter.tryAcquire(7) == RateLimiter.Decision.ALLOWED) {
+                        allowed++;
+                    }
+                }
+                return allowed;
+            }));
+        }
+        start.countDown();
+        int allowed = 0;
+        for (Future<Integer> future : futures) {
+            allowed += future.get();
+        }
+        executor.shutdown();
+        assertEquals(100, allowed);
+
+        // Ein leerer Bucket bleibt bestehen, ein voller wird entfernt
+        limiter.evictIdle();
+        assertEquals(1, limiter.bucketCount());
+        RateLimiter fast = new RateLimiter(new SimpleMeterRegistry(), true, 1_000_000, 1, 1_000_000, 1);
+        fast.tryAcquire(7);
+        Thread.sleep(1);
+        fast.evictIdle();
+        assertEquals(0, fast.bucketCount());
+    }
+}
@@ -0,0 +1,65 @@
+package ch.slotmachine.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ch.slotmachine.backend.exception.PlayerNotFoundException;
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.model.PullResponse;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Tests für den Batch-Modus POST /slot/pull/{playerId}/batch
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SlotControllerBatchTest {
+
+    @Autowired
+    private SlotController slotController;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Test
+    void batchSettlesAllSpinsAtOnce() {
+        Player player = repository.save(new Player("Batch", 1000));
+
+        PullResponse.Batch result = (PullResponse.Batch) slotController.pullSlotBatch(player.getId(), 20);
+
+        List<PullResponse.BatchSpin> spins = result.spins();
+        int totalWin = spins.stream().mapToInt(PullResponse.BatchSpin::winAmount).sum();
+
+        assertEquals(20, spins.size());
+        assertEquals(totalWin, result.totalWin());
+        assertEquals(1000 - 20 * 10 + totalWin, result.coins());
+        assertEquals(result.coins(), repository.findCoinsById(player.getId()).orElseThrow());
+    }
+
+    @Test
+    void batchStopsWhenCoinsRunOut() {
+        Player player = repository.save(new Player("Short", 30));
+
+        PullResponse.Batch result = (PullResponse.Batch) slotController.pullSlotBatch(player.getId(), 1000);
+
+        int coins = result.coins();
+        int count = result.count();
+        assertTrue(count >= 3, "Mindestens die 3 gedeckten Spins müssen gespielt werden");
+        assertTrue(count == 1000 || coins < 10, "Abbruch nur, wenn die Coins nicht mehr reichen");
+        assertEquals(30 - count * 10 + result.totalWin(), coins);
+    }
+
+    @Test
+    void batchRejectsInvalidCountAndUnknownPlayer() {
+        assertThrows(IllegalArgumentException.class, () -> slotController.pullSlotBatch(1L, 0));
+        assertThrows(PlayerNotFoundException.class, () -> slotController.pullSlotBatch(Long.MAX_VALUE, 5));
+    }
+}
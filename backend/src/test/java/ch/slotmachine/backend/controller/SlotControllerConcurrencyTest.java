@@ -0,0 +1,156 @@
+package ch.slotmachine.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ch.slotmachine.backend.exception.InsufficientCoinsException;
+import ch.slotmachine.backend.exception.PlayerNotFoundException;
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.model.PullResponse;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Nebenläufigkeits-Tests für SlotController.pullSlot
+ *
+ * Viele Threads ziehen gleichzeitig für denselben Spieler. Am Ende muss der
+ * Kontostand exakt Start - Einsätze + Gewinne sein (keine verlorenen Updates).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SlotControllerConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int PULLS_PER_THREAD = 50;
+
+    @Autowired
+    private SlotController slotController;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Test
+    void concurrentPullsDoNotLoseUpdates() throws Exception {
+        // Genug Coins, damit kein Pull am Einsatz scheitert
+        Player player = repository.save(new Player("Concurrent", 1_000_000));
+
+        AtomicInteger spins = new AtomicInteger();
+        AtomicLong wins = new AtomicLong();
+
+        runConcurrently(() -> {
+            PullResponse response = slotController.pullSlot(player.getId());
+            assertInstanceOf(PullResponse.Spin.class, response, () -> "Unerwarteter Fehler: " + response);
+            spins.incrementAndGet();
+            wins.addAndGet(((PullResponse.Spin) response).winAmount());
+        });
+
+        int expected = 1_000_000 - spins.get() * 10 + (int) wins.get();
+        assertEquals(THREADS * PULLS_PER_THREAD, spins.get());
+        assertEquals(expected, repository.findCoinsById(player.getId()).orElseThrow());
+    }
+
+    @Test
+    void concurrentPullsNeverOverdrawBalance() throws Exception {
+        // Nur Coins für wenige Spins - die meisten Pulls müssen abgelehnt werden
+        Player player = repository.save(new Player("Broke", 100));
+
+        AtomicInteger spins = new AtomicInteger();
+        AtomicLong wins = new AtomicLong();
+
+        runConcurrently(() -> {
+            PullResponse response;
+            try {
+                response = slotController.pullSlot(player.getId());
+            } catch (InsufficientCoinsException rejected) {
+                return;
+            }
+            spins.incrementAndGet();
+            wins.addAndGet(((PullResponse.Spin) response).winAmount());
+        });
+
+        int coins = repository.findCoinsById(player.getId()).orElseThrow();
+        assertTrue(coins >= 0, "Kontostand darf nie negativ werden");
+        assertEquals(100 - spins.get() * 10 + (int) wins.get(), coins);
+    }
+
+    @Test
+    void pullForUnknownPlayerReturnsError() {
+        PlayerNotFoundException error = assertThrows(PlayerNotFoundException.class,
+                () -> slotController.pullSlot(Long.MAX_VALUE));
+        assertSame(PlayerNotFoundException.INSTANCE, error); // Immer dieselbe Instanz
+        assertEquals(0, error.getStackTrace().length); // Ohne Stack Trace
+    }
+
+    /**
+     * Durchsatzvergleich: altes Read-Modify-Write (findById + save) gegen das
+     * atomare UPDATE. Läuft nur mit: mvn test -Dgroups=benchmark -DexcludedGroups=
+     */
+    @Test
+    @Tag("benchmark")
+    void throughputReadModifyWriteVersusAtomicUpdate() throws Exception {
+        Player legacy = repository.save(new Player("Legacy", 1_000_000));
+        Player atomic = repository.save(new Player("Atomic", 1_000_000));
+
+        long legacyNanos = runConcurrently(() -> {
+            Player p = repository.findById(legacy.getId()).orElseThrow();
+            p.setCoins(p.getCoins() - 10);
+            repository.save(p);
+        });
+        long atomicNanos = runConcurrently(() -> repository.settleSpin(atomic.getId(), 10, 0));
+
+        int total = THREADS * PULLS_PER_THREAD;
+        int lost = repository.findCoinsById(legacy.getId()).orElseThrow() - (1_000_000 - total * 10);
+        System.out.printf("read-modify-write: %,.0f ops/s, verlorene Updates: %d%n",
+                total / (legacyNanos / 1e9), lost / 10);
+        System.out.printf("atomic update:     %,.0f ops/s, verlorene Updates: %d%n",
+                total / (atomicNanos / 1e9),
+                (repository.findCoinsById(atomic.getId()).orElseThrow() - (1_000_000 - total * 10)) / 10);
+    }
+
+    /**
+     * Führt die Aktion THREADS x PULLS_PER_THREAD mal parallel aus
+     * und gibt die benötigte Zeit in Nanosekunden zurück.
+     */
+    private long runConcurrently(Runnable action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PULLS_PER_THREAD; i++) {
+                        action.run();
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS); // wirft Assertion-Fehler aus den Threads weiter
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ch.slotmachine.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ch.slotmachine.backend.exception.InsufficientCoinsException;
+import ch.slotmachine.backend.exception.PlayerNotFoundException;
+import ch.slotmachine.backend.game.LineConfig;
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.model.PullResponse;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Tests für den Mehrlinien-Modus POST /slot/pull/{playerId}/lines
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SlotControllerLinesTest {
+
+    @Autowired
+    private SlotController slotController;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Test
+    void linesPullSettlesStakeAndLineWins() {
+        Player player = repository.save(new Player("Lines", 1000));
+
+        int coins = 1000;
+        for (int i = 0; i < 20; i++) {
+            PullResponse.Lines result = (PullResponse.Lines) slotController.pullLines(player.getId());
+
+            assertEquals(LineConfig.ROWS, result.rows().size());
+            result.rows().forEach(row -> assertEquals(LineConfig.REELS, row.size()));
+            assertEquals(result.winAmount(), result.lines().stream().mapToInt(LineConfig.LineWin::amount).sum());
+            assertEquals(result.winAmount() > 0, result.win());
+            coins = coins - result.stake() + result.winAmount();
+            assertEquals(coins, result.coins());
+        }
+        assertEquals(coins, repository.findCoinsById(player.getId()).orElseThrow());
+    }
+
+    @Test
+    void linesPullNeedsTheFullStake() {
+        Player player = repository.save(new Player("Short", 19)); // 20 Linien = 20 Coins
+
+        assertThrows(InsufficientCoinsException.class, () -> slotController.pullLines(player.getId()));
+        assertThrows(PlayerNotFoundException.class, () -> slotController.pullLines(Long.MAX_VALUE));
+    }
+}
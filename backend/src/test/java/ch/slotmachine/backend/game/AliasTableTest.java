@@ -0,0 +1,50 @@
+package ch.slotmachine.backend.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die Alias Table
+ */
+class AliasTableTest {
+
+    private static final int SAMPLES = 2_000_000;
+
+    @Test
+    void samplesFollowWeights() {
+        int[] weights = {7, 0, 1, 2, 10};
+        AliasTable table = AliasTable.of(weights);
+        SlotRandom random = new SeededSlotRandom(3);
+
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[table.sample(random)]++;
+        }
+
+        for (int i = 0; i < weights.length; i++) {
+            double expected = weights[i] / 20.0;
+            assertEquals(expected, (double) counts[i] / SAMPLES, 0.002, "Symbol " + i);
+        }
+    }
+
+    @Test
+    void uniformWeightsDrawOneNumberPerSample() {
+        AliasTable table = AliasTable.of(new int[] {3, 3, 3, 3, 3, 3});
+        SeededSlotRandom expected = new SeededSlotRandom(11);
+        SeededSlotRandom actual = new SeededSlotRandom(11);
+
+        // Gleiche Folge wie das bisherige nextInt(6) - Replays bleiben gültig
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(expected.nextInt(6), table.sample(actual));
+        }
+    }
+
+    @Test
+    void rejectsInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new int[] {0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new int[] {1, -1}));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new int[0]));
+    }
+}
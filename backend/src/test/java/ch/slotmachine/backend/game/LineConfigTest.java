@@ -0,0 +1,137 @@
+package ch.slotmachine.backend.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für den Mehrlinien-Modus (LineConfig)
+ *
+ * Die Bitmasken-Auswertung muss exakt dasselbe liefern wie eine naive
+ * Auswertung mit Schleifen über die Emojis jeder Linie.
+ */
+class LineConfigTest {
+
+    private final LineConfig standard = LineConfig.standard();
+
+    @Test
+    void bitmaskPayoutMatchesNaiveEvaluation() {
+        SplittableRandom random = new SplittableRandom(7);
+        SlotRandom slotRandom = random::nextInt;
+        // Wenige Symbole, damit lange Serien häufig vorkommen
+        int[] weights = {6, 1, 1, 1, 1, 1};
+        LineConfig skewed = new LineConfig(standard.symbols(), standard.payouts(), standard.paylines(),
+                new int[][] {weights, weights, weights, weights, weights});
+
+        for (LineConfig config : List.of(standard, skewed)) {
+            for (int i = 0; i < 100_000; i++) {
+                long grid = config.spin(slotRandom);
+                int naive = naivePayout(config, config.toRows(grid));
+                assertEquals(naive, config.payout(grid), () -> "Spielfeld " + config.toRows(grid));
+                assertEquals(naive, config.wins(grid).stream().mapToInt(LineConfig.LineWin::amount).sum());
+            }
+        }
+    }
+
+    @Test
+    void countsRunsFromTheLeftOnly() {
+        // Mittlere Reihe: 💎 💎 💎 🍒 💎 - nur 3 gleiche, das 💎 auf Reel 5 zählt nicht mehr
+        long grid = LineConfig.encode(new int[][] {
+            {0, 1, 3, 4, 5},
+            {2, 2, 2, 0, 2},
+            {1, 3, 4, 5, 0}});
+
+        List<LineConfig.LineWin> wins = standard.wins(grid);
+
+        assertEquals(List.of(new LineConfig.LineWin(1, "💎", 3, 60)), wins);
+        assertEquals(60, standard.payout(grid));
+    }
+
+    @Test
+    void fullGridPaysEveryLine() {
+        long grid = LineConfig.encode(new int[][] {{4, 4, 4, 4, 4}, {4, 4, 4, 4, 4}, {4, 4, 4, 4, 4}});
+
+        assertEquals(20, standard.stake());
+        assertEquals(20 * 200, standard.payout(grid)); // 20 Linien x 5 ⭐
+    }
+
+    @Test
+    void theoreticalRtpMatchesSimulation() {
+        assertEquals(7175.0 / 7776, standard.theoreticalRtp(), 1e-12);
+
+        SplittableRandom random = new SplittableRandom(42);
+        SlotRandom slotRandom = random::nextInt;
+        long won = 0;
+        int spins = 2_000_000;
+        for (int i = 0; i < spins; i++) {
+            won += standard.payout(standard.spin(slotRandom));
+        }
+        double rtp = (double) won / ((long) spins * standard.stake());
+        assertEquals(standard.theoreticalRtp(), rtp, 0.01);
+    }
+
+    @Test
+    void spinAndPayoutDoNotAllocate() {
+        SpinEngine engine = new SpinEngine(new StripedSlotRandom());
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long sink = spinMany(engine); // Aufwärmen (ThreadLocal, JIT)
+        long before = threads.getThreadAllocatedBytes(threadId);
+        sink += spinMany(engine);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(sink > 0);
+        assertTrue(allocated < 1024, "Spins haben " + allocated + " Bytes alloziert");
+    }
+
+    @Test
+    void readsPaylinesFromPropertiesAndRejectsInvalidOnes() {
+        LineConfig three = LineConfig.fromProperties(Map.of(
+                "slot.lines.paylines", "1,1,1,1,1; 0,0,0,0,0; 2,2,2,2,2")::get);
+
+        assertEquals(3, three.paylineCount());
+        assertEquals(3, three.stake());
+        assertEquals(standard.theoreticalRtp(), three.theoreticalRtp(), 1e-12);
+        assertThrows(IllegalArgumentException.class,
+                () -> LineConfig.fromProperties(Map.of("slot.lines.paylines", "1,1,1,1")::get));
+        assertThrows(IllegalArgumentException.class,
+                () -> LineConfig.fromProperties(Map.of("slot.lines.paylines", "1,1,3,1,1")::get));
+    }
+
+    private static long spinMany(SpinEngine engine) {
+        long total = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            LineConfig lines = engine.lines();
+            total += lines.payout(engine.spin(lines));
+        }
+        return total;
+    }
+
+    /**
+     * Referenz: jede Linie Reel für Reel mit String-Vergleichen abgehen
+     */
+    private static int naivePayout(LineConfig config, List<List<String>> rows) {
+        List<String> symbols = List.of(config.symbols());
+        int total = 0;
+        for (int[] line : config.paylines()) {
+            String first = rows.get(line[0]).get(0);
+            int count = 1;
+            while (count < LineConfig.REELS && rows.get(line[count]).get(count).equals(first)) {
+                count++;
+            }
+            if (count >= LineConfig.MIN_RUN) {
+                total += config.payouts()[count - LineConfig.MIN_RUN][symbols.indexOf(first)];
+            }
+        }
+        return total;
+    }
+}
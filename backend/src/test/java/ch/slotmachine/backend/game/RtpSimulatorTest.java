@@ -0,0 +1,57 @@
+package ch.slotmachine.backend.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für den RTP Simulator
+ */
+class RtpSimulatorTest {
+
+    private final RtpSimulator simulator = new RtpSimulator(SpinEngine.STAKE);
+    private final ReelConfig classic = ReelConfig.classic();
+
+    @Test
+    void theoreticalRtpMatchesPaytable() {
+        // (500 + 200 + 150 + 100 + 80 + 60) / 216 Kombinationen / 10 Coins Einsatz
+        assertEquals(1090.0 / 2160.0, classic.theoreticalRtp(SpinEngine.STAKE), 1e-12);
+    }
+
+    @Test
+    void simulationConvergesToTheoreticalRtp() {
+        RtpSimulator.RtpReport report = simulator.simulate(classic, 5_000_000, 42);
+
+        assertEquals(5_000_000, report.spins());
+        assertTrue(report.rtpLower95() < report.rtp() && report.rtp() < report.rtpUpper95());
+        // Grosszügige Toleranz (±5 Standardfehler), damit der Test nie zufällig fehlschlägt
+        double halfWidth = (report.rtpUpper95() - report.rtp()) / 1.96 * 5;
+        assertEquals(report.theoreticalRtp(), report.rtp(), halfWidth);
+        assertEquals(6.0 / 216.0, report.hitFrequency(), 0.001);
+    }
+
+    @Test
+    void weightedReelsConvergeToTheoreticalRtp() {
+        int[] weights = {1, 1, 4, 1, 1, 1}; // 💎 viermal so häufig
+        ReelConfig weighted = new ReelConfig(classic.symbols(), classic.paytable(), new int[][] {weights, weights, weights});
+
+        RtpSimulator.RtpReport report = simulator.simulate(weighted, 5_000_000, 42);
+
+        // P(💎💎💎) = (4/9)³, P(andere 3 gleich) = (1/9)³ je Symbol
+        double expected = (Math.pow(4.0 / 9, 3) * 500 + Math.pow(1.0 / 9, 3) * 590) / SpinEngine.STAKE;
+        assertEquals(expected, report.theoreticalRtp(), 1e-12);
+        assertEquals(expected, report.rtp(), (report.rtpUpper95() - report.rtp()) / 1.96 * 5);
+    }
+
+    @Test
+    void sameSeedGivesSameResult() {
+        assertEquals(simulator.simulate(classic, 3_000_000, 7).rtp(), simulator.simulate(classic, 3_000_000, 7).rtp());
+    }
+
+    @Test
+    void rejectsNonPositiveSpinCount() {
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(classic, 0, 1));
+    }
+}
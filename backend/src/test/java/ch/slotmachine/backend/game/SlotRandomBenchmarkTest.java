@@ -0,0 +1,72 @@
+package ch.slotmachine.backend.game;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Durchsatzvergleich der Zufallsgeneratoren bei 1, 8 und 32 Threads
+ *
+ * Als Referenz dient ein geteiltes java.util.Random (bisheriges Verhalten).
+ * Läuft nur mit: mvn test -Dgroups=benchmark -DexcludedGroups=
+ */
+@Tag("benchmark")
+class SlotRandomBenchmarkTest {
+
+    private static final int DRAWS_PER_THREAD = 5_000_000;
+
+    @Test
+    void compareThroughput() throws Exception {
+        Random shared = new Random();
+        Map<String, SlotRandom> candidates = new LinkedHashMap<>();
+        candidates.put("java.util.Random (geteilt)", shared::nextInt);
+        candidates.put("fast", new StripedSlotRandom());
+        candidates.put("secure", new SecureSlotRandom());
+        candidates.put("seeded", new SeededSlotRandom(42));
+
+        for (int threads : new int[] { 1, 8, 32 }) {
+            for (Map.Entry<String, SlotRandom> candidate : candidates.entrySet()) {
+                measure(candidate.getValue(), threads); // Aufwärmen
+                double opsPerSecond = measure(candidate.getValue(), threads);
+                System.out.printf("%2d Threads  %-28s %,15.0f draws/s%n", threads, candidate.getKey(), opsPerSecond);
+            }
+        }
+    }
+
+    private static double measure(SlotRandom random, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicInteger sink = new AtomicInteger(); // verhindert, dass der JIT die Schleife entfernt
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    int sum = 0;
+                    for (int i = 0; i < DRAWS_PER_THREAD; i++) {
+                        sum += random.nextInt(6);
+                    }
+                    sink.addAndGet(sum);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        return (double) threads * DRAWS_PER_THREAD / (elapsed / 1e9);
+    }
+}
@@ -0,0 +1,98 @@
+package ch.slotmachine.backend.game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die SlotRandom-Implementierungen
+ */
+class SlotRandomTest {
+
+    private static final int SAMPLES = 600_000;
+
+    /**
+     * Grenze für Chi-Quadrat mit 5 Freiheitsgraden bei p = 1e-9: ein korrekter
+     * Generator fällt praktisch nie durch, eine Abweichung von 1% pro Symbol
+     * (Chi-Quadrat um 60) dagegen sicher
+     */
+    private static final double CHI_SQUARE_LIMIT = 50.0;
+
+    @Test
+    void allModesStayInBoundsAndAreRoughlyUniform() {
+        for (SlotRandom random : List.of(new StripedSlotRandom(), new SecureSlotRandom(), new SeededSlotRandom(7))) {
+            int[] counts = new int[6];
+            for (int i = 0; i < SAMPLES; i++) {
+                counts[random.nextInt(6)]++; // ArrayIndexOutOfBounds wenn ausserhalb [0, 6)
+            }
+            // Chi-Quadrat-Test gegen die Gleichverteilung (erwartet 100'000 pro Symbol)
+            double expected = SAMPLES / 6.0;
+            double chiSquare = 0;
+            for (int count : counts) {
+                chiSquare += (count - expected) * (count - expected) / expected;
+            }
+            assertTrue(chiSquare < CHI_SQUARE_LIMIT,
+                    random.getClass().getSimpleName() + " ist nicht gleichverteilt: " + Arrays.toString(counts));
+        }
+    }
+
+    @Test
+    void seededModeIsReproducible() {
+        assertArrayEquals(draw(new SeededSlotRandom(42)), draw(new SeededSlotRandom(42)));
+    }
+
+    @Test
+    void secureModeRejectsInvalidBound() {
+        assertThrows(IllegalArgumentException.class, () -> new SecureSlotRandom().nextInt(0));
+    }
+
+    @Test
+    void stripesAreCreatedOnceAndShareNoState() throws Exception {
+        List<int[]> states = new ArrayList<>(); // Der Konstruktor füllt alle Stripes sofort
+        Stripes<int[]> stripes = new Stripes<>(() -> {
+            int[] state = new int[1];
+            states.add(state);
+            return state;
+        });
+        int threads = 64;
+        int rounds = 10_000;
+
+        // Ein neuer Thread pro Aufgabe - wie Virtual Threads pro Request
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < rounds; i++) {
+                    Stripes.Stripe<int[]> stripe = stripes.lock();
+                    try {
+                        stripe.state[0]++; // Nicht atomar - nur unter dem Lock korrekt
+                    } finally {
+                        stripe.unlock();
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(stripes.size(), states.size()); // Kein Zustand pro Thread
+        assertEquals(threads * rounds, states.stream().mapToInt(state -> state[0]).sum());
+    }
+
+    private static int[] draw(SlotRandom random) {
+        int[] values = new int[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(6);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,117 @@
+package ch.slotmachine.backend.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests für die SpinEngine
+ *
+ * Die Gewinne der klassischen Konfiguration müssen exakt der bisherigen Logik
+ * aus SlotController entsprechen (String-Vergleich + switch auf Emojis).
+ * Geprüft wird jede der 6³ = 216 Kombinationen.
+ */
+class SpinEngineTest {
+
+    private static final List<String> SYMBOLS = List.of("🍒", "🍋", "💎", "🔔", "⭐", "🍉");
+
+    private final ReelConfig classic = ReelConfig.classic();
+
+    @Test
+    void payoutMatchesLegacyLogicForAll216Combinations() {
+        int combinations = 0;
+        for (int a = 0; a < classic.symbolCount(); a++) {
+            for (int b = 0; b < classic.symbolCount(); b++) {
+                for (int c = 0; c < classic.symbolCount(); c++) {
+                    int spin = SpinEngine.encode(a, b, c);
+                    List<String> slots = List.of(SYMBOLS.get(a), SYMBOLS.get(b), SYMBOLS.get(c));
+
+                    assertEquals(slots, classic.toSymbols(spin));
+                    assertEquals(legacyWin(slots), classic.payout(spin), "Kombination " + slots);
+                    combinations++;
+                }
+            }
+        }
+        assertEquals(216, combinations);
+    }
+
+    @Test
+    void spinProducesValidSymbolsOnEveryReel() {
+        SpinEngine engine = new SpinEngine(new SeededSlotRandom(1));
+        for (int i = 0; i < 10_000; i++) {
+            int spin = engine.spin(engine.config());
+            assertEquals(0, spin >>> 24, "Oberstes Byte muss leer sein");
+            for (int reel = 0; reel < SpinEngine.REELS; reel++) {
+                int symbol = SpinEngine.symbol(spin, reel);
+                assertTrue(symbol >= 0 && symbol < classic.symbolCount());
+            }
+        }
+    }
+
+    @Test
+    void weightedSpinAndPayoutDoNotAllocate() {
+        SpinEngine engine = new SpinEngine(new StripedSlotRandom());
+        int[] weights = {5, 3, 1, 2, 2, 7};
+        engine.update(new ReelConfig(classic.symbols(), classic.paytable(), new int[][] {weights, weights, weights}));
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long sink = spinMany(engine);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        sink += spinMany(engine);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(sink > 0);
+        assertTrue(allocated < 1024, "Spins haben " + allocated + " Bytes alloziert");
+    }
+
+    @Test
+    void spinAndPayoutDoNotAllocate() {
+        SpinEngine engine = new SpinEngine(new StripedSlotRandom());
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long sink = spinMany(engine); // Aufwärmen (ThreadLocal, JIT)
+        long before = threads.getThreadAllocatedBytes(threadId);
+        sink += spinMany(engine);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(sink > 0);
+        // 1 Mio. Spins mit auch nur einem Objekt pro Spin wären > 16 MB
+        assertTrue(allocated < 1024, "Spins haben " + allocated + " Bytes alloziert");
+    }
+
+    private static long spinMany(SpinEngine engine) {
+        long total = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            ReelConfig reels = engine.config();
+            total += reels.payout(engine.spin(reels));
+        }
+        return total;
+    }
+
+    /**
+     * Die ursprüngliche Gewinnlogik aus SlotController.pullSlot
+     */
+    private static int legacyWin(List<String> slots) {
+        int winAmount = 0;
+        if (slots.get(0).equals(slots.get(1)) && slots.get(1).equals(slots.get(2))) {
+            switch (slots.get(0)) {
+                case "💎" -> winAmount = 500;
+                case "⭐" -> winAmount = 200;
+                case "🔔" -> winAmount = 150;
+                case "🍒" -> winAmount = 100;
+                case "🍋" -> winAmount = 80;
+                case "🍉" -> winAmount = 60;
+                default -> winAmount = 50;
+            }
+        }
+        return winAmount;
+    }
+}
@@ -0,0 +1,166 @@
+package ch.slotmachine.backend.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests für das Journal: Format, Segmentwechsel, Group Commit und Wiederherstellung
+ * nach einem Absturz mitten in einem Datensatz
+ */
+class JournalTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysAllRecordsAcrossSegments() throws IOException {
+        List<String> written = new ArrayList<>();
+        try (Journal journal = Journal.open(directory, SEGMENT_SIZE, 10, 0, (type, payload) -> { })) {
+            for (int i = 0; i < 100; i++) {
+                String text = "record-" + i;
+                journal.append((byte) (i % 4 + 1), payload(text));
+                written.add((i % 4 + 1) + ":" + text);
+            }
+        }
+        assertTrue(Files.exists(Journal.segmentPath(directory, 5)), "Records should span several segments");
+
+        assertEquals(written, replay(0));
+    }
+
+    @Test
+    void recordTruncatedMidWayIsDiscardedAndOverwritten() throws IOException {
+        long endOfNinth;
+        try (Journal journal = Journal.open(directory, 4096, 10, 0, (type, payload) -> { })) {
+            for (int i = 0; i < 9; i++) {
+                journal.append((byte) 1, payload("before-" + i));
+            }
+            endOfNinth = journal.position();
+            journal.append((byte) 1, payload("torn"));
+        }
+
+        // Absturz simulieren: die Datei endet mitten im zehnten Datensatz
+        try (FileChannel channel = FileChannel.open(Journal.segmentPath(directory, 0), StandardOpenOption.WRITE)) {
+            channel.truncate((int) endOfNinth + Journal.HEADER_BYTES + 2);
+        }
+
+        List<String> recovered = new ArrayList<>();
+        try (Journal journal = Journal.open(directory, 4096, 10, 0, collect(recovered))) {
+            assertEquals(endOfNinth, journal.position());
+            journal.append((byte) 2, payload("after"));
+        }
+        assertEquals(9, recovered.size());
+        assertEquals("1:before-8", recovered.get(8));
+
+        List<String> afterRestart = replay(0);
+        assertEquals(10, afterRestart.size());
+        assertEquals("2:after", afterRestart.get(9));
+    }
+
+    @Test
+    void checksumMismatchStopsReplayAtTheDamagedRecord() throws IOException {
+        long startOfFifth = 0;
+        try (Journal journal = Journal.open(directory, 4096, 10, 0, (type, payload) -> { })) {
+            for (int i = 0; i < 8; i++) {
+                if (i == 4) {
+                    startOfFifth = journal.position();
+                }
+                journal.append((byte) 1, payload("record-" + i));
+            }
+        }
+        flipByte(Journal.segmentPath(directory, 0), startOfFifth + Journal.HEADER_BYTES + 3);
+
+        assertEquals(4, replay(0).size());
+    }
+
+    @Test
+    void damagedOlderSegmentRefusesToOpen() throws IOException {
+        try (Journal journal = Journal.open(directory, SEGMENT_SIZE, 10, 0, (type, payload) -> { })) {
+            for (int i = 0; i < 30; i++) {
+                journal.append((byte) 1, payload("record-" + i));
+            }
+        }
+        flipByte(Journal.segmentPath(directory, 0), Journal.HEADER_BYTES + 2);
+
+        assertThrows(IOException.class, () -> replay(0));
+    }
+
+    @Test
+    void rollStartsANewSegmentAndOldOnesCanBeSkipped() throws IOException {
+        try (Journal journal = Journal.open(directory, 4096, 10, 0, (type, payload) -> { })) {
+            journal.append((byte) 1, payload("old"));
+            long segment = journal.roll();
+            assertEquals(1, segment);
+            journal.append((byte) 1, payload("new"));
+            journal.deleteSegmentsBefore(segment);
+        }
+        assertEquals(List.of("1:new"), replay(1));
+    }
+
+    @Test
+    void concurrentCommitsShareFsyncs() throws Exception {
+        int threads = 8;
+        int perThread = 200;
+        try (Journal journal = Journal.open(directory, 1 << 20, 50, 0, (type, payload) -> { })) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.awaitSync(journal.append((byte) 1, payload("commit")));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            // Ohne Group Commit wären es threads * perThread
+            assertTrue(journal.syncCount() < threads * perThread, "fsyncs: " + journal.syncCount());
+        }
+        assertEquals(threads * perThread, replay(0).size());
+    }
+
+    private List<String> replay(long firstSegment) throws IOException {
+        List<String> records = new ArrayList<>();
+        Journal.open(directory, SEGMENT_SIZE, 10, firstSegment, collect(records)).close();
+        return records;
+    }
+
+    private static Journal.RecordHandler collect(List<String> records) {
+        return (type, payload) -> records.add(type + ":" + StandardCharsets.UTF_8.decode(payload));
+    }
+
+    private static ByteBuffer payload(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void flipByte(Path file, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, offset);
+            one.put(0, (byte) (one.get(0) ^ 0x5A)).rewind();
+            channel.write(one, offset);
+        }
+    }
+}
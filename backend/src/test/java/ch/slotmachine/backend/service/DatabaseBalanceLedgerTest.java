@@ -0,0 +1,78 @@
+package ch.slotmachine.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Tests für den Standard-Modus (jede Buchung direkt in der Datenbank)
+ *
+ * Die Buchung läuft in einer äusseren Transaktion, die danach zurückgerollt
+ * wird - Cache und Rangliste dürfen den Stand nie gesehen haben.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DatabaseBalanceLedgerTest {
+
+    @Autowired
+    private BalanceLedger ledger;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Autowired
+    private PlayerCache playerCache;
+
+    @Autowired
+    private LeaderboardService leaderboard;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Test
+    void rolledBackSettlementNeverReachesTheListeners() {
+        assertInstanceOf(DatabaseBalanceLedger.class, ledger);
+        long id = repository.save(new Player("Rollback", 1000)).getId();
+        leaderboard.put(id, "Rollback", 1000);
+
+        // Kalter Cache: Weg über settleSpin, der Snapshot landet vor dem Commit im Cache
+        settleAndRollBack(id);
+        assertEquals(1000, coins(id));
+
+        // Warmer Cache: Weg über Compare-and-Set, nur das Event
+        settleAndRollBack(id);
+        assertEquals(1000, coins(id));
+
+        // Ohne äussere Transaktion kommt die Buchung nach dem Commit an
+        assertEquals(990, ledger.settle(id, 10, 0));
+        assertEquals(990, coins(id));
+    }
+
+    private void settleAndRollBack(long id) {
+        transactions.executeWithoutResult(status -> {
+            assertEquals(990, ledger.settle(id, 10, 0));
+            status.setRollbackOnly();
+        });
+        assertEquals(1000, repository.findSnapshotById(id).orElseThrow().coins());
+    }
+
+    /**
+     * @return Kontostand laut Cache - geprüft, dass die Rangliste übereinstimmt
+     */
+    private int coins(long id) {
+        int cached = playerCache.get(id).orElseThrow().coins();
+        int ranked = leaderboard.top(leaderboard.size()).stream()
+                .filter(entry -> entry.id() == id)
+                .findFirst().orElseThrow().coins();
+        assertEquals(cached, ranked);
+        return cached;
+    }
+}
@@ -0,0 +1,281 @@
+package ch.slotmachine.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import ch.slotmachine.backend.exception.ServiceUnavailableException;
+import ch.slotmachine.backend.game.ReelConfig;
+import ch.slotmachine.backend.game.SpinEngine;
+import ch.slotmachine.backend.model.JackpotSnapshot;
+import ch.slotmachine.backend.repository.JackpotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests für den progressiven Jackpot (JackpotPool und GET /slot/jackpot)
+ *
+ * Die Pool-Tests arbeiten mit eigenen Instanzen und einem Repository im
+ * Speicher. Zwei Instanzen auf demselben Repository spielen mehrere Server
+ * mit einer gemeinsamen Tabelle; ein Test läuft gegen die echte Tabelle.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JackpotPoolTest {
+
+    private static final int SEED = 1000;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JackpotRepository jackpotRepository;
+
+    @Test
+    void concurrentWinnersEachReserveDistinctPool() throws Exception {
+        JackpotPool pool = newPool(new MemoryRepository());
+        int threads = 8;
+        int rounds = 20_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                long paid = 0;
+                long reservations = 0;
+                for (int i = 0; i < rounds; i++) {
+                    pool.contribute(10);
+                    if (i % 100 == 0) {
+                        int coins = pool.reserve();
+                        if (coins > 0) {
+                            paid += coins;
+                            reservations++;
+                        }
+                    }
+                }
+                return new long[] {paid, reservations};
+            }));
+        }
+        long paid = 0;
+        long reservations = 0;
+        for (Future<long[]> result : results) {
+            paid += result.get()[0];
+            reservations += result.get()[1];
+        }
+        executor.shutdown();
+
+        // Kein Coin doppelt ausgezahlt oder verloren: Einzahlungen + Startwerte = Auszahlungen + Rest
+        long contributions = (long) threads * rounds; // 1 Coin pro 10-Coin-Einsatz
+        assertEquals(SEED * (1 + reservations) + contributions, paid + pool.amount());
+        assertTrue(reservations > 0);
+    }
+
+    @Test
+    void awardOnlyOnTriggerAndReleaseRestoresPool() {
+        JackpotPool pool = newPool(new MemoryRepository());
+        ReelConfig reels = ReelConfig.classic();
+        for (int i = 0; i < 500; i++) {
+            pool.contribute(10);
+        }
+        assertEquals(1500, pool.amount());
+
+        assertEquals(0, pool.award(reels, SpinEngine.encode(0, 0, 0))); // 3x 🍒 - normaler Gewinn
+        assertEquals(0, pool.award(reels, SpinEngine.encode(2, 2, 0)));
+
+        int coins = pool.award(reels, SpinEngine.encode(2, 2, 2)); // 3x 💎
+        assertEquals(1500, coins);
+        assertEquals(SEED, pool.amount());
+
+        pool.release(coins); // Buchung gescheitert
+        assertEquals(1500, pool.amount());
+        assertEquals(0, pool.status().wins());
+    }
+
+    @Test
+    void persistedPoolSurvivesRestart() {
+        MemoryRepository repository = new MemoryRepository();
+        JackpotPool pool = newPool(repository);
+        pool.load();
+        for (int i = 0; i < 250; i++) {
+            pool.contribute(10);
+        }
+        pool.confirm(pool.award(ReelConfig.classic(), SpinEngine.encode(2, 2, 2)));
+        pool.contribute(10);
+        pool.shutdown();
+
+        JackpotPool restarted = newPool(repository);
+        restarted.load();
+
+        assertEquals(SEED + 1, restarted.amount());
+        assertEquals(1, restarted.status().wins());
+        assertNotNull(restarted.status().lastWinAt());
+    }
+
+    @Test
+    void instancesShareOnePool() {
+        MemoryRepository repository = new MemoryRepository();
+        JackpotPool first = newPool(repository);
+        JackpotPool second = newPool(repository);
+        first.load();
+        second.load();
+        for (int i = 0; i < 1000; i++) {
+            first.contribute(10);
+            second.contribute(20);
+        }
+        first.flush(); // Einzahlungen der ersten Instanz stehen in der Tabelle
+
+        // Der Gewinner auf der zweiten Instanz erhält beide Anteile
+        int coins = second.award(ReelConfig.classic(), SpinEngine.encode(2, 2, 2));
+        assertEquals(SEED + 1000 + 2000, coins);
+        second.confirm(coins);
+
+        // Die erste Instanz sieht den neuen Pool und den Gewinn - nichts wird überschrieben
+        first.contribute(10);
+        first.flush();
+        assertEquals(SEED + 1, first.amount());
+        assertEquals(1, first.status().wins());
+        assertEquals(SEED, second.amount()); // Die Einzahlung der ersten sieht sie erst beim nächsten flush()
+        second.flush();
+        assertEquals(SEED + 1, second.amount());
+    }
+
+    @Test
+    void reservationRereadsWhenAnotherInstanceChangesThePool() {
+        MemoryRepository repository = new MemoryRepository();
+        JackpotPool pool = newPool(repository);
+        pool.load();
+
+        // Zwischen Lesen und UPDATE zahlt eine andere Instanz 5 Coins ein - einmal
+        // (1. Lesen: flush() vor der Reservierung, 2. Lesen: vor dem UPDATE)
+        repository.afterRead = onRead(2, () -> repository.add(5_000));
+        assertEquals(SEED + 5, pool.reserve());
+        assertEquals(SEED, pool.amount());
+
+        // Ändert sich der Pool bei jedem Versuch, gibt die Reservierung auf statt zu kreisen
+        repository.afterRead = () -> repository.add(1_000);
+        assertThrows(ServiceUnavailableException.class, pool::reserve);
+        repository.afterRead = () -> { };
+        pool.flush(); // Der Lock ist wieder frei
+        assertEquals(SEED + 1 + JackpotPool.MAX_RESERVE_ATTEMPTS, pool.amount()); // Plus das Lesen in flush()
+    }
+
+    @Test
+    void reservationRunsAgainstTheDatabase() {
+        JackpotPool first = new JackpotPool(jackpotRepository, new SimpleMeterRegistry(), true, 0.1, SEED, "💎");
+        JackpotPool second = new JackpotPool(jackpotRepository, new SimpleMeterRegistry(), true, 0.1, SEED, "💎");
+        first.load();
+        second.load();
+        for (int i = 0; i < 1000; i++) {
+            first.contribute(10);
+        }
+        first.flush();
+
+        // Das Spring-Bean zahlt im Hintergrund ebenfalls ein - der Pool ist mindestens so gross
+        int coins = second.award(ReelConfig.classic(), SpinEngine.encode(2, 2, 2));
+        assertTrue(coins >= SEED + 1000, "reserved " + coins);
+        assertTrue(jackpotRepository.findSnapshot().orElseThrow().poolMillis() < (SEED + 1000) * 1000L);
+
+        second.release(coins);
+        first.flush();
+        assertTrue(first.amount() >= coins);
+    }
+
+    @Test
+    void jackpotEndpointIsCacheable() throws Exception {
+        mvc.perform(get("/slot/jackpot"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=1"))
+                .andExpect(jsonPath("$.amount").isNumber())
+                .andExpect(jsonPath("$.wins").isNumber());
+    }
+
+    private static JackpotPool newPool(MemoryRepository repository) {
+        return new JackpotPool(repository.proxy(), new SimpleMeterRegistry(), true, 0.1, SEED, "💎");
+    }
+
+    private static Runnable onRead(int read, Runnable action) {
+        int[] count = {0};
+        return () -> {
+            if (++count[0] == read) {
+                action.run();
+            }
+        };
+    }
+
+    /**
+     * Repository im Speicher - bildet die Abfragen auf eine Zeile nach
+     */
+    private static final class MemoryRepository {
+
+        private JackpotSnapshot row;
+
+        /** Läuft nach jedem findSnapshot() - spielt eine andere Instanz */
+        private volatile Runnable afterRead = () -> { };
+
+        JackpotRepository proxy() {
+            return (JackpotRepository) Proxy.newProxyInstance(
+                    JackpotRepository.class.getClassLoader(),
+                    new Class<?>[] {JackpotRepository.class},
+                    (self, method, args) -> {
+                        Object result = invoke(method.getName(), args);
+                        if (method.getName().equals("findSnapshot")) {
+                            afterRead.run();
+                        }
+                        return result;
+                    });
+        }
+
+        synchronized void add(long millis) {
+            row = new JackpotSnapshot(row.poolMillis() + millis, row.wins(), row.lastWinAt());
+        }
+
+        private synchronized Object invoke(String method, Object[] args) {
+            return switch (method) {
+                case "findSnapshot" -> Optional.ofNullable(row);
+                case "insertSeed" -> {
+                    if (row != null) {
+                        throw new DataIntegrityViolationException("duplicate key");
+                    }
+                    row = new JackpotSnapshot((long) args[0], 0, null);
+                    yield null;
+                }
+                case "addToPool" -> update(row == null ? 0 : row.poolMillis() + (long) args[0], false);
+                case "compareAndSetPool" -> row != null && row.poolMillis() == (long) args[0]
+                        ? update((long) args[1], false) : 0;
+                case "recordWin" -> update(row == null ? 0 : row.poolMillis(), true);
+                default -> throw new UnsupportedOperationException(method);
+            };
+        }
+
+        private int update(long poolMillis, boolean win) {
+            if (row == null) {
+                return 0;
+            }
+            row = win ? new JackpotSnapshot(poolMillis, row.wins() + 1, Instant.now())
+                    : new JackpotSnapshot(poolMillis, row.wins(), row.lastWinAt());
+            return 1;
+        }
+    }
+}
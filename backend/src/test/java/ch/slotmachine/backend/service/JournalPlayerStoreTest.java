@@ -0,0 +1,170 @@
+package ch.slotmachine.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import ch.slotmachine.backend.controller.PlayerController;
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.model.PlayerSnapshot;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Tests für den Journal-Modus (slot.balance.mode=journal)
+ *
+ * Der Spring-Kontext prüft die Verdrahtung. Neustart und Absturz werden mit
+ * eigenen Instanzen in einem temporären Verzeichnis nachgestellt.
+ */
+@SpringBootTest(properties = {
+        "slot.balance.mode=journal",
+        "slot.journal.segment-size-mb=1",
+        "slot.journal.sync-interval-ms=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JournalPlayerStoreTest {
+
+    private static final String FIRST_SEGMENT = "journal-0000000000.log";
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("journal-test");
+        registry.add("slot.journal.directory", directory::toString);
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PlayerController controller;
+
+    @Autowired
+    private PlayerStore store;
+
+    @Autowired
+    private BalanceLedger ledger;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void journalReplacesThePlayerTable() throws Exception {
+        assertInstanceOf(JournalPlayerStore.class, store);
+        assertSame(store, ledger);
+
+        Player player = controller.createPlayer(new Player("Journal", 1000));
+        mvc.perform(post("/slot/pull/" + player.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.coins").isNumber());
+
+        assertTrue(ledger.balance(player.getId()) >= 0);
+        assertFalse(repository.existsById(player.getId()), "Players must not be written to the database");
+    }
+
+    @Test
+    void restartRestoresStateFromSnapshotAndJournal() throws IOException {
+        JournalPlayerStore first = open(directory);
+        long anna = first.create("Anna", 1000).getId();
+        long ben = first.create("Ben", 500).getId();
+        long carla = first.create("Carla", 200).getId();
+        first.settle(anna, 10, 100);
+        first.snapshot(); // Ab hier: Snapshot + neues Segment
+        first.delete(ben);
+        first.recharge(carla, 1000);
+        first.settle(carla, 10, 0);
+        List<Player> before = first.findAll();
+        first.journal().close(); // Absturz nach dem letzten fsync: kein Snapshot beim Herunterfahren
+
+        JournalPlayerStore second = open(directory);
+        assertEquals(snapshots(before), snapshots(second.findAll()));
+        assertEquals(1090, second.balance(anna));
+        assertEquals(BalanceLedger.NOT_FOUND, second.balance(ben));
+        assertEquals(990, second.balance(carla));
+        assertEquals(carla + 1, second.create("Dora", 100).getId(), "IDs must not be reused");
+        second.close();
+    }
+
+    @Test
+    void bulkCreateAndRechargeAreReplayed() throws IOException {
+        JournalPlayerStore first = open(directory);
+        first.createAll(List.of(new Player("Bulk 1", 5), new Player("Bulk 2", 500), new Player("Bulk 3", 50)));
+        assertEquals(2, first.rechargeBelow(100, 1000));
+        List<Player> before = first.findAll();
+        first.journal().close();
+
+        JournalPlayerStore second = open(directory);
+        assertEquals(snapshots(before), snapshots(second.findAll()));
+        assertEquals(List.of(1000, 500, 1000), second.findAll().stream().map(Player::getCoins).toList());
+        second.close();
+    }
+
+    @Test
+    void recordTornByACrashIsDiscarded() throws IOException {
+        Path live = directory.resolve("live");
+        JournalPlayerStore store = open(live);
+        long id = store.create("Torn", 1000).getId();
+        store.settle(id, 10, 0);
+        store.settle(id, 10, 50);
+        long endOfLastComplete = store.journal().position();
+        store.settle(id, 10, 0);
+
+        // Kopie des Verzeichnisses, die mitten im letzten Datensatz abbricht
+        Path crashed = directory.resolve("crashed");
+        Files.createDirectories(crashed);
+        try (Stream<Path> files = Files.list(live)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, crashed.resolve(file.getFileName()));
+            }
+        }
+        try (FileChannel channel = FileChannel.open(crashed.resolve(FIRST_SEGMENT), StandardOpenOption.WRITE)) {
+            channel.truncate(endOfLastComplete + 11);
+        }
+
+        JournalPlayerStore recovered = open(crashed);
+        assertEquals(1030, recovered.balance(id));
+        assertEquals(1020, store.balance(id));
+
+        // Das Journal geht nach dem abgeschnittenen Datensatz normal weiter
+        assertEquals(1020, recovered.settle(id, 10, 0));
+        recovered.journal().close();
+        JournalPlayerStore reopened = open(crashed);
+        assertEquals(1020, reopened.balance(id));
+
+        reopened.close();
+        store.close();
+    }
+
+    private static JournalPlayerStore open(Path directory) throws IOException {
+        return new JournalPlayerStore(event -> { }, directory.toString(), 1, 2, true);
+    }
+
+    private static List<PlayerSnapshot> snapshots(List<Player> players) {
+        return players.stream().map(p -> new PlayerSnapshot(p.getId(), p.getName(), p.getCoins())).toList();
+    }
+}
@@ -0,0 +1,137 @@
+package ch.slotmachine.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ch.slotmachine.backend.controller.PlayerController;
+import ch.slotmachine.backend.controller.SlotController;
+import ch.slotmachine.backend.event.BalanceChangedEvent;
+import ch.slotmachine.backend.event.PlayerDeletedEvent;
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.model.PlayerSnapshot;
+import ch.slotmachine.backend.model.PullResponse;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Tests für die Rangliste
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaderboardServiceTest {
+
+    @Autowired
+    private LeaderboardService leaderboard;
+
+    @Autowired
+    private PlayerController playerController;
+
+    @Autowired
+    private SlotController slotController;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Test
+    void ordersByCoinsThenIdAndFollowsEvents() {
+        LeaderboardService board = new LeaderboardService(null);
+        board.put(1, "A", 500);
+        board.put(2, "B", 900);
+        board.put(3, "C", 500);
+        board.put(4, "D", 100);
+
+        assertEquals(List.of(2L, 1L, 3L, 4L), ids(board.top(10)));
+
+        board.onBalanceChanged(new BalanceChangedEvent(4, 1000));
+        board.onPlayerDeleted(new PlayerDeletedEvent(2));
+        board.onBalanceChanged(new BalanceChangedEvent(2, 5000)); // Gelöscht - wird ignoriert
+
+        assertEquals(List.of(4L, 1L), ids(board.top(2)));
+        assertEquals(3, board.size());
+    }
+
+    @Test
+    void matchesDatabaseAfterCreatePullRechargeAndDelete() {
+        leaderboard.rebuild(); // Andere Tests speichern Spieler ohne Events im selben Kontext
+        Player rich = playerController.createPlayer(new Player("Rich", 1000));
+        Player poor = playerController.createPlayer(new Player("Poor", 20));
+        Player gone = playerController.createPlayer(new Player("Gone", 900));
+
+        for (int i = 0; i < 5; i++) {
+            slotController.pullSlot(rich.getId());
+        }
+        PullResponse.Batch batch = (PullResponse.Batch) slotController.pullSlotBatch(poor.getId(), 2);
+        playerController.rechargePlayer(poor.getId());
+        playerController.deletePlayer(gone.getId());
+
+        List<LeaderboardService.Entry> top = leaderboard.top(leaderboard.size());
+        assertEquals(repository.count(), top.size());
+        for (LeaderboardService.Entry entry : top) {
+            assertEquals(repository.findCoinsById(entry.id()).orElseThrow(), entry.coins(), entry.name());
+        }
+        assertEquals(2, batch.count());
+    }
+
+    @Test
+    void rebuildLoadsAllPlayersFromDatabase() {
+        repository.save(new Player("Direct", 777)); // Ohne Controller - kein Event
+
+        leaderboard.rebuild();
+
+        assertEquals(repository.count(), leaderboard.size());
+    }
+
+    @Test
+    void readersKeepTheFullRankingWhileRebuilding() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        PlayerStore store = (PlayerStore) Proxy.newProxyInstance(
+                PlayerStore.class.getClassLoader(),
+                new Class<?>[] {PlayerStore.class},
+                (self, method, args) -> {
+                    @SuppressWarnings("unchecked")
+                    Consumer<PlayerSnapshot> action = (Consumer<PlayerSnapshot>) args[0];
+                    action.accept(new PlayerSnapshot(1L, "A", 500));
+                    scanning.countDown();
+                    resume.await(); // Scan hängt nach dem ersten Spieler
+                    action.accept(new PlayerSnapshot(2L, "B", 900));
+                    action.accept(new PlayerSnapshot(3L, "C", 100));
+                    return null;
+                });
+        LeaderboardService board = new LeaderboardService(store);
+        board.put(1, "A", 500);
+        board.put(2, "B", 900);
+        board.put(3, "C", 100);
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(board::rebuild);
+        assertTrue(scanning.await(5, TimeUnit.SECONDS));
+
+        // Während des Scans: alte Rangliste vollständig, Events kommen an
+        assertEquals(List.of(2L, 1L, 3L), ids(board.top(10)));
+        board.onBalanceChanged(new BalanceChangedEvent(3, 2000));
+        board.onPlayerDeleted(new PlayerDeletedEvent(1));
+        assertEquals(List.of(3L, 2L), ids(board.top(10)));
+
+        resume.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        // Die neue Rangliste enthält den Scan UND die Events von währenddessen
+        assertEquals(List.of(3L, 2L), ids(board.top(10)));
+        assertEquals(2, board.size());
+    }
+
+    private static List<Long> ids(List<LeaderboardService.Entry> entries) {
+        return entries.stream().map(LeaderboardService.Entry::id).toList();
+    }
+}
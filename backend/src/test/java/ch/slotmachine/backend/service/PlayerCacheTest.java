@@ -0,0 +1,143 @@
+package ch.slotmachine.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import ch.slotmachine.backend.controller.PlayerController;
+import ch.slotmachine.backend.controller.SlotController;
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.model.PullResponse;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Tests für den Player Cache - gezählt werden die SQL-Statements pro Spin
+ * (Hibernate Statistics)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class PlayerCacheTest {
+
+    private static final int THREADS = 8;
+    private static final int PULLS_PER_THREAD = 100;
+
+    @Autowired
+    private SlotController slotController;
+
+    @Autowired
+    private PlayerController playerController;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Autowired
+    private PlayerCache cache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void cachedSpinNeedsOneStatement() throws Exception {
+        double perSpin = statementsPerSpin(slotController, repository, entityManagerFactory);
+        System.out.printf("Mit Cache: %.2f SQL-Statements pro Spin, %s%n", perSpin, cache.stats());
+        assertTrue(perSpin < 1.2, perSpin + " Statements pro Spin");
+    }
+
+    @Test
+    void staleCacheFallsBackToDatabase() {
+        Player player = repository.save(new Player("Stale", 1000));
+        slotController.pullSlot(player.getId()); // Jetzt im Cache
+
+        repository.updateCoins(player.getId(), 500); // Am Cache vorbei geändert
+        PullResponse.Spin result = (PullResponse.Spin) slotController.pullSlot(player.getId());
+
+        assertEquals(500 - 10 + result.winAmount(), result.coins());
+        assertEquals(result.coins(), cache.getIfPresent(player.getId()).coins());
+    }
+
+    @Test
+    void deleteInvalidatesAndRechargeWritesThrough() {
+        Player player = repository.save(new Player("Cached", 100));
+        slotController.pullSlot(player.getId());
+
+        playerController.rechargePlayer(player.getId());
+        assertEquals(1000, cache.getIfPresent(player.getId()).coins());
+
+        playerController.deletePlayer(player.getId());
+        assertEquals(null, cache.getIfPresent(player.getId()));
+    }
+
+    /**
+     * Gleiche Last mit abgeschaltetem Cache (max-size=0) zum Vergleich
+     */
+    @Nested
+    @TestPropertySource(properties = "slot.cache.player.max-size=0")
+    class WithoutCache {
+
+        // Eigene Felder - die der äusseren Klasse stammen aus dem Kontext mit Cache
+        @Autowired
+        private SlotController uncachedSlotController;
+
+        @Autowired
+        private PlayerRepository uncachedRepository;
+
+        @Autowired
+        private EntityManagerFactory uncachedEntityManagerFactory;
+
+        @Test
+        void uncachedSpinNeedsUpdateAndSelect() throws Exception {
+            double perSpin = statementsPerSpin(uncachedSlotController, uncachedRepository, uncachedEntityManagerFactory);
+            System.out.printf("Ohne Cache: %.2f SQL-Statements pro Spin%n", perSpin);
+            // UPDATE + SELECT pro Spin (Caffeine verdrängt bei max-size=0 minimal verzögert)
+            assertTrue(perSpin > 1.5, perSpin + " Statements pro Spin");
+        }
+    }
+
+    /**
+     * Mehrere Threads spielen je mit eigenem Spieler (wie im Frontend: ein Spieler,
+     * ein Browser), gezählt werden alle Statements inkl. dem ersten Laden
+     */
+    static double statementsPerSpin(SlotController slotController,
+                                    PlayerRepository repository,
+                                    EntityManagerFactory entityManagerFactory) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            ids.add(repository.save(new Player("Load" + i, 1000)).getId());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long playerId = ids.get(t);
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < PULLS_PER_THREAD; i++) {
+                    slotController.pullSlot(playerId);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        return (double) statistics.getPrepareStatementCount() / (THREADS * PULLS_PER_THREAD);
+    }
+}
@@ -0,0 +1,170 @@
+package ch.slotmachine.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.slotmachine.backend.controller.PlayerController;
+import ch.slotmachine.backend.controller.SlotController;
+import ch.slotmachine.backend.event.BalanceChangedEvent;
+import ch.slotmachine.backend.exception.ServiceUnavailableException;
+import ch.slotmachine.backend.model.Player;
+
+/**
+ * Tests für die Live-Updates (GET /player/stream)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PlayerUpdateBroadcasterTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PlayerController playerController;
+
+    @Autowired
+    private SlotController slotController;
+
+    @Autowired
+    private PlayerUpdateBroadcaster broadcaster;
+
+    @Test
+    void slowSubscriberNeverBlocksPublisherAndGetsResync() throws Exception {
+        PlayerUpdateBroadcaster broadcaster = new PlayerUpdateBroadcaster(new ObjectMapper(), 4, 10, 1);
+        CountDownLatch firstSendStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<PlayerUpdateBroadcaster.Update> received = new CopyOnWriteArrayList<>();
+
+        PlayerUpdateBroadcaster.Subscription slow = broadcaster.subscribe(update -> {
+            firstSendStarted.countDown();
+            awaitQuietly(release); // Client liest nicht
+            received.add(update);
+        });
+
+        broadcaster.onBalanceChanged(new BalanceChangedEvent(1, 990));
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+
+        // Der Sender hängt - trotzdem kehrt jedes Publish sofort zurück und die Queue bleibt begrenzt
+        long start = System.nanoTime();
+        for (int coins = 0; coins < 10_000; coins++) {
+            broadcaster.onBalanceChanged(new BalanceChangedEvent(1, coins));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(slow.pending() <= 4, "Queue must stay bounded");
+        assertEquals(1L, broadcaster.stats().get("overflows"));
+
+        release.countDown();
+        waitFor(() -> received.size() == 2); // Erst wenn resync raus ist, ist die Queue wieder leer
+        broadcaster.onBalanceChanged(new BalanceChangedEvent(1, 42));
+        waitFor(() -> received.size() == 3);
+
+        assertEquals("{\"playerId\":1,\"coins\":990}", received.get(0).data());
+        assertEquals(PlayerUpdateBroadcaster.RESYNC, received.get(1)); // Verpasstes ersetzt durch resync
+        assertEquals("{\"playerId\":1,\"coins\":42}", received.get(2).data());
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void limitsSubscribersAndDropsBrokenConnections() throws Exception {
+        PlayerUpdateBroadcaster broadcaster = new PlayerUpdateBroadcaster(new ObjectMapper(), 4, 1, 1);
+        broadcaster.subscribe(update -> {
+            throw new IOException("Broken pipe");
+        });
+        assertThrows(ServiceUnavailableException.class, () -> broadcaster.subscribe(update -> { }));
+
+        // Erster Sendeversuch scheitert - der Platz wird frei
+        broadcaster.heartbeat();
+        waitFor(() -> broadcaster.stats().get("subscribers").equals(0));
+        broadcaster.subscribe(update -> { });
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void streamDeliversCreateBalanceAndDeleteEvents() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/player/stream")).build();
+        HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+
+        Player player = playerController.createPlayer(new Player("Stream", 1000));
+        long id = player.getId();
+        slotController.pullSlot(id);
+        playerController.rechargePlayer(id);
+        playerController.deletePlayer(id);
+
+        // Bis zum deleted-Event lesen, dann die Verbindung schliessen
+        CompletableFuture<List<String>> events = CompletableFuture.supplyAsync(() -> response.body()
+                .filter(line -> line.startsWith("event:"))
+                .takeWhile(line -> !line.equals("event:deleted"))
+                .toList());
+        List<String> names = events.get(10, TimeUnit.SECONDS);
+        response.body().close();
+
+        assertEquals(List.of("event:created", "event:balance", "event:balance"), names);
+    }
+
+    @Test
+    void fullStreamIsRejectedWith503BeforeStreaming() throws Exception {
+        // Alle Plätze belegen
+        List<PlayerUpdateBroadcaster.Subscription> taken = new ArrayList<>();
+        try {
+            while (true) {
+                taken.add(broadcaster.subscribe(update -> { }));
+            }
+        } catch (ServiceUnavailableException expected) {
+            // Limit erreicht
+        }
+
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/player/stream"))
+                    .header("Accept", "text/event-stream")
+                    .build();
+            HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(503, response.statusCode());
+            assertEquals("application/problem+json", response.headers().firstValue("Content-Type").orElseThrow());
+            assertTrue(response.body().contains("\"status\":503"), response.body());
+        } finally {
+            taken.forEach(PlayerUpdateBroadcaster.Subscription::close);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ch.slotmachine.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import ch.slotmachine.backend.game.ReelConfig;
+import ch.slotmachine.backend.game.SeededSlotRandom;
+import ch.slotmachine.backend.game.SpinEngine;
+
+/**
+ * Tests für das Laden und Hot Reload der Reel-Konfiguration
+ */
+class ReelConfigServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final SpinEngine engine = new SpinEngine(new SeededSlotRandom(1));
+
+    @Test
+    void propertiesOverrideClassicDefaults() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("slot.reels.payouts", "1,2,3,4,5,6")
+                .withProperty("slot.reels.weights.reel2", "1,0,0,0,0,0");
+
+        new ReelConfigService(engine, environment, "").init();
+
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6}, engine.config().paytable());
+        assertArrayEquals(new int[] {1, 0, 0, 0, 0, 0}, engine.config().weights()[1]);
+        assertArrayEquals(new int[] {1, 1, 1, 1, 1, 1}, engine.config().weights()[0]);
+    }
+
+    @Test
+    void reelFileIsReloadedWhenChanged() throws IOException {
+        Path file = tempDir.resolve("reels.properties");
+        write(file, "slot.reels.symbols=🍒,💎\nslot.reels.payouts=10,1000\n", 1_000);
+        ReelConfigService service = new ReelConfigService(engine, new MockEnvironment(), file.toString());
+        service.init();
+        assertArrayEquals(new String[] {"🍒", "💎"}, engine.config().symbols());
+
+        write(file, "slot.reels.symbols=🍒,💎\nslot.reels.payouts=20,2000\n", 2_000);
+        service.reloadIfChanged();
+        assertArrayEquals(new int[] {20, 2000}, engine.config().paytable());
+    }
+
+    @Test
+    void invalidReelFileKeepsCurrentConfig() throws IOException {
+        Path file = tempDir.resolve("reels.properties");
+        write(file, "slot.reels.payouts=1,2,3,4,5,6\n", 1_000);
+        ReelConfigService service = new ReelConfigService(engine, new MockEnvironment(), file.toString());
+        service.init();
+        ReelConfig before = engine.config();
+
+        write(file, "slot.reels.payouts=1,2\n", 2_000); // passt nicht zu 6 Symbolen
+        service.reloadIfChanged();
+
+        assertSame(before, engine.config());
+        assertEquals(6, engine.config().symbolCount());
+    }
+
+    private static void write(Path file, String content, long modified) throws IOException {
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+    }
+}
@@ -0,0 +1,93 @@
+package ch.slotmachine.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.repository.PlayerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests für die Messwerte (SlotMetrics und /actuator/prometheus)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability // In Tests ist der Export sonst abgeschaltet
+@ActiveProfiles("test")
+class SlotMetricsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Test
+    void countsSpinsWinsAndObservedRtp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SlotMetrics metrics = new SlotMetrics(registry);
+
+        metrics.recordSpin(SlotMetrics.Mode.CLASSIC, 10, 0, "🍋");
+        metrics.recordSpin(SlotMetrics.Mode.CLASSIC, 10, 0, "🍋");
+        metrics.recordSpin(SlotMetrics.Mode.CLASSIC, 10, 100, "🍒");
+        metrics.recordSpin(SlotMetrics.Mode.CLASSIC, 10, 100, "🍒");
+        metrics.recordSpin(SlotMetrics.Mode.LINES, 20, 0, "🍋");
+        metrics.recordSpin(SlotMetrics.Mode.LINES, 20, 10, "🍒");
+
+        // Jeder Modus hat seine eigene Gewinntabelle - die RTP wird getrennt gerechnet
+        assertEquals(5.0, metrics.observedRtp(SlotMetrics.Mode.CLASSIC), 1e-9);
+        assertEquals(0.25, metrics.observedRtp(SlotMetrics.Mode.LINES), 1e-9);
+        assertEquals(4, registry.get("slot.spins").tag("mode", "classic").counter().count());
+        assertEquals(2, registry.get("slot.spins").tag("mode", "lines").counter().count());
+        assertEquals(0.25, registry.get("slot.rtp.observed").tag("mode", "lines").gauge().value(), 1e-9);
+        assertEquals(3, registry.get("slot.jackpots").tag("symbol", "🍒").counter().count());
+        assertTrue(registry.find("slot.jackpots").tag("symbol", "🍋").counters().isEmpty());
+    }
+
+    @Test
+    void prometheusEndpointExposesPullTimersGaugesAndHttpHistograms() throws Exception {
+        long id = repository.save(new Player("Metrics", 1000)).getId();
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(post("/slot/pull/" + id)).andExpect(status().isOk());
+        }
+        mvc.perform(post("/slot/pull/" + Long.MAX_VALUE)).andExpect(status().isNotFound());
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(post("/slot/pull/" + id + "/lines")).andExpect(status().isOk());
+        }
+        mvc.perform(post("/slot/pull/" + Long.MAX_VALUE + "/lines")).andExpect(status().isNotFound());
+        mvc.perform(get("/player")).andExpect(status().isOk());
+
+        String scrape = mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("slot_pull_seconds_count{mode=\"classic\",outcome=\"ok\"} 5"), scrape);
+        assertTrue(scrape.contains("slot_pull_seconds_count{mode=\"classic\",outcome=\"not_found\"} 1"));
+        assertTrue(scrape.contains("slot_pull_seconds_bucket{mode=\"classic\",outcome=\"ok\",le="));
+        assertTrue(scrape.contains("slot_pull_phase_seconds_count{mode=\"classic\",phase=\"settle\"} 6"));
+        assertTrue(scrape.contains("slot_pull_phase_seconds_count{mode=\"classic\",phase=\"record\"} 5"));
+        assertTrue(scrape.contains("slot_spins_total{mode=\"classic\"} 5"));
+        assertTrue(scrape.contains("slot_stake_total{mode=\"classic\"} 50"));
+        assertTrue(scrape.contains("slot_pull_seconds_count{mode=\"lines\",outcome=\"ok\"} 2"));
+        assertTrue(scrape.contains("slot_pull_seconds_count{mode=\"lines\",outcome=\"not_found\"} 1"));
+        assertTrue(scrape.contains("slot_pull_phase_seconds_count{mode=\"lines\",phase=\"settle\"} 3"));
+        assertTrue(scrape.contains("slot_spins_total{mode=\"lines\"} 2"));
+        assertTrue(scrape.contains("slot_stake_total{mode=\"lines\"} 40"));
+        assertTrue(scrape.contains("slot_rtp_observed{mode=\"lines\"}"));
+        assertTrue(scrape.contains("slot_spins_rate"));
+        assertTrue(scrape.contains("cache_gets_total{cache=\"player\""));
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{error=\"none\",exception=\"none\",method=\"GET\","
+                + "outcome=\"SUCCESS\",status=\"200\",uri=\"/player\",le="));
+    }
+}
@@ -0,0 +1,133 @@
+package ch.slotmachine.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ch.slotmachine.backend.model.Player;
+import ch.slotmachine.backend.repository.PlayerRepository;
+
+/**
+ * Stresstest für den Write-Behind-Modus
+ *
+ * Flush und Eviction laufen absichtlich sehr häufig, damit sie mitten in die
+ * parallelen Buchungen fallen. Danach muss jeder Kontostand in der Datenbank
+ * exakt der Summe aller erfolgreichen Buchungen entsprechen.
+ */
+@SpringBootTest(properties = {
+        "slot.balance.mode=write-behind",
+        "slot.balance.flush-interval-ms=5",
+        "slot.balance.idle-eviction-ms=1"
+})
+@ActiveProfiles("test")
+class WriteBehindBalanceLedgerTest {
+
+    private static final int PLAYERS = 8;
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 5_000;
+    private static final int START_COINS = 1000;
+
+    @Autowired
+    private BalanceLedger ledger;
+
+    @Autowired
+    private PlayerRepository repository;
+
+    @Autowired
+    private PlayerCache playerCache;
+
+    @Test
+    void balancesStayConsistentUnderContention() throws Exception {
+        assertInstanceOf(WriteBehindBalanceLedger.class, ledger);
+
+        long[] ids = new long[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            ids[i] = repository.save(new Player("Stress " + i, START_COINS)).getId();
+        }
+        AtomicLongArray expectedDelta = new AtomicLongArray(PLAYERS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    int player = random.nextInt(PLAYERS);
+                    int win = random.nextInt(3) == 0 ? 20 : 0;
+                    int coins = ledger.settle(ids[player], 10, win);
+                    if (coins >= 0) {
+                        expectedDelta.addAndGet(player, win - 10);
+                    } else {
+                        assertEquals(BalanceLedger.INSUFFICIENT_COINS, coins);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        ((WriteBehindBalanceLedger) ledger).flush();
+
+        for (int i = 0; i < PLAYERS; i++) {
+            int expected = START_COINS + (int) expectedDelta.get(i);
+            int stored = repository.findCoinsById(ids[i]).orElseThrow();
+            assertTrue(stored >= 0, "Kontostand darf nie negativ werden");
+            assertEquals(expected, stored, "Kontostand von Spieler " + i);
+            assertEquals(expected, ledger.balance(ids[i]));
+            // Der letzte BalanceChangedEvent ist der aktuelle Stand (keine vertauschten Events)
+            assertEquals(expected, playerCache.get(ids[i]).orElseThrow().coins(), "Cache von Spieler " + i);
+        }
+    }
+
+    @Test
+    void rechargeAndRemoveWorkOnCachedAccounts() {
+        long id = repository.save(new Player("Recharge", 50)).getId();
+
+        assertEquals(40, ledger.settle(id, 10, 0));
+        assertEquals(1000, ledger.recharge(id, 1000));
+        ((WriteBehindBalanceLedger) ledger).flush();
+        assertEquals(1000, repository.findCoinsById(id).orElseThrow());
+
+        repository.deleteById(id);
+        ledger.remove(id);
+        assertEquals(BalanceLedger.NOT_FOUND, ledger.settle(id, 10, 0));
+    }
+
+    @Test
+    void bulkRechargeSeesUnflushedBalances() {
+        long cached = repository.save(new Player("Bulk cached", 1000)).getId();
+        long stored = repository.save(new Player("Bulk stored", 20)).getId();
+
+        // Nur im Speicher unter der Grenze - die Tabelle steht noch auf 1000
+        for (int i = 0; i < 99; i++) {
+            ledger.settle(cached, 10, 0);
+        }
+        assertTrue(ledger.rechargeBelow(50, 1000) >= 2);
+
+        assertEquals(1000, ledger.balance(cached));
+        assertEquals(1000, ledger.balance(stored));
+        assertEquals(1000, repository.findCoinsById(cached).orElseThrow());
+        assertEquals(1000, repository.findCoinsById(stored).orElseThrow());
+    }
+}
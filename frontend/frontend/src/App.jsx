@@ -1,5 +1,5 @@
 import './App.css';
-import { useEffect, useState } from 'react';
+import { useEffect, useRef, useState } from 'react';
 
 function App() {
   const [players, setPlayers] = useState([]);
@@ -9,6 +9,8 @@ function App() {
   const [isSpinning, setIsSpinning] = useState(false);
   const [reels, setReels] = useState(['🍒', '🍋', '⭐']);
   const [leverPulled, setLeverPulled] = useState(false);
+  // true solange der Live-Stream verbunden ist - dann muss die Liste nie neu geladen werden
+  const liveUpdates = useRef(false);
 
   // Spieler laden
   const loadPlayers = () => {
@@ -18,8 +20,46 @@ function App() {
   };
   
 
+  // Kontostand eines Spielers in Liste und Spielansicht übernehmen
+  const updateCoins = (playerId, coins) => {
+    setPlayers(prev => prev.map(p => p.id === playerId ? { ...p, coins } : p));
+    setSelectedPlayer(prev => prev && prev.id === playerId ? { ...prev, coins } : prev);
+  };
+
   useEffect(() => {
     loadPlayers();
+
+    // Live-Updates per Server-Sent Events statt die ganze Liste neu zu laden
+    if (typeof EventSource === 'undefined') return;
+    const source = new EventSource('http://localhost:8080/player/stream');
+    let reconnect = false;
+
+    source.onopen = () => {
+      // Nach einem Verbindungsabbruch einmal nachladen, was in der Zwischenzeit passiert ist
+      if (reconnect) loadPlayers();
+      reconnect = true;
+      liveUpdates.current = true;
+    };
+    source.onerror = () => {
+      liveUpdates.current = false; // EventSource verbindet sich selbst neu
+    };
+    source.addEventListener('balance', (e) => {
+      const { playerId, coins } = JSON.parse(e.data);
+      updateCoins(playerId, coins);
+    });
+    source.addEventListener('created', (e) => {
+      const { playerId, name, coins } = JSON.parse(e.data);
+      setPlayers(prev => prev.some(p => p.id === playerId) ? prev : [...prev, { id: playerId, name, coins }]);
+    });
+    source.addEventListener('deleted', (e) => {
+      const { playerId } = JSON.parse(e.data);
+      setPlayers(prev => prev.filter(p => p.id !== playerId));
+      setSelectedPlayer(prev => prev && prev.id === playerId ? null : prev);
+    });
+    // Server hat Events verworfen (wir waren zu langsam) - einmal komplett neu laden
+    source.addEventListener('resync', () => loadPlayers());
+
+    return () => source.close();
   }, []);
 
   // Slot Pull
@@ -67,12 +107,17 @@ function App() {
                 fetch(`http://localhost:8080/slot/pull/${selectedPlayer.id}`, {
                   method: 'POST'
                 })
-                  .then(res => res.json())
-                  .then(data => {
-                    // Verwende die echten Symbole vom Backend
-                    if (data.slots) {
-                      setReels(data.slots);
+                  .then(res => res.json().then(data => ({ ok: res.ok, data })))
+                  .then(({ ok, data }) => {
+                    // Abgelehnt: 404/402 liefern Problem-JSON mit "detail",
+                    // 429 (Rate Limit) und 400 nur "error" - Kontostand bleibt
+                    if (!ok) {
+                      setResult({ win: false, error: data.detail ?? data.error });
+                      setIsSpinning(false);
+                      return;
                     }
+                    // Verwende die echten Symbole vom Backend
+                    setReels(data.slots);
                     setResult(data);
                     setSelectedPlayer(prev => ({ ...prev, coins: data.coins }));
                     setIsSpinning(false);
@@ -103,7 +148,7 @@ function App() {
     })
       .then(() => {
         setNewPlayer({ name: '', coins: 1000 });
-        loadPlayers();
+        if (!liveUpdates.current) loadPlayers(); // Sonst kommt der Spieler per "created"-Event
       });
   };
 
@@ -117,7 +162,7 @@ function App() {
     }).then(() => {
       setSelectedPlayer(null);
       setResult(null);
-      loadPlayers();
+      if (!liveUpdates.current) loadPlayers(); // Sonst kommt die Löschung per "deleted"-Event
     });
   };
 
@@ -127,11 +172,8 @@ function App() {
     fetch(`http://localhost:8080/player/recharge/${selectedPlayer.id}`, {
       method: 'PUT'
     })
-      .then(res => res.json())
-      .then(updated => {
-        setSelectedPlayer(updated);
-        setPlayers(prev => prev.map(p => p.id === updated.id ? updated : p));
-      });
+      .then(res => (res.ok ? res.json() : null))
+      .then(updated => updated && updateCoins(updated.id, updated.coins));
   };
 
   return (
@@ -210,7 +252,7 @@ function App() {
               onClick={() => {
                 setSelectedPlayer(null);
                 setResult(null);
-                loadPlayers(); // Refresh player list
+                if (!liveUpdates.current) loadPlayers(); // Ohne Live-Stream: Liste auffrischen
               }}
             >
               ← Spieler wechseln
@@ -239,9 +281,11 @@ function App() {
             </button>
             <div className="result">
               {result && (
-                result.win
-                  ? `🎉 JACKPOT: ${result.winAmount} Coins gewonnen!`
-                  : '❌ Kein Gewinn - Versuch es nochmal!'
+                result.error
+                  ? `⚠️ ${result.error}`
+                  : result.win
+                    ? `🎉 JACKPOT: ${result.winAmount} Coins gewonnen!`
+                    : '❌ Kein Gewinn - Versuch es nochmal!'
               )}
             </div>
             <div className="lever-container">
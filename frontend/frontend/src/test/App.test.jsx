@@ -1,4 +1,4 @@
-import { render, screen, fireEvent, waitFor } from '@testing-library/react';
+import { render, screen, fireEvent, waitFor, act } from '@testing-library/react';
 import '@testing-library/jest-dom';
 import { describe, test, expect, beforeEach, vi } from 'vitest';
 import App from '../App';
@@ -117,4 +117,64 @@ describe('Slot Machine App Tests', () => {
       expect(pullButton).toBeDisabled();
     });
   });
+
+  // Test 6: Live-Updates per Server-Sent Events
+  test('6. Balance updates from the live stream are shown', async () => {
+    const listeners = {};
+    global.EventSource = vi.fn(function () {
+      this.addEventListener = (type, handler) => { listeners[type] = handler; };
+      this.close = vi.fn();
+    });
+    fetch.mockResolvedValueOnce({
+      ok: true,
+      json: async () => [{ id: 1, name: 'Live Player', coins: 1000 }]
+    });
+
+    try {
+      render(<App />);
+      await waitFor(() => {
+        expect(screen.getByText('1000 💰 Coins')).toBeInTheDocument();
+      });
+
+      act(() => listeners.balance({ data: JSON.stringify({ playerId: 1, coins: 990 }) }));
+      act(() => listeners.created({ data: JSON.stringify({ playerId: 2, name: 'New Player', coins: 500 }) }));
+
+      await waitFor(() => {
+        expect(screen.getByText('990 💰 Coins')).toBeInTheDocument();
+        expect(screen.getByText('New Player')).toBeInTheDocument();
+      });
+      expect(fetch).toHaveBeenCalledTimes(1); // Keine erneute Abfrage der Liste
+    } finally {
+      delete global.EventSource;
+    }
+  });
+
+  // Test 7: Abgelehnter Pull zeigt die Meldung des Servers
+  test('7. Rejected pull shows the server message', async () => {
+    fetch.mockResolvedValueOnce({
+      ok: true,
+      json: async () => [{ id: 1, name: 'Busy Player', coins: 1000 }]
+    });
+    // Rate Limit: Body ohne "detail", nur "error"
+    fetch.mockResolvedValueOnce({
+      ok: false,
+      status: 429,
+      json: async () => ({ error: 'Too many requests' })
+    });
+
+    render(<App />);
+
+    await waitFor(() => {
+      fireEvent.click(screen.getByText('Busy Player'));
+    });
+    fireEvent.click(screen.getByText('🕹️ PULL (10 Coins)'));
+
+    // Walzen-Animation läuft rund 3 Sekunden, bevor der Request rausgeht
+    await waitFor(() => {
+      expect(screen.getByText('⚠️ Too many requests')).toBeInTheDocument();
+    }, { timeout: 5000 });
+    expect(screen.queryByText(/undefined/)).not.toBeInTheDocument();
+    expect(screen.getByText('💰 1000 Coins')).toBeInTheDocument();
+    expect(screen.getByText('🕹️ PULL (10 Coins)')).not.toBeDisabled();
+  }, 10000);
 });
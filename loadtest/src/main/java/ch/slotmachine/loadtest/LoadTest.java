@@ -0,0 +1,140 @@
+package ch.slotmachine.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Load Test - Lastgenerator für das Slotmachine-Backend
+ *
+ * Aufruf:
+ *   java -jar loadtest.jar --rates=200,500,1000 --players=10000 --label=main
+ *   java -jar loadtest.jar compare alt.json neu.json
+ *
+ * Ablauf:
+ * 1. Spieler anlegen (POST /player/import) oder vorhandene verwenden (--seed=false)
+ * 2. Aufwärmen mit der ersten Rate (JIT, Caches, Connection-Pool) - nicht gemessen
+ * 3. Eine Stufe pro Rate, siehe {@link OpenLoopGenerator}
+ * 4. Bericht als JSON (--out), Zusammenfassung auf der Konsole
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        try {
+            if (args.length > 0 && args[0].equals("compare")) {
+                if (args.length != 3) {
+                    throw new IllegalArgumentException("Usage: compare <baseline.json> <candidate.json>");
+                }
+                compare(json.readValue(Path.of(args[1]).toFile(), Report.class),
+                        json.readValue(Path.of(args[2]).toFile(), Report.class));
+                return;
+            }
+            run(LoadTestConfig.parse(args), json);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    private static void run(LoadTestConfig config, ObjectMapper json) throws IOException, InterruptedException {
+        // HTTP/1.1: Tomcat spricht ohne TLS kein HTTP/2, der Upgrade-Versuch wäre nur Overhead
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(config.timeoutMs()))
+                .build();
+        String startedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+
+        PlayerSeeder seeder = new PlayerSeeder(client, config.baseUrl(), json);
+        long[] players = config.seed() ? seeder.seed(config.players()) : seeder.existing(config.players());
+        System.out.printf("%d players, arrival %s, pull ratio %.2f%n",
+                players.length, config.arrival().name().toLowerCase(), config.pullRatio());
+
+        OpenLoopGenerator generator = new OpenLoopGenerator(client, config, players);
+        if (config.warmupSeconds() > 0) {
+            System.out.printf("warm-up %d s at %.0f/s%n", config.warmupSeconds(), config.rates().get(0));
+            generator.run(config.rates().get(0), config.warmupSeconds());
+        }
+
+        List<Report.Stage> stages = new ArrayList<>();
+        for (double rate : config.rates()) {
+            Report.Stage stage = generator.run(rate, config.stageSeconds());
+            stages.add(stage);
+            print(stage);
+        }
+        if (generator.recharges() > 0) {
+            System.out.printf("(%d players recharged along the way)%n", generator.recharges());
+        }
+
+        Report report = new Report(config.label(), startedAt, Report.Settings.of(config), stages);
+        Path out = config.out().toAbsolutePath();
+        Files.createDirectories(out.getParent());
+        json.writeValue(out.toFile(), report);
+        System.out.println("Report: " + out);
+    }
+
+    private static void print(Report.Stage stage) {
+        System.out.printf("%8.0f/s  sent %.0f/s  dropped %d  lag %.1f ms%n",
+                stage.targetRate(), stage.sentRate(), stage.dropped(), stage.maxScheduleLagMs());
+        for (Map.Entry<String, Report.Endpoint> entry : stage.endpoints().entrySet()) {
+            Report.Endpoint endpoint = entry.getValue();
+            if (endpoint.requests() == 0) {
+                continue;
+            }
+            Report.Latency latency = endpoint.latencyMs();
+            System.out.printf("    %-8s %9.1f/s  p50 %8.2f  p99 %8.2f  p99.9 %8.2f  max %8.2f ms"
+                            + "  (429: %d, errors: %d)%n",
+                    entry.getKey(), endpoint.throughput(), latency.p50(), latency.p99(), latency.p999(),
+                    latency.max(), endpoint.rateLimited(), endpoint.errors());
+        }
+    }
+
+    /**
+     * Vergleicht zwei Berichte Stufe für Stufe (gleiche Rate) und zeigt die Änderung in Prozent
+     */
+    static void compare(Report baseline, Report candidate) {
+        System.out.printf("baseline: %s (%s)%ncandidate: %s (%s)%n",
+                baseline.label(), baseline.startedAt(), candidate.label(), candidate.startedAt());
+        for (Report.Stage before : baseline.stages()) {
+            Report.Stage after = candidate.stages().stream()
+                    .filter(stage -> stage.targetRate() == before.targetRate())
+                    .findFirst().orElse(null);
+            if (after == null) {
+                System.out.printf("%8.0f/s  missing in candidate%n", before.targetRate());
+                continue;
+            }
+            System.out.printf("%8.0f/s%n", before.targetRate());
+            for (Map.Entry<String, Report.Endpoint> entry : before.endpoints().entrySet()) {
+                Report.Endpoint old = entry.getValue();
+                Report.Endpoint now = after.endpoints().get(entry.getKey());
+                if (now == null || old.requests() == 0) {
+                    continue;
+                }
+                System.out.printf("    %-8s throughput %s  p50 %s  p99 %s  p99.9 %s%n", entry.getKey(),
+                        delta(old.throughput(), now.throughput()),
+                        delta(old.latencyMs().p50(), now.latencyMs().p50()),
+                        delta(old.latencyMs().p99(), now.latencyMs().p99()),
+                        delta(old.latencyMs().p999(), now.latencyMs().p999()));
+            }
+        }
+    }
+
+    static String delta(double before, double after) {
+        String change = before == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", (after - before) / before * 100);
+        return String.format(Locale.ROOT, "%.2f -> %.2f (%s)", before, after, change);
+    }
+}
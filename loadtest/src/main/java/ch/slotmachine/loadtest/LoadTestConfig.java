@@ -0,0 +1,106 @@
+package ch.slotmachine.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load Test Config - Einstellungen eines Lasttests (aus der Kommandozeile)
+ *
+ * Alle Optionen als --name=wert, jede hat einen Standardwert:
+ *
+ * @param baseUrl URL des Backends
+ * @param players Anzahl simulierter Spieler (jeder Request wählt einen zufällig)
+ * @param seed true: Spieler vorher über POST /player/import anlegen; false: vorhandene Spieler
+ *             mit dem Namenspräfix "load-" verwenden
+ * @param rates Ankunftsraten in Requests pro Sekunde, eine Stufe pro Rate
+ * @param stageSeconds Dauer jeder Stufe
+ * @param warmupSeconds Aufwärmen mit der ersten Rate (nicht gemessen)
+ * @param arrival Ankunftsprozess: poisson (zufällige Abstände) oder constant (gleiche Abstände)
+ * @param pullRatio Anteil Pulls, der Rest ist GET /player?{playerQuery}
+ * @param playerQuery Query für GET /player (ohne ?limit= lädt es ALLE Spieler)
+ * @param maxInFlight Höchstens so viele offene Requests - darüber wird verworfen (dropped)
+ * @param timeoutMs Timeout pro Request
+ * @param label Freier Text im Bericht, z.B. Commit oder Build-Variante
+ * @param out Pfad des JSON-Berichts
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        int players,
+        boolean seed,
+        List<Double> rates,
+        int stageSeconds,
+        int warmupSeconds,
+        Arrival arrival,
+        double pullRatio,
+        String playerQuery,
+        int maxInFlight,
+        int timeoutMs,
+        String label,
+        Path out) {
+
+    /** Ankunftsprozess eines offenen Modells */
+    public enum Arrival { POISSON, CONSTANT }
+
+    private static final Set<String> OPTIONS = Set.of("base-url", "players", "seed", "rates", "stage-seconds",
+            "warmup-seconds", "arrival", "pull-ratio", "player-query", "max-in-flight", "timeout-ms", "label", "out");
+
+    /**
+     * @param args Optionen --name=wert
+     * @return Die Einstellungen
+     * @throws IllegalArgumentException bei unbekannten oder ungültigen Optionen
+     */
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+            values.put(name, arg.substring(equals + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                Integer.parseInt(values.getOrDefault("players", "1000")),
+                Boolean.parseBoolean(values.getOrDefault("seed", "true")),
+                Arrays.stream(values.getOrDefault("rates", "100,200,400").split(","))
+                        .map(String::trim).map(Double::valueOf).toList(),
+                Integer.parseInt(values.getOrDefault("stage-seconds", "30")),
+                Integer.parseInt(values.getOrDefault("warmup-seconds", "10")),
+                Arrival.valueOf(values.getOrDefault("arrival", "poisson").toUpperCase()),
+                Double.parseDouble(values.getOrDefault("pull-ratio", "0.95")),
+                values.getOrDefault("player-query", "limit=50"),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                Integer.parseInt(values.getOrDefault("timeout-ms", "5000")),
+                values.getOrDefault("label", ""),
+                Path.of(values.getOrDefault("out", "target/loadtest-report.json")));
+        config.validate();
+        return config;
+    }
+
+    private void validate() {
+        if (players < 1) {
+            throw new IllegalArgumentException("--players must be at least 1");
+        }
+        if (rates.isEmpty() || rates.stream().anyMatch(rate -> rate <= 0)) {
+            throw new IllegalArgumentException("--rates must be positive");
+        }
+        if (stageSeconds < 1 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("--stage-seconds must be at least 1, --warmup-seconds not negative");
+        }
+        if (pullRatio < 0 || pullRatio > 1) {
+            throw new IllegalArgumentException("--pull-ratio must be between 0 and 1");
+        }
+        if (maxInFlight < 1 || timeoutMs < 1) {
+            throw new IllegalArgumentException("--max-in-flight and --timeout-ms must be positive");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package ch.slotmachine.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open Loop Generator - Requests nach Fahrplan, unabhängig von den Antworten
+ *
+ * Offenes Modell: die Requests kommen mit einer festen Rate an, wie echte
+ * Spieler, die nicht aufeinander warten. Ein geschlossenes Modell ("N Threads,
+ * jeder sendet nach der Antwort den nächsten") bremst sich bei einem langsamen
+ * Server selbst und misst dann zu gute Latenzen (Coordinated Omission).
+ *
+ * Funktionsweise:
+ * - Ein einziger Thread berechnet den geplanten Startzeitpunkt jedes Requests
+ *   (Poisson: exponentialverteilte Abstände, constant: gleiche Abstände)
+ *   und sendet ihn asynchron (HttpClient.sendAsync) - er wartet nie auf Antworten
+ * - Die Latenz zählt ab dem geplanten Zeitpunkt, nicht ab dem tatsächlichen
+ *   Senden: gerät der Generator in Verzug, erscheint das in der Latenz
+ * - Sind bereits max-in-flight Requests offen, wird verworfen (dropped) statt
+ *   gewartet - der Fahrplan bleibt erhalten
+ * - Pro Request ein zufälliger Spieler (viele simulierte Benutzer)
+ *
+ * Java 17 hat noch keine Virtual Threads - der asynchrone HttpClient braucht
+ * für tausende offene Requests ohnehin nur wenige Threads.
+ */
+final class OpenLoopGenerator {
+
+    /** Kürzere Wartezeiten werden aktiv abgewartet (parkNanos ist zu ungenau) */
+    private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final HttpClient client;
+    private final LoadTestConfig config;
+    private final long[] playerIds;
+    private final HttpRequest[] pulls;
+    private final HttpRequest players;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder recharges = new LongAdder();
+    private final SplittableRandom random = new SplittableRandom(); // Nur der Generator-Thread
+
+    OpenLoopGenerator(HttpClient client, LoadTestConfig config, long[] playerIds) {
+        this.client = client;
+        this.config = config;
+        this.playerIds = playerIds;
+        Duration timeout = Duration.ofMillis(config.timeoutMs());
+        // Requests vorher bauen - der Generator-Thread soll nur noch senden
+        this.pulls = new HttpRequest[playerIds.length];
+        for (int i = 0; i < playerIds.length; i++) {
+            pulls[i] = HttpRequest.newBuilder(URI.create(config.baseUrl() + "/slot/pull/" + playerIds[i]))
+                    .timeout(timeout)
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+        this.players = HttpRequest.newBuilder(URI.create(config.baseUrl() + "/player?" + config.playerQuery()))
+                .timeout(timeout)
+                .GET()
+                .build();
+    }
+
+    /**
+     * Führt eine Stufe aus und wartet danach auf die letzten Antworten
+     *
+     * @param rate Requests pro Sekunde
+     * @param seconds Dauer
+     * @return Ergebnis der Stufe
+     */
+    Report.Stage run(double rate, int seconds) throws InterruptedException {
+        EndpointStats pullStats = new EndpointStats();
+        EndpointStats playerStats = new EndpointStats();
+        long sent = 0;
+        long dropped = 0;
+        long maxLag = 0;
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        double next = start;
+        while (true) {
+            next += config.arrival() == LoadTestConfig.Arrival.POISSON
+                    ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos;
+            long intended = (long) next;
+            if (intended - end >= 0) {
+                break;
+            }
+            maxLag = Math.max(maxLag, sleepUntil(intended));
+
+            if (inFlight.incrementAndGet() > config.maxInFlight()) {
+                inFlight.decrementAndGet();
+                dropped++;
+                continue;
+            }
+            sent++;
+            if (random.nextDouble() < config.pullRatio()) {
+                int player = random.nextInt(pulls.length);
+                send(pulls[player], intended, pullStats, playerIds[player]);
+            } else {
+                send(players, intended, playerStats, -1);
+            }
+        }
+
+        // Auf die letzten Antworten warten (höchstens Timeout + 1 s)
+        long drainDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.timeoutMs() + 1000L);
+        while (inFlight.get() > 0 && System.nanoTime() - drainDeadline < 0) {
+            Thread.sleep(5);
+        }
+
+        Map<String, Report.Endpoint> endpoints = new LinkedHashMap<>();
+        endpoints.put("pull", pullStats.toReport(seconds));
+        endpoints.put("players", playerStats.toReport(seconds));
+        return new Report.Stage(rate, EndpointStats.round((double) sent / seconds), seconds, sent, dropped,
+                EndpointStats.round(maxLag / 1e6), endpoints);
+    }
+
+    /**
+     * @return Anzahl Aufladungen (Spieler ohne Coins), nicht gemessen
+     */
+    long recharges() {
+        return recharges.sum();
+    }
+
+    private void send(HttpRequest request, long intended, EndpointStats stats, long playerId) {
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - intended;
+            inFlight.decrementAndGet();
+            if (error != null) {
+                stats.errors.increment();
+                return;
+            }
+            switch (response.statusCode()) {
+                case 200 -> {
+                    stats.recordLatency(latency);
+                    stats.ok.increment();
+                }
+                case 402 -> { // Not enough coins - abgelehnt, aber beantwortet
+                    stats.recordLatency(latency);
+                    stats.insufficientCoins.increment();
+                    if (playerId >= 0) {
+                        recharge(playerId);
+                    }
+                }
+                case 429 -> stats.rateLimited.increment();
+                default -> stats.errors.increment();
+            }
+        });
+    }
+
+    private void recharge(long playerId) {
+        recharges.increment();
+        client.sendAsync(HttpRequest.newBuilder(URI.create(config.baseUrl() + "/player/recharge/" + playerId))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * Wartet bis zum geplanten Zeitpunkt
+     *
+     * @return Verspätung in Nanosekunden (0 = pünktlich)
+     */
+    private static long sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > 2 * SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        return -remaining;
+    }
+}
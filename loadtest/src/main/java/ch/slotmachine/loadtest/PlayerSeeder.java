@@ -0,0 +1,104 @@
+package ch.slotmachine.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Player Seeder - legt die simulierten Spieler an und sammelt ihre IDs
+ *
+ * Angelegt wird über POST /player/import (NDJSON, in Blöcken) - das funktioniert
+ * in allen Modi (database, write-behind, journal) und ist um Grössenordnungen
+ * schneller als ein POST /player pro Spieler. Die IDs kommen danach aus der
+ * Keyset-Pagination GET /player?limit=1000&cursor=..., erkannt am Namenspräfix.
+ */
+final class PlayerSeeder {
+
+    /** Präfix aller Lasttest-Spieler */
+    static final String PREFIX = "load-";
+
+    private static final int IMPORT_CHUNK = 10_000;
+    private static final int PAGE_LIMIT = 1000; // = MAX_PAGE_LIMIT im PlayerController
+    private static final int START_COINS = 1000;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final ObjectMapper json;
+
+    PlayerSeeder(HttpClient client, String baseUrl, ObjectMapper json) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.json = json;
+    }
+
+    /**
+     * Legt neue Spieler "load-{run}-{i}" an
+     *
+     * @param count Anzahl Spieler
+     * @return Ihre IDs
+     */
+    long[] seed(int count) throws IOException, InterruptedException {
+        String prefix = PREFIX + Long.toString(System.currentTimeMillis(), 36) + "-";
+        for (int from = 0; from < count; from += IMPORT_CHUNK) {
+            StringBuilder body = new StringBuilder();
+            for (int i = from; i < Math.min(count, from + IMPORT_CHUNK); i++) {
+                body.append("{\"name\":\"").append(prefix).append(i)
+                        .append("\",\"coins\":").append(START_COINS).append("}\n");
+            }
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/player/import"))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            JsonNode result = response.statusCode() == 200 ? json.readTree(response.body()) : null;
+            if (result == null || result.path("failed").asInt() > 0) {
+                throw new IllegalStateException("Import failed (" + response.statusCode() + "): " + response.body());
+            }
+        }
+        return collect(prefix, count);
+    }
+
+    /**
+     * Verwendet Spieler eines früheren Laufs (--seed=false)
+     *
+     * @param count Höchstens so viele Spieler
+     * @return Ihre IDs
+     */
+    long[] existing(int count) throws IOException, InterruptedException {
+        return collect(PREFIX, count);
+    }
+
+    private long[] collect(String prefix, int count) throws IOException, InterruptedException {
+        long[] ids = new long[count];
+        int found = 0;
+        String cursor = null;
+        do {
+            String url = baseUrl + "/player?limit=" + PAGE_LIMIT
+                    + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET /player failed (" + response.statusCode() + "): " + response.body());
+            }
+            JsonNode page = json.readTree(response.body());
+            for (JsonNode player : page.path("players")) {
+                if (found < count && player.path("name").asText().startsWith(prefix)) {
+                    ids[found++] = player.path("id").asLong();
+                }
+            }
+            cursor = page.path("nextCursor").isTextual() ? page.path("nextCursor").asText() : null;
+        } while (cursor != null && found < count);
+
+        if (found == 0) {
+            throw new IllegalStateException("No players with prefix '" + prefix + "' found");
+        }
+        return found == count ? ids : Arrays.copyOf(ids, found);
+    }
+}
@@ -0,0 +1,67 @@
+package ch.slotmachine.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Report - Ergebnis eines Lasttests, wird als JSON geschrieben
+ *
+ * Feste Reihenfolge der Felder und eine Stufe pro Rate: zwei Berichte
+ * verschiedener Builds lassen sich direkt mit diff oder mit
+ * "java -jar loadtest.jar compare alt.json neu.json" vergleichen.
+ *
+ * @param label Freier Text (--label), z.B. Commit oder Build-Variante
+ * @param startedAt Startzeit (ISO-8601)
+ * @param settings Einstellungen des Laufs
+ * @param stages Ergebnis pro Rate
+ */
+public record Report(String label, String startedAt, Settings settings, List<Stage> stages) {
+
+    /**
+     * Die für den Vergleich relevanten Einstellungen
+     */
+    public record Settings(String baseUrl, int players, String arrival, double pullRatio, String playerQuery,
+                           int stageSeconds, int warmupSeconds, int maxInFlight, int timeoutMs, String javaVersion) {
+
+        static Settings of(LoadTestConfig config) {
+            return new Settings(config.baseUrl(), config.players(), config.arrival().name().toLowerCase(),
+                    config.pullRatio(), config.playerQuery(), config.stageSeconds(), config.warmupSeconds(),
+                    config.maxInFlight(), config.timeoutMs(), System.getProperty("java.version"));
+        }
+    }
+
+    /**
+     * Eine Stufe mit fester Ankunftsrate
+     *
+     * @param targetRate Geplante Requests pro Sekunde
+     * @param sentRate Tatsächlich gesendete Requests pro Sekunde
+     * @param seconds Dauer der Stufe
+     * @param sent Gesendete Requests
+     * @param dropped Nicht gesendet, weil bereits max-in-flight Requests offen waren
+     * @param maxScheduleLagMs Grösste Verspätung des Generators gegenüber dem Plan
+     *                         (gross = der Generator selbst kommt nicht nach)
+     * @param endpoints Ergebnis pro Endpunkt ("pull", "players")
+     */
+    public record Stage(double targetRate, double sentRate, int seconds, long sent, long dropped,
+                        double maxScheduleLagMs, Map<String, Endpoint> endpoints) {
+    }
+
+    /**
+     * @param requests Abgeschlossene Requests
+     * @param ok Erfolgreich (200)
+     * @param insufficientCoins Pull mit zu wenig Coins (HTTP 402, Spieler wird nebenbei aufgeladen)
+     * @param rateLimited 429 Too Many Requests
+     * @param errors Andere Status, Timeouts, Verbindungsfehler
+     * @param throughput Erfolgreiche Requests pro Sekunde
+     * @param latencyMs Latenz der erfolgreichen Requests, gemessen ab dem geplanten Startzeitpunkt
+     */
+    public record Endpoint(long requests, long ok, long insufficientCoins, long rateLimited, long errors,
+                           double throughput, Latency latencyMs) {
+    }
+
+    /**
+     * Latenzverteilung in Millisekunden (aus dem HdrHistogram)
+     */
+    public record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+}
@@ -0,0 +1,37 @@
+package ch.slotmachine.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LoadTestConfigTest {
+
+    @Test
+    void parsesOptionsAndKeepsDefaults() {
+        LoadTestConfig config = LoadTestConfig.parse(new String[] {
+                "--rates=50, 100", "--arrival=constant", "--players=10", "--label=main" });
+
+        assertEquals(List.of(50.0, 100.0), config.rates());
+        assertEquals(LoadTestConfig.Arrival.CONSTANT, config.arrival());
+        assertEquals(10, config.players());
+        assertEquals("main", config.label());
+        assertEquals("http://localhost:8080", config.baseUrl());
+        assertEquals(0.95, config.pullRatio());
+    }
+
+    @Test
+    void rejectsUnknownAndInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse(new String[] { "--rate=100" }));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse(new String[] { "--rates=0" }));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse(new String[] { "--pull-ratio=2" }));
+    }
+
+    @Test
+    void deltaShowsRelativeChange() {
+        assertEquals("2.00 -> 1.00 (-50.0%)", LoadTest.delta(2, 1));
+        assertEquals("0.00 -> 1.00 (n/a)", LoadTest.delta(0, 1));
+    }
+}